@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces repeated messages into a periodic summary.
+ * <p>
+ * The first message is logged and opens a {@linkplain #window() window}. Messages logged while the window is open are
+ * only counted. When the window closes a summary with the number of messages is logged, for example
+ * {@code "MSG000001: Connection to ... refused [repeated 4312 times in 10 seconds]"}, and a new window is opened. The
+ * arguments of the counted messages are not kept, so the placeholders of the message are replaced with {@code ...} in
+ * the summary. If no messages were logged in the window no summary is logged and the next message is logged as usual.
+ * Unlike {@link RateLimited} no message goes unaccounted for.
+ * </p>
+ * <p>
+ * The summaries are logged by a single daemon thread shared by the messages of the logger implementation. The thread
+ * is only running while a window is open. The messages are only counted if the level of the message is enabled.
+ * </p>
+ * <p>
+ * Methods that use this annotation must be {@linkplain org.jboss.logging.annotations.LogMessage logger methods}.
+ * Each logger instance, and therefore each category, has its own window. Overloaded methods also annotated with
+ * {@code @Coalesced} share the same window.
+ * </p>
+ */
+@Target(METHOD)
+@Retention(CLASS)
+@Documented
+public @interface Coalesced {
+
+    /**
+     * The length of the window in the {@linkplain #unit() units} defined.
+     *
+     * @return the length of the window
+     */
+    long window() default 10;
+
+    /**
+     * The unit of the {@linkplain #window() window}.
+     *
+     * @return the unit of the window
+     */
+    TimeUnit unit() default TimeUnit.SECONDS;
+}
@@ -0,0 +1,59 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Indicates the method checks if a {@link LogMessage} method would log its message, allowing callers to skip
+ * creating expensive parameters for a message which would not be logged.
+ * <p>
+ * The check is {@code true} if the level of the message is enabled. For messages annotated with {@link Once} the
+ * check is {@code false} once the message has been logged and for messages annotated with {@link RateLimited} the
+ * check is {@code false} while the limit has been reached. Messages logged once for each {@linkplain Once.Scope#KEY
+ * key}, {@linkplain Sampled sampled} messages and {@linkplain Coalesced coalesced} messages only check the level, as
+ * whether they are logged depends on the invocation itself. The check does not change the state of the message.
+ * </p>
+ * <p>
+ * Methods that use this annotation must return {@code boolean} and must not have any parameters.
+ * </p>
+ */
+@Target(METHOD)
+@Retention(CLASS)
+@Documented
+public @interface EnabledCheck {
+
+    /**
+     * The name of the {@link LogMessage} method to check. If overloaded, the check is {@code true} if any of the
+     * overloaded methods would log its message.
+     * <p>
+     * Defaults to the name of the annotated method without the {@code is} prefix and the {@code Enabled} suffix, for
+     * example {@code isServerStartedEnabled()} checks the {@code serverStarted} method.
+     * </p>
+     *
+     * @return the name of the method to check
+     */
+    String value() default "";
+}
@@ -0,0 +1,48 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Indicates the exception returned from the method should not have a stack trace. Capturing the stack trace is the
+ * most expensive part of creating an exception, which can be avoided for exceptions created at high rates whose stack
+ * trace is never used.
+ * <p>
+ * If the exception has a public {@code (String, Throwable, boolean, boolean)} constructor it is used with a
+ * non-writable stack trace. Otherwise a subclass of the exception is generated, which either invokes a protected
+ * constructor of that form or overrides {@link Throwable#fillInStackTrace()}. The subclass reports the name of the
+ * exception in {@link Throwable#toString()}. A warning is reported if the exception is final and has no such
+ * constructor, or if the exception is created by a {@link Producer}, in which case the stack trace is captured.
+ * </p>
+ * <p>
+ * Methods that use this annotation must return an exception.
+ * </p>
+ */
+@Target(METHOD)
+@Retention(CLASS)
+@Documented
+public @interface NoStackTrace {
+}
@@ -25,13 +25,19 @@ import static java.lang.annotation.RetentionPolicy.CLASS;
 import java.lang.annotation.Documented;
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Indicates a message should only be logged once.
  * <p>
  * Methods that use this annotation must be {@linkplain org.jboss.logging.annotations.LogMessage logger methods}. Overloaded
- * methods also annotated with {@code @Once} will inherit the same check only logging the message from the first
- * overloaded method invoked.
+ * methods also annotated with {@code @Once} and the same {@linkplain #scope() scope} will inherit the same check only
+ * logging the message from the first overloaded method invoked.
+ * </p>
+ * <p>
+ * The generated implementation has a {@code public static void resetOnce()} method which resets the
+ * {@link Scope#CLASS_LOADER} and {@link Scope#KEY} scoped messages so they are logged again, for example when an
+ * application is redeployed.
  * </p>
  *
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
@@ -40,4 +46,53 @@ import java.lang.annotation.Target;
 @Retention(CLASS)
 @Documented
 public @interface Once {
+
+    /**
+     * The scope the message is logged once in.
+     *
+     * @return the scope
+     */
+    Scope scope() default Scope.CLASS_LOADER;
+
+    /**
+     * The approximate maximum number of keys remembered for a {@link Scope#KEY} scoped message. Once the maximum is
+     * reached the least recently used keys are forgotten, which means the message may be logged again for those keys.
+     *
+     * @return the maximum number of keys
+     */
+    int maxKeys() default 1024;
+
+    /**
+     * The time after which a key of a {@link Scope#KEY} scoped message is forgotten and the message is logged again
+     * for the key. A value of {@code 0}, the default, means keys are only forgotten when the {@linkplain #maxKeys()
+     * maximum} is reached.
+     *
+     * @return the time after which keys are forgotten
+     */
+    long expireAfter() default 0;
+
+    /**
+     * The time unit of the {@link #expireAfter()} time.
+     *
+     * @return the time unit
+     */
+    TimeUnit expireUnit() default TimeUnit.MINUTES;
+
+    /**
+     * The scopes a message can be logged once in.
+     */
+    public enum Scope {
+        /**
+         * The message is logged once for each class loader which loads the logger implementation.
+         */
+        CLASS_LOADER,
+        /**
+         * The message is logged once for each instance of the logger.
+         */
+        INSTANCE,
+        /**
+         * The message is logged once for each distinct value of the parameters annotated with {@link OnceKey}.
+         */
+        KEY,
+    }
 }
@@ -0,0 +1,46 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Indicates the method returns the same exception each time it is invoked, rather than creating a new exception. The
+ * exception is created once for each instance of the implementation, so translated messages are still used.
+ * <p>
+ * The exception is created with the {@code (String, Throwable, boolean, boolean)} constructor without a cause,
+ * suppression or a stack trace, which means the shared exception cannot be modified. If the constructor is
+ * protected a subclass of the exception is generated, which reports the name of the exception in
+ * {@link Throwable#toString()}.
+ * </p>
+ * <p>
+ * Methods that use this annotation must return an exception and must not have any parameters.
+ * </p>
+ */
+@Target(METHOD)
+@Retention(CLASS)
+@Documented
+public @interface Preallocated {
+}
@@ -0,0 +1,67 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the rate a message is logged at.
+ * <p>
+ * At most {@link #limit()} messages are logged for each {@link #period()}. Messages over the limit are suppressed
+ * and the number of suppressed messages is appended to the next message which is logged. The limit is only checked
+ * if the level of the message is enabled.
+ * </p>
+ * <p>
+ * Methods that use this annotation must be {@linkplain org.jboss.logging.annotations.LogMessage logger methods}.
+ * Overloaded methods also annotated with {@code @RateLimited} share the same limit.
+ * </p>
+ */
+@Target(METHOD)
+@Retention(CLASS)
+@Documented
+public @interface RateLimited {
+
+    /**
+     * The number of messages which can be logged for each period.
+     *
+     * @return the number of messages which can be logged for each period
+     */
+    int limit();
+
+    /**
+     * The length of the period in the {@linkplain #unit() units} defined.
+     *
+     * @return the length of the period
+     */
+    long period() default 1;
+
+    /**
+     * The unit of the {@linkplain #period() period}.
+     *
+     * @return the unit of the period
+     */
+    TimeUnit unit() default TimeUnit.SECONDS;
+}
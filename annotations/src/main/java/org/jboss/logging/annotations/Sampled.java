@@ -0,0 +1,59 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Indicates only a sample of the invocations of a method should be logged.
+ * <p>
+ * Either {@link #every()} or {@link #fraction()} must be defined. The decision is random and made using the
+ * {@link java.util.concurrent.ThreadLocalRandom} of the current thread, so on average one of every {@code n}
+ * invocations, or the fraction of the invocations, are logged. The decision is only made if the level of the message
+ * is enabled and before any of the parameters are converted or formatted.
+ * </p>
+ * <p>
+ * Methods that use this annotation must be {@linkplain org.jboss.logging.annotations.LogMessage logger methods}.
+ * </p>
+ */
+@Target(METHOD)
+@Retention(CLASS)
+@Documented
+public @interface Sampled {
+
+    /**
+     * Logs one of every {@code n} invocations on average.
+     *
+     * @return the number of invocations for each message logged
+     */
+    int every() default 0;
+
+    /**
+     * The fraction of invocations which are logged. The value must be greater than 0 and less than or equal to 1.
+     *
+     * @return the fraction of invocations to log
+     */
+    double fraction() default 0;
+}
@@ -0,0 +1,66 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.annotations;
+
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Defines how the value of a format parameter is captured when the formatting of a log message is deferred.
+ * <p>
+ * When the {@code org.jboss.logging.tools.deferFormatting} processor option is enabled the log message is formatted
+ * when a handler requests it, which may be on a different thread and after the log method has returned. A parameter
+ * which is mutable should be annotated with {@code @Snapshot} so the value logged is the value at the time the log
+ * method was invoked. Parameters without this annotation are captured by {@linkplain Policy#REFERENCE reference}.
+ * </p>
+ * <p>
+ * If the formatting is not deferred this annotation is ignored.
+ * </p>
+ */
+@Retention(CLASS)
+@Target(PARAMETER)
+@Documented
+public @interface Snapshot {
+
+    /**
+     * The policy used to capture the value of the parameter.
+     *
+     * @return the snapshot policy
+     */
+    Policy value() default Policy.TO_STRING;
+
+    /**
+     * The policies for capturing a parameter value.
+     */
+    public enum Policy {
+        /**
+         * The reference to the value is captured and the value is converted to a string when the message is formatted.
+         */
+        REFERENCE,
+        /**
+         * The value is converted with {@link String#valueOf(Object)} when the log method is invoked.
+         */
+        TO_STRING,
+    }
+}
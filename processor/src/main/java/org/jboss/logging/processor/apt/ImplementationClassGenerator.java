@@ -23,10 +23,12 @@ import java.io.IOException;
 import java.util.Map;
 
 import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.SupportedOptions;
 import javax.lang.model.element.TypeElement;
 
 import org.jboss.logging.processor.generator.model.ClassModel;
 import org.jboss.logging.processor.generator.model.ClassModelFactory;
+import org.jboss.logging.processor.generator.model.GenerationOptions;
 import org.jboss.logging.processor.model.MessageInterface;
 
 /**
@@ -35,6 +37,22 @@ import org.jboss.logging.processor.model.MessageInterface;
  *
  * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
  */
+@SupportedOptions({
+        GenerationOptions.PRECOMPILE_FORMATS,
+        GenerationOptions.REPORT_ALLOCATIONS,
+        GenerationOptions.ALWAYS_CHECK_ENABLED,
+        GenerationOptions.DEFER_FORMATTING,
+        GenerationOptions.REUSE_BUFFERS,
+        GenerationOptions.TRANSLATION_TABLES,
+        GenerationOptions.PACKED_CATALOG,
+        GenerationOptions.GENERATE_FACTORIES,
+        GenerationOptions.MINIMUM_LEVEL,
+        GenerationOptions.LEVEL_OVERRIDES,
+        GenerationOptions.MESSAGE_STATISTICS,
+        GenerationOptions.JFR_EVENTS,
+        GenerationOptions.STRUCTURED_PARAMETERS,
+        GenerationOptions.STRUCTURED_MESSAGE_IDS
+})
 final class ImplementationClassGenerator extends AbstractGenerator {
 
     private static final String LOGGING_VERSION = "loggingVersion";
@@ -48,6 +66,11 @@ final class ImplementationClassGenerator extends AbstractGenerator {
         if (options.containsKey(LOGGING_VERSION)) {
             logger().warn(null, "The option %s has been deprecated and is no longer used.", LOGGING_VERSION);
         }
+        final String minimumLevel = options.get(GenerationOptions.MINIMUM_LEVEL);
+        if (minimumLevel != null && !GenerationOptions.isValidLevel(minimumLevel)) {
+            logger().error("Invalid property '%s' defined. The value %s is invalid.", GenerationOptions.MINIMUM_LEVEL,
+                    minimumLevel);
+        }
     }
 
     @Override
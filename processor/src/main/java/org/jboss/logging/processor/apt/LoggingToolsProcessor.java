@@ -50,7 +50,9 @@ import javax.lang.model.element.TypeElement;
 import javax.tools.Diagnostic;
 
 import org.jboss.logging.annotations.Cause;
+import org.jboss.logging.annotations.Coalesced;
 import org.jboss.logging.annotations.ConstructType;
+import org.jboss.logging.annotations.EnabledCheck;
 import org.jboss.logging.annotations.Field;
 import org.jboss.logging.annotations.FormatWith;
 import org.jboss.logging.annotations.LogMessage;
@@ -58,11 +60,17 @@ import org.jboss.logging.annotations.LoggingClass;
 import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.MessageBundle;
 import org.jboss.logging.annotations.MessageLogger;
+import org.jboss.logging.annotations.NoStackTrace;
 import org.jboss.logging.annotations.Once;
+import org.jboss.logging.annotations.OnceKey;
 import org.jboss.logging.annotations.Param;
 import org.jboss.logging.annotations.Pos;
+import org.jboss.logging.annotations.Preallocated;
 import org.jboss.logging.annotations.Property;
+import org.jboss.logging.annotations.RateLimited;
+import org.jboss.logging.annotations.Sampled;
 import org.jboss.logging.annotations.Signature;
+import org.jboss.logging.annotations.Snapshot;
 import org.jboss.logging.annotations.Transform;
 import org.jboss.logging.annotations.ValidIdRange;
 import org.jboss.logging.annotations.ValidIdRanges;
@@ -100,7 +108,9 @@ public class LoggingToolsProcessor extends AbstractProcessor {
         this.generators = new ArrayList<>();
         this.supportedAnnotations = createSupportedAnnotations(
                 Cause.class,
+                Coalesced.class,
                 ConstructType.class,
+                EnabledCheck.class,
                 Field.class,
                 FormatWith.class,
                 LoggingClass.class,
@@ -108,11 +118,17 @@ public class LoggingToolsProcessor extends AbstractProcessor {
                 Message.class,
                 MessageBundle.class,
                 MessageLogger.class,
+                NoStackTrace.class,
                 Once.class,
+                OnceKey.class,
                 Param.class,
                 Pos.class,
+                Preallocated.class,
                 Property.class,
+                RateLimited.class,
+                Sampled.class,
                 Signature.class,
+                Snapshot.class,
                 Transform.class,
                 ValidIdRange.class,
                 ValidIdRanges.class);
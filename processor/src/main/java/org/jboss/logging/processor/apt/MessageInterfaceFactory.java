@@ -45,10 +45,12 @@ import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.Types;
 
 import org.jboss.logging.BasicLogger;
+import org.jboss.logging.annotations.EnabledCheck;
 import org.jboss.logging.annotations.MessageBundle;
 import org.jboss.logging.annotations.MessageLogger;
 import org.jboss.logging.annotations.ValidIdRange;
 import org.jboss.logging.annotations.ValidIdRanges;
+import org.jboss.logging.processor.model.EnabledCheckMethod;
 import org.jboss.logging.processor.model.MessageInterface;
 import org.jboss.logging.processor.model.MessageMethod;
 import org.jboss.logging.processor.util.ElementHelper;
@@ -115,6 +117,7 @@ public final class MessageInterfaceFactory {
         private final TypeElement interfaceElement;
         private final Set<MessageInterface> extendedInterfaces;
         private final List<MessageMethod> messageMethods;
+        private final List<EnabledCheckMethod> enabledCheckMethods;
         private final List<ValidIdRange> validIdRanges;
         private final Properties expressionProperties;
         private final TypeElement generatedAnnotation;
@@ -131,6 +134,7 @@ public final class MessageInterfaceFactory {
             this.interfaceElement = interfaceElement;
             this.expressionProperties = expressionProperties;
             this.messageMethods = new LinkedList<>();
+            this.enabledCheckMethods = new LinkedList<>();
             this.extendedInterfaces = new LinkedHashSet<>();
             if (ElementHelper.isAnnotatedWith(interfaceElement, ValidIdRanges.class)) {
                 validIdRanges = Arrays.asList(interfaceElement.getAnnotation(ValidIdRanges.class).value());
@@ -176,6 +180,11 @@ public final class MessageInterfaceFactory {
             return messageMethods;
         }
 
+        @Override
+        public Collection<EnabledCheckMethod> enabledCheckMethods() {
+            return enabledCheckMethods;
+        }
+
         @Override
         public int compareTo(final MessageInterface o) {
             return this.name().compareTo(o.name());
@@ -191,6 +200,11 @@ public final class MessageInterfaceFactory {
                     .add(getMessageMethods(interfaceElement));
             final Collection<MessageMethod> m = builder.build();
             this.messageMethods.addAll(m);
+            for (ExecutableElement method : ElementFilter.methodsIn(interfaceElement.getEnclosedElements())) {
+                if (ElementHelper.isAnnotatedWith(method, EnabledCheck.class)) {
+                    enabledCheckMethods.add(new AptEnabledCheckMethod(method));
+                }
+            }
             final MessageBundle messageBundle = interfaceElement.getAnnotation(MessageBundle.class);
             final MessageLogger messageLogger = interfaceElement.getAnnotation(MessageLogger.class);
             if (messageBundle != null) {
@@ -399,10 +413,54 @@ public final class MessageInterfaceFactory {
         }
     }
 
+    private static class AptEnabledCheckMethod implements EnabledCheckMethod {
+        private static final String PREFIX = "is";
+        private static final String SUFFIX = "Enabled";
+        private final ExecutableElement method;
+        private final String name;
+        private final String checkedMethodName;
+
+        private AptEnabledCheckMethod(final ExecutableElement method) {
+            this.method = method;
+            name = method.getSimpleName().toString();
+            final String value = method.getAnnotation(EnabledCheck.class).value();
+            if (!value.isEmpty()) {
+                checkedMethodName = value;
+            } else if (name.length() > PREFIX.length() + SUFFIX.length() && name.startsWith(PREFIX)
+                    && name.endsWith(SUFFIX)) {
+                final String checkedName = name.substring(PREFIX.length(), name.length() - SUFFIX.length());
+                checkedMethodName = Character.toLowerCase(checkedName.charAt(0)) + checkedName.substring(1);
+            } else {
+                checkedMethodName = null;
+            }
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public String checkedMethodName() {
+            return checkedMethodName;
+        }
+
+        @Override
+        public ExecutableElement getDelegate() {
+            return method;
+        }
+
+        @Override
+        public String toString() {
+            return ToStringBuilder.of(this).add(name).add("checkedMethodName", checkedMethodName).toString();
+        }
+    }
+
     private static Collection<ExecutableElement> getMessageMethods(final TypeElement intf) {
         return ElementFilter.methodsIn(intf.getEnclosedElements())
                 .stream()
                 .filter(method -> !method.isDefault() && !method.getModifiers().contains(Modifier.STATIC))
+                .filter(method -> !ElementHelper.isAnnotatedWith(method, EnabledCheck.class))
                 .collect(Collectors.toList());
     }
 }
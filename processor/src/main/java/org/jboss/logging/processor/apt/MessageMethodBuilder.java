@@ -534,6 +534,12 @@ final class MessageMethodBuilder {
                 if (parameter.isSubtypeOf(Supplier.class)) {
                     return true;
                 }
+                // Arrays are converted with Arrays.toString(), formatters are constructed for each invocation and
+                // primitives are boxed before the logger can check the level
+                if (parameter.isFormatParameter() && (parameter.isArray() || parameter.isVarArgs()
+                        || parameter.isPrimitive() || parameter.formatterClass() != null)) {
+                    return true;
+                }
             }
             return false;
         }
@@ -38,8 +38,10 @@ import javax.lang.model.util.Types;
 
 import org.jboss.logging.annotations.Field;
 import org.jboss.logging.annotations.FormatWith;
+import org.jboss.logging.annotations.OnceKey;
 import org.jboss.logging.annotations.Pos;
 import org.jboss.logging.annotations.Property;
+import org.jboss.logging.annotations.Snapshot;
 import org.jboss.logging.annotations.Transform;
 import org.jboss.logging.annotations.TransformException;
 import org.jboss.logging.processor.model.MessageMethod;
@@ -119,7 +121,9 @@ final class ParameterFactory {
             isFormatArg = param.getAnnotationMirrors().isEmpty() ||
                     ElementHelper.isAnnotatedWith(param, FormatWith.class) ||
                     ElementHelper.isAnnotatedWith(param, Transform.class) ||
+                    ElementHelper.isAnnotatedWith(param, OnceKey.class) ||
                     ElementHelper.isAnnotatedWith(param, Pos.class) ||
+                    ElementHelper.isAnnotatedWith(param, Snapshot.class) ||
                     ElementHelper.isAnnotatedWith(param, TransformException.class);
         }
 
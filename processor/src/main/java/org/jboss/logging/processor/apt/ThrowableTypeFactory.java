@@ -100,6 +100,8 @@ final class ThrowableTypeFactory {
         private boolean throwableConstructor = false;
         private boolean stringAndThrowableConstructor = false;
         private boolean throwableAndStringConstructor = false;
+        private boolean writableStackTraceConstructor = false;
+        private boolean protectedWritableStackTraceConstructor = false;
 
         /**
          * Creates a new descriptor that is not primitive.
@@ -128,11 +130,15 @@ final class ThrowableTypeFactory {
                 final Element element = types.asElement(type);
                 final List<ExecutableElement> constructors = ElementFilter.constructorsIn(element.getEnclosedElements());
                 for (ExecutableElement constructor : constructors) {
+                    final List<? extends VariableElement> params = constructor.getParameters();
+                    // Protected constructors can only be used from a subclass
+                    if (constructor.getModifiers().contains(Modifier.PROTECTED) && isWritableStackTraceConstructor(params)) {
+                        protectedWritableStackTraceConstructor = true;
+                    }
                     // Only allow public constructors
                     if (!constructor.getModifiers().contains(Modifier.PUBLIC)) {
                         continue;
                     }
-                    final List<? extends VariableElement> params = constructor.getParameters();
                     switch (params.size()) {
                         case 0:
                             defaultConstructor = true;
@@ -153,12 +159,24 @@ final class ThrowableTypeFactory {
                                 throwableAndStringConstructor = true;
                             }
                             break;
+                        case 4:
+                            if (isWritableStackTraceConstructor(params)) {
+                                writableStackTraceConstructor = true;
+                            }
+                            break;
                     }
                     init(params);
                 }
             }
         }
 
+        private boolean isWritableStackTraceConstructor(final List<? extends VariableElement> params) {
+            return params.size() == 4 && types.isAssignable(stringType, params.get(0).asType())
+                    && types.isAssignable(causeType, params.get(1).asType())
+                    && params.get(2).asType().getKind() == TypeKind.BOOLEAN
+                    && params.get(3).asType().getKind() == TypeKind.BOOLEAN;
+        }
+
         /**
          * Allows for additional processing of parameters.
          *
@@ -203,6 +221,16 @@ final class ThrowableTypeFactory {
             return throwableConstructor;
         }
 
+        @Override
+        public boolean hasWritableStackTraceConstructor() {
+            return writableStackTraceConstructor;
+        }
+
+        @Override
+        public boolean hasProtectedWritableStackTraceConstructor() {
+            return protectedWritableStackTraceConstructor;
+        }
+
         @Override
         public boolean useConstructionParameters() {
             return false;
@@ -27,9 +27,11 @@ import java.io.FileInputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -49,6 +51,8 @@ import org.jboss.logging.annotations.MessageBundle;
 import org.jboss.logging.annotations.MessageLogger;
 import org.jboss.logging.processor.generator.model.ClassModel;
 import org.jboss.logging.processor.generator.model.ClassModelFactory;
+import org.jboss.logging.processor.generator.model.FactoryClassModel;
+import org.jboss.logging.processor.generator.model.GenerationOptions;
 import org.jboss.logging.processor.model.MessageInterface;
 import org.jboss.logging.processor.model.MessageMethod;
 import org.jboss.logging.processor.validation.FormatValidator;
@@ -87,6 +91,8 @@ final class TranslationClassGenerator extends AbstractGenerator {
 
     private final String translationFilesPath;
     private final boolean skipTranslations;
+    private final boolean translationTables;
+    private final boolean generateFactories;
 
     /**
      * Construct an instance of the Translation
@@ -100,25 +106,44 @@ final class TranslationClassGenerator extends AbstractGenerator {
         this.translationFilesPath = options.get(TRANSLATION_FILES_PATH_OPTION);
         final String value = options.get(SKIP_TRANSLATIONS);
         this.skipTranslations = (options.containsKey(SKIP_TRANSLATIONS) && (value == null ? true : Boolean.valueOf(value)));
+        this.translationTables = Boolean.parseBoolean(options.get(GenerationOptions.TRANSLATION_TABLES))
+                || Boolean.parseBoolean(options.get(GenerationOptions.PACKED_CATALOG));
+        this.generateFactories = Boolean.parseBoolean(options.get(GenerationOptions.GENERATE_FACTORIES));
     }
 
     @Override
     public void processTypeElement(final TypeElement annotation, final TypeElement element,
             final MessageInterface messageInterface) {
+        // The locale suffixes of the translation implementations generated
+        final Set<String> translationSuffixes = new LinkedHashSet<>();
         if (skipTranslations) {
             logger().debug(element, "Skipping processing of translation implementation");
-            return;
-        }
-        try {
-            final List<File> files = findTranslationFiles(messageInterface);
-            final Map<File, Map<MessageMethod, String>> validTranslations = allInterfaceTranslations(messageInterface, files);
-            if (files != null) {
-                for (File file : files) {
-                    generateSourceFileFor(messageInterface, file, validTranslations.get(file));
+        } else {
+            try {
+                final List<File> files = findTranslationFiles(messageInterface);
+                final Map<File, Map<MessageMethod, String>> validTranslations = allInterfaceTranslations(messageInterface,
+                        files);
+                if (files != null) {
+                    for (File file : files) {
+                        if (translationTables) {
+                            generateTableSourceFileFor(messageInterface, file, validTranslations, translationSuffixes);
+                        } else {
+                            generateSourceFileFor(messageInterface, file, validTranslations.get(file), translationSuffixes);
+                        }
+                    }
                 }
+            } catch (IOException e) {
+                logger().error(e, "Cannot read %s package files", messageInterface.packageName());
+            }
+        }
+        if (generateFactories) {
+            final FactoryClassModel factory = ClassModelFactory.factory(processingEnv, messageInterface,
+                    translationSuffixes);
+            try {
+                factory.generateAndWrite();
+            } catch (IllegalStateException | IOException e) {
+                logger().error(e, "Cannot generate the factory for %s", messageInterface.name());
             }
-        } catch (IOException e) {
-            logger().error(e, "Cannot read %s package files", messageInterface.packageName());
         }
     }
 
@@ -235,24 +260,71 @@ final class TranslationClassGenerator extends AbstractGenerator {
     /**
      * Generate a class for the given translation file.
      *
-     * @param messageInterface the message interface
-     * @param translationFile  the translation file
-     * @param translations     the translations message
+     * @param messageInterface    the message interface
+     * @param translationFile     the translation file
+     * @param translations        the translations message
+     * @param translationSuffixes the locale suffixes of the translation implementations generated
      */
     private void generateSourceFileFor(final MessageInterface messageInterface, final File translationFile,
-            final Map<MessageMethod, String> translations) {
+            final Map<MessageMethod, String> translations, final Set<String> translationSuffixes) {
 
         //Generate empty translation super class if needed
         //Check if enclosing translation file exists, if not generate an empty super class
         final String enclosingTranslationFileName = getEnclosingTranslationFileName(translationFile);
         final File enclosingTranslationFile = new File(translationFile.getParent(), enclosingTranslationFileName);
         if (!enclosingTranslationFileName.equals(translationFile.getName()) && !enclosingTranslationFile.exists()) {
-            generateSourceFileFor(messageInterface, enclosingTranslationFile, Collections.<MessageMethod, String> emptyMap());
+            generateSourceFileFor(messageInterface, enclosingTranslationFile, Collections.<MessageMethod, String> emptyMap(),
+                    translationSuffixes);
         }
 
         //Create source file
-        final ClassModel classModel = ClassModelFactory.translation(processingEnv, messageInterface,
-                getTranslationClassNameSuffix(translationFile.getName()), translations);
+        final String translationSuffix = getTranslationClassNameSuffix(translationFile.getName());
+        translationSuffixes.add(translationSuffix);
+        final ClassModel classModel = ClassModelFactory.translation(processingEnv, messageInterface, translationSuffix,
+                translations);
+
+        try {
+            classModel.generateAndWrite();
+        } catch (IllegalStateException | IOException e) {
+            logger().error(e, "Cannot generate %s source file", classModel.qualifiedClassName());
+        }
+    }
+
+    /**
+     * Generate a class for the given translation file which only replaces the message table. Messages missing from
+     * the translation file are resolved from the translation files of the enclosing locales, so no class is generated
+     * for an enclosing locale without a translation file.
+     *
+     * @param messageInterface    the message interface
+     * @param translationFile     the translation file
+     * @param validTranslations   the translations messages for each translation file
+     * @param translationSuffixes the locale suffixes of the translation implementations generated
+     */
+    private void generateTableSourceFileFor(final MessageInterface messageInterface, final File translationFile,
+            final Map<File, Map<MessageMethod, String>> validTranslations, final Set<String> translationSuffixes) {
+        // Resolve the enclosing locales first so the more specific translations replace them
+        final Deque<File> enclosingFiles = new ArrayDeque<>();
+        File file = translationFile;
+        while (true) {
+            enclosingFiles.push(file);
+            final String enclosingFileName = getEnclosingTranslationFileName(file);
+            if (enclosingFileName.equals(file.getName())) {
+                break;
+            }
+            file = new File(file.getParent(), enclosingFileName);
+        }
+        final Map<MessageMethod, String> translations = new LinkedHashMap<>();
+        for (File enclosingFile : enclosingFiles) {
+            final Map<MessageMethod, String> enclosingTranslations = validTranslations.get(enclosingFile);
+            if (enclosingTranslations != null) {
+                translations.putAll(enclosingTranslations);
+            }
+        }
+
+        final String translationSuffix = getTranslationClassNameSuffix(translationFile.getName());
+        translationSuffixes.add(translationSuffix);
+        final ClassModel classModel = ClassModelFactory.translation(processingEnv, messageInterface, translationSuffix,
+                translations);
 
         try {
             classModel.generateAndWrite();
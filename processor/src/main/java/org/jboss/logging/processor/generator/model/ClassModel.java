@@ -25,19 +25,34 @@ import static org.jboss.jdeparser.JTypes.$t;
 import static org.jboss.jdeparser.JTypes.typeOf;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
 import javax.annotation.processing.Filer;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
 
 import org.jboss.jdeparser.FormatPreferences;
+import org.jboss.jdeparser.JArrayExpr;
+import org.jboss.jdeparser.JAssignableExpr;
 import org.jboss.jdeparser.JBlock;
 import org.jboss.jdeparser.JCall;
 import org.jboss.jdeparser.JClassDef;
@@ -47,13 +62,17 @@ import org.jboss.jdeparser.JExprs;
 import org.jboss.jdeparser.JFiler;
 import org.jboss.jdeparser.JMethodDef;
 import org.jboss.jdeparser.JMod;
+import org.jboss.jdeparser.JParamDeclaration;
 import org.jboss.jdeparser.JSourceFile;
 import org.jboss.jdeparser.JSources;
+import org.jboss.jdeparser.JTry;
 import org.jboss.jdeparser.JType;
 import org.jboss.jdeparser.JVarDeclaration;
+import org.jboss.logging.annotations.Message.Format;
 import org.jboss.logging.annotations.MessageBundle;
 import org.jboss.logging.annotations.MessageLogger;
 import org.jboss.logging.processor.apt.ProcessingException;
+import org.jboss.logging.processor.model.LoggerMessageMethod;
 import org.jboss.logging.processor.model.MessageInterface;
 import org.jboss.logging.processor.model.MessageMethod;
 
@@ -69,6 +88,18 @@ public abstract class ClassModel {
 
     private static final String GET_INSTANCE_METHOD_NAME = "readResolve";
 
+    private static final String MESSAGE_TABLE_FIELD_NAME = "_MESSAGE_TABLE";
+
+    private static final String MESSAGE_TABLE_METHOD_NAME = "_messageTable";
+
+    private static final String MESSAGE_CATALOG_CLASS_NAME = "MessageCatalog";
+
+    private static final String MESSAGE_CATALOG_FIELD_NAME = "_MESSAGE_CATALOG";
+
+    private static final String MESSAGE_METHOD_NAME = "_message";
+
+    private static final String CATALOG_EXTENSION = ".catalog";
+
     private final JSources sources;
 
     private final JClassDef classDef;
@@ -79,11 +110,19 @@ public abstract class ClassModel {
     private final String superClassName;
 
     private final String format;
+    private final String idFormat;
 
     private final Map<String, JMethodDef> messageMethods;
 
+    private final Map<String, Integer> messageTableIndexes;
+
+    private boolean formatHelpersGenerated;
+
+    private byte[] packedCatalog;
+
     final JSourceFile sourceFile;
     final ProcessingEnvironment processingEnv;
+    final GenerationOptions options;
 
     /**
      * Construct a class model.
@@ -98,6 +137,7 @@ public abstract class ClassModel {
         this.messageInterface = messageInterface;
         this.className = messageInterface.packageName() + "." + className;
         this.superClassName = superClassName;
+        this.options = GenerationOptions.of(processingEnv);
         sources = JDeparser.createSources(
                 new JFilerOriginatingElementAware(
                         processingEnv.getElementUtils().getTypeElement(messageInterface.name()),
@@ -108,10 +148,13 @@ public abstract class ClassModel {
         final int idLen = messageInterface.getIdLength();
         if (idLen > 0) {
             format = "%s%0" + messageInterface.getIdLength() + "d: %s";
+            idFormat = "%s%0" + messageInterface.getIdLength() + "d";
         } else {
             format = "%s%d: %s";
+            idFormat = "%s%d";
         }
         messageMethods = new HashMap<>();
+        messageTableIndexes = new HashMap<>();
     }
 
     /**
@@ -132,6 +175,15 @@ public abstract class ClassModel {
         generateModel();
         sources.writeSources();
         JDeparser.dropCaches();
+        if (packedCatalog != null) {
+            final String simpleName = className.substring(className.lastIndexOf('.') + 1);
+            final FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT,
+                    messageInterface.packageName(), simpleName + CATALOG_EXTENSION,
+                    processingEnv.getElementUtils().getTypeElement(messageInterface.name()));
+            try (OutputStream out = file.openOutputStream()) {
+                out.write(packedCatalog);
+            }
+        }
     }
 
     /**
@@ -176,9 +228,210 @@ public abstract class ClassModel {
         sourceFile._import(serializable);
         classDef._implements(serializable);
         classDef.field(JMod.PRIVATE | JMod.STATIC | FINAL, JType.LONG, "serialVersionUID", JExprs.decimal(1L));
+        if (options.translationTables()) {
+            createMessageTable();
+        }
         return classDef;
     }
 
+    /**
+     * Returns the translated messages for the message methods. Translation implementations override this to return
+     * the translations which should replace the default messages.
+     *
+     * @return the translated messages
+     */
+    Map<MessageMethod, String> translations() {
+        return Collections.emptyMap();
+    }
+
+    /**
+     * Creates the table of messages, indexed by message method, and the method used to look it up. The table holds
+     * every message so a translation implementation only overrides the lookup method, and messages which are not
+     * translated are resolved from the default message when the table is generated.
+     * <p>
+     * The table is created before any other field so it is initialized before an instance of the class is created.
+     * </p>
+     */
+    private void createMessageTable() {
+        final Map<String, String> messages = new LinkedHashMap<>();
+        for (MessageMethod messageMethod : allMessageMethods()) {
+            final String value = messageMethod.message().value();
+            if (value != null) {
+                messages.putIfAbsent(messageMethod.messageMethodName(), messageWithId(messageMethod, value));
+            }
+        }
+        for (Map.Entry<MessageMethod, String> entry : translations().entrySet()) {
+            final String key = entry.getKey().messageMethodName();
+            if (entry.getValue() != null && messages.containsKey(key)) {
+                messages.put(key, messageWithId(entry.getKey(), entry.getValue()));
+            }
+        }
+        if (options.packedCatalog()) {
+            createMessageCatalog(messages);
+            return;
+        }
+        final JArrayExpr table = JExprs.array();
+        for (Map.Entry<String, String> entry : messages.entrySet()) {
+            messageTableIndexes.put(entry.getKey(), table.elementCount());
+            table.add(JExprs.str(entry.getValue()));
+        }
+        final JType tableType = $t(String.class).array();
+        final JVarDeclaration field = classDef.field(JMod.PRIVATE | JMod.STATIC | FINAL, tableType,
+                MESSAGE_TABLE_FIELD_NAME, table);
+        final JMethodDef method = classDef.method(JMod.PROTECTED, tableType, MESSAGE_TABLE_METHOD_NAME);
+        if (superClassName != null) {
+            method.annotate(Override.class);
+        }
+        method.body()._return($v(field));
+    }
+
+    /**
+     * Packs the messages into a catalog resource and creates the method used to look up a message. The catalog starts
+     * with the offset of each message, followed by the offset of the end of the last message, each as a 4 byte
+     * integer. The offsets are relative to the start of the catalog and are followed by the UTF-8 encoded messages.
+     *
+     * @param messages the messages, keyed by the message method name, in the order of their index
+     */
+    private void createMessageCatalog(final Map<String, String> messages) {
+        final List<byte[]> encoded = new ArrayList<>(messages.size());
+        for (Map.Entry<String, String> entry : messages.entrySet()) {
+            messageTableIndexes.put(entry.getKey(), encoded.size());
+            encoded.add(entry.getValue().getBytes(StandardCharsets.UTF_8));
+        }
+        int offset = (encoded.size() + 1) * Integer.BYTES;
+        final ByteBuffer index = ByteBuffer.allocate(offset);
+        for (byte[] message : encoded) {
+            index.putInt(offset);
+            offset += message.length;
+        }
+        index.putInt(offset);
+        final ByteBuffer catalog = ByteBuffer.allocate(offset).put(index.array());
+        for (byte[] message : encoded) {
+            catalog.put(message);
+        }
+        packedCatalog = catalog.array();
+
+        final String simpleName = className.substring(className.lastIndexOf('.') + 1);
+        final JType catalogType;
+        if (superClassName == null) {
+            catalogType = createMessageCatalogType();
+        } else {
+            // The catalog type is inherited from the implementation
+            catalogType = $t(MESSAGE_CATALOG_CLASS_NAME);
+        }
+        final JVarDeclaration field = classDef.field(JMod.PRIVATE | JMod.STATIC | FINAL, catalogType,
+                MESSAGE_CATALOG_FIELD_NAME, catalogType._new()
+                        .arg($t(classDef)._class())
+                        .arg(JExprs.str(simpleName + CATALOG_EXTENSION))
+                        .arg(JExprs.decimal(encoded.size()))
+                        .arg(JExprs.decimal(offset)));
+        final JMethodDef method = classDef.method(JMod.PROTECTED, String.class, MESSAGE_METHOD_NAME);
+        if (superClassName != null) {
+            method.annotate(Override.class);
+        }
+        method.body()._return($v(field).call("get").arg($v(method.param(FINAL, JType.INT, "index"))));
+    }
+
+    /**
+     * Creates the type which reads the catalog resource the first time a message is requested. Each message is decoded
+     * the first time it is requested.
+     *
+     * @return the catalog type
+     */
+    private JType createMessageCatalogType() {
+        sourceFile._import(ByteBuffer.class);
+        sourceFile._import(IOException.class);
+        sourceFile._import(InputStream.class);
+        sourceFile._import(StandardCharsets.class);
+        sourceFile._import(UncheckedIOException.class);
+        final JClassDef catalogClass = classDef._class(JMod.STATIC | FINAL, MESSAGE_CATALOG_CLASS_NAME);
+        final JType byteBufferType = $t(ByteBuffer.class);
+        final JVarDeclaration typeField = catalogClass.field(JMod.PRIVATE | FINAL, $t(Class.class).typeArg($t("?")),
+                "type");
+        final JVarDeclaration nameField = catalogClass.field(JMod.PRIVATE | FINAL, String.class, "name");
+        final JVarDeclaration lengthField = catalogClass.field(JMod.PRIVATE | FINAL, JType.INT, "length");
+        final JVarDeclaration messagesField = catalogClass.field(JMod.PRIVATE | FINAL, $t(String.class).array(),
+                "messages");
+        final JVarDeclaration dataField = catalogClass.field(JMod.PRIVATE | JMod.VOLATILE, byteBufferType, "data");
+
+        JMethodDef method = catalogClass.constructor(0);
+        JBlock body = method.body();
+        body.assign(JExpr.THIS.field(typeField.name()), $v(method.param(FINAL, $t(Class.class).typeArg($t("?")), "type")));
+        body.assign(JExpr.THIS.field(nameField.name()), $v(method.param(FINAL, String.class, "name")));
+        final JExpr size = $v(method.param(FINAL, JType.INT, "size"));
+        body.assign(JExpr.THIS.field(lengthField.name()), $v(method.param(FINAL, JType.INT, "length")));
+        body.assign(JExpr.THIS.field(messagesField.name()), $t(String.class).array()._new(size));
+
+        // Messages are immutable so decoding a message more than once on a race is harmless
+        method = catalogClass.method(0, String.class, "get");
+        final JExpr index = $v(method.param(FINAL, JType.INT, "index"));
+        body = method.body();
+        final JAssignableExpr result = $v(body.var(0, String.class, "result", $v(messagesField).idx(index)));
+        JBlock block = body._if(result.eq(JExpr.NULL)).block(JBlock.Braces.REQUIRED);
+        final JExpr catalog = $v(block.var(FINAL, byteBufferType, "catalog", JExprs.call("data")));
+        final JExpr position = index.times(JExprs.decimal(Integer.BYTES));
+        final JExpr start = $v(block.var(FINAL, JType.INT, "start", catalog.call("getInt").arg(position)));
+        final JExpr end = $v(block.var(FINAL, JType.INT, "end",
+                catalog.call("getInt").arg(position.plus(JExprs.decimal(Integer.BYTES)))));
+        block.assign(result, $t(String.class)._new()
+                .arg(catalog.call("array"))
+                .arg(start)
+                .arg(end.minus(start))
+                .arg($t(StandardCharsets.class).$v("UTF_8")));
+        block.assign($v(messagesField).idx(index), result);
+        body._return(result);
+
+        // Reads the catalog the first time a message is requested
+        method = catalogClass.method(JMod.PRIVATE, byteBufferType, "data");
+        body = method.body();
+        final JAssignableExpr current = $v(body.var(0, byteBufferType, "result", $v(dataField)));
+        block = body._if(current.eq(JExpr.NULL)).block(JBlock.Braces.REQUIRED)._synchronized(JExpr.THIS);
+        block.assign(current, $v(dataField));
+        block = block._if(current.eq(JExpr.NULL)).block(JBlock.Braces.REQUIRED);
+        final JExpr bytes = $v(block.var(FINAL, JType.BYTE.array(), "bytes", JType.BYTE.array()._new($v(lengthField))));
+        final JTry tryBlock = block._try();
+        final JExpr in = $v(tryBlock.with(FINAL, $t(InputStream.class), "in",
+                $v(typeField).call("getResourceAsStream").arg($v(nameField))));
+        tryBlock._if(in.eq(JExpr.NULL)).block(JBlock.Braces.REQUIRED)
+                ._throw($t(IllegalStateException.class)._new()
+                        .arg(JExprs.str("Could not find the message catalog ").plus($v(nameField))));
+        final JAssignableExpr offset = $v(tryBlock.var(0, JType.INT, "offset", JExprs.decimal(0)));
+        final JBlock readBlock = tryBlock._while(offset.lt(bytes.field("length")));
+        final JExpr read = $v(readBlock.var(FINAL, JType.INT, "read", in.call("read")
+                .arg(bytes)
+                .arg(offset)
+                .arg(bytes.field("length").minus(offset))));
+        readBlock._if(read.lt(JExprs.decimal(0))).block(JBlock.Braces.REQUIRED)
+                ._throw($t(IllegalStateException.class)._new()
+                        .arg(JExprs.str("Unexpected end of the message catalog ").plus($v(nameField))));
+        readBlock.add(offset.addAssign(read));
+        // TODO (jrp) the " " can be removed after an upgrade to JDeparser2; this is a workaround for a formatting bug
+        final String exceptionName = "e";
+        tryBlock._catch(0, IOException.class, " " + exceptionName)
+                ._throw($t(UncheckedIOException.class)._new()
+                        .arg(JExprs.str("Could not read the message catalog ").plus($v(nameField)))
+                        .arg($v(exceptionName)));
+        block.assign(current, byteBufferType.call("wrap").arg(bytes));
+        block.assign($v(dataField), current);
+        body._return(current);
+        return $t(catalogClass);
+    }
+
+    /**
+     * Returns the message methods of the message interface and the message interfaces it extends.
+     *
+     * @return the message methods
+     */
+    private Set<MessageMethod> allMessageMethods() {
+        final Set<MessageMethod> result = new LinkedHashSet<>(messageInterface.methods());
+        for (MessageInterface intf : messageInterface.extendedInterfaces()) {
+            if (intf.isAnnotatedWith(MessageBundle.class) || intf.isAnnotatedWith(MessageLogger.class)) {
+                result.addAll(intf.methods());
+            }
+        }
+        return result;
+    }
+
     /**
      * Adds a method to return the message value. The method name should be the
      * method name annotated {@code org.jboss.logging.Message}. This method will
@@ -229,21 +482,121 @@ public abstract class ClassModel {
         if (method == null) {
             method = classDef.method(JMod.PROTECTED, String.class, messageMethod.messageMethodName());
             final JBlock body = method.body();
-            final String msg;
-            if (messageInterface.projectCode() != null && !messageInterface.projectCode().isEmpty()
-                    && messageMethod.message().hasId()) {
-                // Prefix the id to the string message
-                msg = String.format(format, messageInterface.projectCode(), messageMethod.message().id(), messageValue);
+            final String msg = messageWithId(messageMethod, messageValue);
+            final Integer index = messageTableIndexes.get(messageMethod.messageMethodName());
+            if (index == null) {
+                body._return(JExprs.str(msg));
+            } else if (options.packedCatalog()) {
+                body._return(JExprs.call(MESSAGE_METHOD_NAME).arg(JExprs.decimal(index)));
             } else {
-                msg = messageValue;
+                body._return(JExprs.call(MESSAGE_TABLE_METHOD_NAME).idx(JExprs.decimal(index)));
             }
-            body._return(JExprs.str(msg));
             messageMethods.put(messageMethod.messageMethodName(), method);
+            if (isPrecompiledFormat(messageMethod)) {
+                addFormatMethod(messageMethod, msg);
+            }
         }
 
         return method;
     }
 
+    /**
+     * Returns the message id, the project code followed by the padded id, of the message method.
+     *
+     * @param messageMethod the message method
+     *
+     * @return the message id or {@code null} if the interface has no project code or the message has no id
+     */
+    String messageId(final MessageMethod messageMethod) {
+        if (messageInterface.projectCode() != null && !messageInterface.projectCode().isEmpty()
+                && messageMethod.message().hasId()) {
+            return String.format(idFormat, messageInterface.projectCode(), messageMethod.message().id());
+        }
+        return null;
+    }
+
+    private String messageWithId(final MessageMethod messageMethod, final String messageValue) {
+        // The id of log messages may be passed to the logger rather than in the message
+        if (options.unprefixedMessageIds() && messageMethod instanceof LoggerMessageMethod) {
+            return messageValue;
+        }
+        if (messageInterface.projectCode() != null && !messageInterface.projectCode().isEmpty()
+                && messageMethod.message().hasId()) {
+            // Prefix the id to the string message
+            return String.format(format, messageInterface.projectCode(), messageMethod.message().id(), messageValue);
+        }
+        return messageValue;
+    }
+
+    /**
+     * Checks whether a method which renders the message without a {@link java.util.Formatter} is generated for the
+     * message method. Log methods which pass {@linkplain GenerationOptions#STRUCTURED_PARAMETERS structured parameters}
+     * pass the format to the logger and are not precompiled. Log methods without format parameters are not precompiled
+     * either, the logger leaves their message unformatted.
+     *
+     * @param messageMethod the message method to check
+     *
+     * @return {@code true} if the format method, see {@link ClassModelHelper#formatMethodName(MessageMethod)}, is
+     *         generated for the message method, otherwise {@code false}
+     */
+    boolean isPrecompiledFormat(final MessageMethod messageMethod) {
+        return options.precompileFormats() && !options.translationTables()
+                && messageMethod.message().format() == Format.PRINTF && !isDeferredFormat(messageMethod)
+                && !(messageMethod instanceof LoggerMessageMethod
+                        && (options.structuredParameters() || messageMethod.formatParameterCount() == 0));
+    }
+
+    /**
+     * Checks whether the log method passes an object which formats the message when it is first requested to the
+     * logger. Deferred formatting takes precedence over {@linkplain #isPrecompiledFormat(MessageMethod) precompiled}
+     * formats for log methods.
+     *
+     * @param messageMethod the message method to check
+     *
+     * @return {@code true} if the message is formatted when it is first requested, otherwise {@code false}
+     */
+    boolean isDeferredFormat(final MessageMethod messageMethod) {
+        return options.deferFormatting() && messageMethod instanceof LoggerMessageMethod
+                && messageMethod.message().format() != Format.NO_FORMAT && messageMethod.formatParameterCount() > 0;
+    }
+
+    /**
+     * Adds a method which renders the message with the arguments passed. The method accepts the locale followed by
+     * each format argument and returns the formatted message. Primitive arguments are accepted as primitives so they
+     * are not boxed.
+     *
+     * @param messageMethod the message method
+     * @param msg           the message, including the message id, to render
+     */
+    private void addFormatMethod(final MessageMethod messageMethod, final String msg) {
+        final JType localeType = typeOf(Locale.class);
+        sourceFile._import(localeType);
+        final JMethodDef method = classDef.method(JMod.PROTECTED, String.class,
+                ClassModelHelper.formatMethodName(messageMethod));
+        final JParamDeclaration locale = method.param(FINAL, localeType, "locale");
+        final int argumentCount = messageMethod.formatParameterCount();
+        final List<TypeKind> kinds = ClassModelHelper.formatArgumentKinds(messageMethod);
+        final List<JExpr> args = new ArrayList<>(argumentCount);
+        for (int i = 0; i < argumentCount; i++) {
+            args.add($v(method.param(FINAL, PrintfFormatPlan.argumentType(kinds.get(i)), "arg" + (i + 1))));
+        }
+        // The helpers are inherited by the translation implementations
+        if (superClassName == null && !formatHelpersGenerated) {
+            PrintfFormatPlan.addHelperMethods(sourceFile, classDef, options.reuseBuffers());
+            formatHelpersGenerated = true;
+        }
+        final PrintfFormatPlan plan = PrintfFormatPlan.of(msg, argumentCount);
+        if (plan == null) {
+            final JCall formatterCall = $t(String.class).call("format").arg($v(locale)).arg(JExprs.str(msg));
+            for (JExpr arg : args) {
+                formatterCall.arg(arg);
+            }
+            method.body()._return(formatterCall);
+        } else {
+            plan.addTo(method.body(), $v(locale), args, kinds, options.reuseBuffers());
+        }
+    }
+
     /**
      * Get the class name.
      *
@@ -377,12 +730,12 @@ public abstract class ClassModel {
      * Other than passing the originating element this {@link JFiler} should behave exactly
      * as the one created with {@link JFiler#newInstance(Filer)}
      */
-    private static class JFilerOriginatingElementAware extends JFiler {
+    static class JFilerOriginatingElementAware extends JFiler {
 
         private final Element originatingElement;
         private final Filer filer;
 
-        private JFilerOriginatingElementAware(Element originatingElement, Filer filer) {
+        JFilerOriginatingElementAware(Element originatingElement, Filer filer) {
             if (originatingElement == null) {
                 throw new ProcessingException(null,
                         "Creating an instance of a %s without an originating element is not allowed.", getClass().getName());
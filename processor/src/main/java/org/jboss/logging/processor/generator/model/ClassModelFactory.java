@@ -23,6 +23,7 @@ import static org.jboss.logging.processor.generator.model.ClassModelHelper.imple
 import static org.jboss.logging.processor.util.TranslationHelper.getEnclosingTranslationClassName;
 
 import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.processing.ProcessingEnvironment;
 
@@ -86,7 +87,10 @@ public class ClassModelFactory {
     public static ClassModel translation(final ProcessingEnvironment processingEnv, final MessageInterface messageInterface,
             final String translationSuffix, final Map<MessageMethod, String> translations) throws IllegalArgumentException {
         final String generatedClassName = implementationClassName(messageInterface, translationSuffix);
-        final String superClassName = getEnclosingTranslationClassName(generatedClassName);
+        // Message tables hold every message so the translations extend the implementation directly
+        final String superClassName = GenerationOptions.of(processingEnv).translationTables()
+                ? implementationClassName(messageInterface)
+                : getEnclosingTranslationClassName(generatedClassName);
         // The locale should be the same as the translationsSuffix minus the leading _
         final String locale = translationSuffix.substring(1);
         if (messageInterface.isAnnotatedWith(MessageBundle.class)) {
@@ -100,4 +104,18 @@ public class ClassModelFactory {
         throw new IllegalArgumentException(
                 String.format("Message interface %s is not a valid message logger or message bundle.", messageInterface));
     }
+
+    /**
+     * Creates a class model for the factory of the implementations of the message interface.
+     *
+     * @param processingEnv       the processing environment
+     * @param messageInterface    the message interface the factory creates implementations for
+     * @param translationSuffixes the locale suffixes of the translation implementations generated
+     *
+     * @return the factory class model
+     */
+    public static FactoryClassModel factory(final ProcessingEnvironment processingEnv,
+            final MessageInterface messageInterface, final Set<String> translationSuffixes) {
+        return new FactoryClassModel(processingEnv, messageInterface, translationSuffixes);
+    }
 }
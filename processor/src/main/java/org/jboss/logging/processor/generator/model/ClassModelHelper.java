@@ -20,11 +20,20 @@
 package org.jboss.logging.processor.generator.model;
 
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+
+import javax.lang.model.type.TypeKind;
 
 import org.jboss.logging.annotations.MessageBundle;
 import org.jboss.logging.annotations.MessageLogger;
+import org.jboss.logging.annotations.Pos;
+import org.jboss.logging.annotations.Transform;
+import org.jboss.logging.annotations.TransformException;
 import org.jboss.logging.processor.model.MessageInterface;
+import org.jboss.logging.processor.model.MessageMethod;
+import org.jboss.logging.processor.model.Parameter;
 
 /**
  * Utilities for the code model.
@@ -34,6 +43,8 @@ import org.jboss.logging.processor.model.MessageInterface;
 public final class ClassModelHelper {
 
     private static final String STRING_ID_FORMAT2 = "%s%06d: ";
+    private static final String MESSAGE_METHOD_SUFFIX = "$str";
+    private static final String FORMAT_METHOD_SUFFIX = "$fmt";
 
     /**
      * Constructor for singleton model.
@@ -99,4 +110,68 @@ public final class ClassModelHelper {
             throws IllegalArgumentException {
         return implementationClassName(messageInterface) + translationSuffix;
     }
+
+    /**
+     * Creates the name of the factory class for the message interface.
+     *
+     * @param messageInterface the message interface to generate the factory name for
+     *
+     * @return the factory class name
+     */
+    public static String factoryClassName(final MessageInterface messageInterface) {
+        return messageInterface.simpleName() + "_$factory";
+    }
+
+    /**
+     * Creates the name of the method which renders a precompiled format for the message method. The name is the
+     * {@linkplain MessageMethod#messageMethodName() message method name} with the {@code $str} suffix replaced with
+     * {@code $fmt}.
+     *
+     * @param messageMethod the message method
+     *
+     * @return the format method name
+     */
+    static String formatMethodName(final MessageMethod messageMethod) {
+        final String name = messageMethod.messageMethodName();
+        if (name.endsWith(MESSAGE_METHOD_SUFFIX)) {
+            return name.substring(0, name.length() - MESSAGE_METHOD_SUFFIX.length()) + FORMAT_METHOD_SUFFIX;
+        }
+        return name + FORMAT_METHOD_SUFFIX;
+    }
+
+    /**
+     * Returns the kind of each argument passed to the precompiled format method in the order they are passed to the
+     * format. A primitive parameter which is passed as is keeps its primitive kind so it can be formatted without
+     * boxing. Any other argument, including every argument of a method using {@link Pos @Pos}, is a
+     * {@link TypeKind#DECLARED declared} type.
+     *
+     * @param messageMethod the message method
+     *
+     * @return the kinds of the format arguments
+     */
+    static List<TypeKind> formatArgumentKinds(final MessageMethod messageMethod) {
+        final int argumentCount = messageMethod.formatParameterCount();
+        final List<TypeKind> result = new ArrayList<>(argumentCount);
+        if (messageMethod.parametersAnnotatedWith(Pos.class).isEmpty()) {
+            for (Parameter parameter : messageMethod.parameters()) {
+                if (!parameter.isFormatParameter()) {
+                    continue;
+                }
+                if (parameter.isPrimitive() && parameter.formatterClass() == null
+                        && !parameter.isAnnotatedWith(Transform.class)
+                        && !parameter.isAnnotatedWith(TransformException.class)) {
+                    result.add(parameter.asType().getKind());
+                } else {
+                    result.add(TypeKind.DECLARED);
+                }
+            }
+        }
+        if (result.size() != argumentCount) {
+            result.clear();
+            for (int i = 0; i < argumentCount; i++) {
+                result.add(TypeKind.DECLARED);
+            }
+        }
+        return result;
+    }
 }
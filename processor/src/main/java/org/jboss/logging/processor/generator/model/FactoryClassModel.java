@@ -0,0 +1,278 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generator.model;
+
+import static org.jboss.jdeparser.JExprs.$v;
+import static org.jboss.jdeparser.JMod.FINAL;
+import static org.jboss.jdeparser.JTypes.$t;
+import static org.jboss.jdeparser.JTypes.typeOf;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.TypeElement;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import org.jboss.jdeparser.FormatPreferences;
+import org.jboss.jdeparser.JBlock;
+import org.jboss.jdeparser.JCall;
+import org.jboss.jdeparser.JClassDef;
+import org.jboss.jdeparser.JDeparser;
+import org.jboss.jdeparser.JExpr;
+import org.jboss.jdeparser.JExprs;
+import org.jboss.jdeparser.JMethodDef;
+import org.jboss.jdeparser.JMod;
+import org.jboss.jdeparser.JParamDeclaration;
+import org.jboss.jdeparser.JSourceFile;
+import org.jboss.jdeparser.JSources;
+import org.jboss.jdeparser.JSwitch;
+import org.jboss.jdeparser.JType;
+import org.jboss.jdeparser.JVarDeclaration;
+import org.jboss.logging.Logger;
+import org.jboss.logging.annotations.MessageBundle;
+import org.jboss.logging.processor.model.MessageInterface;
+
+/**
+ * Generates a factory for the implementations of a message interface. The factory resolves the implementation for a
+ * locale from the translations known when the interface is processed and invokes it directly, rather than looking the
+ * implementation up by name as {@link org.jboss.logging.Messages#getBundle(Class, Locale)} and
+ * {@link Logger#getMessageLogger(Class, String, Locale)} do.
+ * <p>
+ * The reflection configuration GraalVM native-image requires for the implementations to be looked up by name is
+ * generated with the factory.
+ * </p>
+ */
+public final class FactoryClassModel {
+
+    private static final String IMPLEMENTATION_METHOD_NAME = "_implementation";
+
+    private static final String DEFAULT_LOCALE_METHOD_NAME = "_defaultLocale";
+
+    private final ProcessingEnvironment processingEnv;
+    private final MessageInterface messageInterface;
+    private final Set<String> translationSuffixes;
+    private final boolean bundle;
+    private final String implementationClassName;
+    private final JSources sources;
+    private final JSourceFile sourceFile;
+    private final JClassDef classDef;
+
+    /**
+     * Creates a new factory class model.
+     *
+     * @param processingEnv       the processing environment
+     * @param messageInterface    the message interface the factory creates implementations for
+     * @param translationSuffixes the locale suffixes of the translation implementations generated
+     */
+    FactoryClassModel(final ProcessingEnvironment processingEnv, final MessageInterface messageInterface,
+            final Set<String> translationSuffixes) {
+        this.processingEnv = processingEnv;
+        this.messageInterface = messageInterface;
+        this.translationSuffixes = translationSuffixes;
+        bundle = messageInterface.isAnnotatedWith(MessageBundle.class);
+        implementationClassName = ClassModelHelper.implementationClassName(messageInterface);
+        sources = JDeparser.createSources(
+                new ClassModel.JFilerOriginatingElementAware(
+                        processingEnv.getElementUtils().getTypeElement(messageInterface.name()),
+                        processingEnv.getFiler()),
+                new FormatPreferences(new Properties()));
+        final String className = ClassModelHelper.factoryClassName(messageInterface);
+        sourceFile = sources.createSourceFile(messageInterface.packageName(), className);
+        classDef = sourceFile._class(JMod.PUBLIC | FINAL, className);
+    }
+
+    /**
+     * Writes the generated factory and the native-image configuration.
+     *
+     * @throws IOException if a file could not be written
+     */
+    public void generateAndWrite() throws IOException {
+        generateModel();
+        sources.writeSources();
+        JDeparser.dropCaches();
+        writeReflectConfig();
+    }
+
+    private void generateModel() {
+        final TypeElement generatedAnnotation = messageInterface.generatedAnnotation();
+        if (generatedAnnotation != null) {
+            final JType generatedType = typeOf(generatedAnnotation.asType());
+            sourceFile._import(generatedType);
+            classDef.annotate(generatedType)
+                    .value("value", getClass().getName())
+                    .value("date", JExprs.str(ClassModelHelper.generatedDateValue()));
+        }
+        classDef.docComment().text("Warning this class consists of generated code.");
+        classDef.constructor(JMod.PRIVATE);
+
+        final JType interfaceType = typeOf(messageInterface.asType());
+        final JType localeType = $t(Locale.class);
+        final JType loggerType = $t(Logger.class);
+        sourceFile._import(interfaceType);
+        sourceFile._import(localeType);
+        sourceFile._import(loggerType);
+
+        // Maps the locale suffix to the implementation
+        final JMethodDef implementationMethod = classDef.method(JMod.PRIVATE | JMod.STATIC, interfaceType,
+                IMPLEMENTATION_METHOD_NAME);
+        final JParamDeclaration suffix = implementationMethod.param(FINAL, String.class, "suffix");
+        final JParamDeclaration implementationLogger = bundle ? null
+                : implementationMethod.param(FINAL, loggerType, "logger");
+        final JSwitch suffixSwitch = implementationMethod.body()._switch($v(suffix));
+        for (String translationSuffix : translationSuffixes) {
+            // The locale suffix includes a leading underscore
+            suffixSwitch._case(JExprs.str(translationSuffix.substring(1))).block(JBlock.Braces.REQUIRED)
+                    ._return(createImplementation(implementationClassName + translationSuffix, implementationLogger));
+        }
+        suffixSwitch._default().block(JBlock.Braces.REQUIRED)._return(JExpr.NULL);
+
+        createDefaultLocaleMethod(localeType);
+
+        // Create the public factory methods
+        final String methodName = bundle ? "getBundle" : "getMessageLogger";
+        final JMethodDef defaultMethod = classDef.method(JMod.PUBLIC | JMod.STATIC, interfaceType, methodName);
+        final JMethodDef method = classDef.method(JMod.PUBLIC | JMod.STATIC, interfaceType, methodName);
+        final JCall defaultCall = JExprs.call(methodName);
+        final JExpr logger;
+        if (bundle) {
+            defaultMethod.docComment().text("Returns the message bundle for the default locale.");
+            method.docComment().text("Returns the message bundle for the locale.");
+            logger = null;
+        } else {
+            defaultMethod.docComment().text("Returns the message logger for the category and the default locale.");
+            method.docComment().text("Returns the message logger for the category and locale.");
+            final JParamDeclaration category = method.param(FINAL, String.class, "category");
+            defaultCall.arg($v(defaultMethod.param(FINAL, String.class, "category")));
+            logger = loggerType.call("getLogger").arg($v(category));
+        }
+        defaultMethod.body()._return(defaultCall.arg(JExprs.call(DEFAULT_LOCALE_METHOD_NAME)));
+
+        // Resolve the implementation in the same order the implementations are looked up by name
+        final JParamDeclaration locale = method.param(FINAL, localeType, "locale");
+        final JBlock body = method.body();
+        final JExpr language = $v(body.var(FINAL, String.class, "language", $v(locale).call("getLanguage")));
+        final JExpr country = $v(body.var(FINAL, String.class, "country", $v(locale).call("getCountry")));
+        final JExpr variant = $v(body.var(FINAL, String.class, "variant", $v(locale).call("getVariant")));
+        final JExpr loggerVar = logger == null ? null : $v(body.var(FINAL, loggerType, "logger", logger));
+        final JVarDeclaration result = body.var(0, interfaceType, "result", JExpr.NULL);
+        final JExpr separator = JExprs.str("_");
+        body._if(variant.call("isEmpty").not())
+                .block(JBlock.Braces.REQUIRED)
+                .assign($v(result), lookup(language.plus(separator).plus(country).plus(separator).plus(variant),
+                        loggerVar));
+        body._if($v(result).eq(JExpr.NULL).and(country.call("isEmpty").not()))
+                .block(JBlock.Braces.REQUIRED)
+                .assign($v(result), lookup(language.plus(separator).plus(country), loggerVar));
+        body._if($v(result).eq(JExpr.NULL).and(language.call("isEmpty").not()))
+                .block(JBlock.Braces.REQUIRED)
+                .assign($v(result), lookup(language, loggerVar));
+        body._return($v(result).eq(JExpr.NULL).cond(createImplementation(implementationClassName, loggerVar),
+                $v(result)));
+    }
+
+    private JCall lookup(final JExpr suffix, final JExpr logger) {
+        final JCall call = JExprs.call(IMPLEMENTATION_METHOD_NAME).arg(suffix);
+        if (logger != null) {
+            call.arg(logger);
+        }
+        return call;
+    }
+
+    private JExpr createImplementation(final String className, final JParamDeclaration logger) {
+        return createImplementation(className, logger == null ? null : $v(logger));
+    }
+
+    private JExpr createImplementation(final String className, final JExpr logger) {
+        final JType type = $t(className);
+        if (bundle) {
+            return type.$v("INSTANCE");
+        }
+        return type._new().arg(logger);
+    }
+
+    /**
+     * Creates the method which determines the default locale the same way the implementations are looked up by name.
+     *
+     * @param localeType the locale type
+     *
+     * @return the method
+     */
+    private JMethodDef createDefaultLocaleMethod(final JType localeType) {
+        final JMethodDef method = classDef.method(JMod.PRIVATE | JMod.STATIC, localeType, DEFAULT_LOCALE_METHOD_NAME);
+        final JBlock body = method.body();
+        final JExpr value = $v(body.var(FINAL, String.class, "value",
+                $t(System.class).call("getProperty").arg(JExprs.str("org.jboss.logging.locale"))));
+        body._if(value.eq(JExpr.NULL).or(value.call("isEmpty")))
+                .block(JBlock.Braces.REQUIRED)
+                ._return(localeType.call("getDefault"));
+        body._return(localeType.call("forLanguageTag").arg(value));
+        return method;
+    }
+
+    /**
+     * Writes the reflection configuration GraalVM native-image requires to look up the implementations by name.
+     *
+     * @throws IOException if the file could not be written
+     */
+    private void writeReflectConfig() throws IOException {
+        final List<String> classNames = new ArrayList<>();
+        classNames.add(implementationClassName);
+        for (String translationSuffix : translationSuffixes) {
+            classNames.add(implementationClassName + translationSuffix);
+        }
+        final StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < classNames.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(System.lineSeparator())
+                    .append("  {")
+                    .append(System.lineSeparator())
+                    .append("    \"name\": \"").append(messageInterface.packageName()).append('.')
+                    .append(classNames.get(i)).append("\",")
+                    .append(System.lineSeparator());
+            if (bundle) {
+                json.append("    \"fields\": [{ \"name\": \"INSTANCE\" }]");
+            } else {
+                json.append("    \"methods\": [{ \"name\": \"<init>\", \"parameterTypes\": [\"")
+                        .append(Logger.class.getName())
+                        .append("\"] }]");
+            }
+            json.append(System.lineSeparator()).append("  }");
+        }
+        json.append(System.lineSeparator()).append(']').append(System.lineSeparator());
+
+        final FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                "META-INF/native-image/" + messageInterface.name() + "/reflect-config.json",
+                processingEnv.getElementUtils().getTypeElement(messageInterface.name()));
+        try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+            writer.write(json.toString());
+        }
+    }
+}
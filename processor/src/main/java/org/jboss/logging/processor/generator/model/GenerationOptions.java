@@ -0,0 +1,335 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generator.model;
+
+import java.util.Map;
+
+import javax.annotation.processing.ProcessingEnvironment;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Processor options which change the code generated for the implementations and translations.
+ */
+public final class GenerationOptions {
+
+    /**
+     * If set to {@code true} {@link org.jboss.logging.annotations.Message.Format#PRINTF printf} style messages are
+     * parsed at compile time and a method which renders the message directly into a {@link StringBuilder} is generated.
+     */
+    public static final String PRECOMPILE_FORMATS = "org.jboss.logging.tools.precompileFormats";
+
+    /**
+     * If set to {@code true} a note is reported for each log method which still allocates when the level is enabled,
+     * for example the {@code Object[]} passed to the logger for more than three format arguments.
+     */
+    public static final String REPORT_ALLOCATIONS = "org.jboss.logging.tools.reportAllocations";
+
+    /**
+     * If set to {@code true} every log method is wrapped in a {@code isEnabled()} check, not only the methods which
+     * compute or allocate values for their parameters.
+     */
+    public static final String ALWAYS_CHECK_ENABLED = "org.jboss.logging.tools.alwaysCheckEnabled";
+
+    /**
+     * If set to {@code true} log methods pass an object which formats the message when it is first requested, rather
+     * than a format and its arguments, to the logger. Exceptions returned from message methods format their message
+     * when {@link Throwable#getMessage()} is first invoked.
+     */
+    public static final String DEFER_FORMATTING = "org.jboss.logging.tools.deferFormatting";
+
+    /**
+     * If set to {@code true} the precompiled formats render into buffers which are reused rather than a new
+     * {@link StringBuilder} for each message. Implies {@link #PRECOMPILE_FORMATS}.
+     */
+    public static final String REUSE_BUFFERS = "org.jboss.logging.tools.reuseBuffers";
+
+    /**
+     * If set to {@code true} the messages are looked up from a table indexed by message method. Translation
+     * implementations only replace the table, with untranslated messages resolved when the table is generated, and
+     * extend the implementation directly rather than the translation for the enclosing locale. Messages are not
+     * {@linkplain #PRECOMPILE_FORMATS precompiled} when tables are used.
+     */
+    public static final String TRANSLATION_TABLES = "org.jboss.logging.tools.translationTables";
+
+    /**
+     * If set to {@code true} the messages are packed into a UTF-8 resource, with an offset index, which is read when a
+     * message is first requested rather than held as string constants. Implies {@link #TRANSLATION_TABLES}.
+     */
+    public static final String PACKED_CATALOG = "org.jboss.logging.tools.packedCatalog";
+
+    /**
+     * If set to {@code true} a factory which creates the implementation for a locale without looking it up by name is
+     * generated for each message interface, along with the reflection configuration GraalVM native-image requires to
+     * look up the implementations by name.
+     */
+    public static final String GENERATE_FACTORIES = "org.jboss.logging.tools.generateFactories";
+
+    /**
+     * The name of the lowest {@linkplain Logger.Level level} logged. Log methods with a lower level, for example
+     * {@code DEBUG} and {@code TRACE} if set to {@code INFO}, are generated with an empty body.
+     */
+    public static final String MINIMUM_LEVEL = "org.jboss.logging.tools.minimumLevel";
+
+    /**
+     * If set to {@code true} the level of each log message can be overridden at runtime through static methods of the
+     * logger implementation and an MXBean.
+     */
+    public static final String LEVEL_OVERRIDES = "org.jboss.logging.tools.levelOverrides";
+
+    /**
+     * If set to {@code true} each message method counts its calls, the calls while the level is enabled, the messages
+     * suppressed and the exceptions created. The statistics are read through static methods of the implementation and
+     * an MXBean.
+     */
+    public static final String MESSAGE_STATISTICS = "org.jboss.logging.tools.messageStatistics";
+
+    /**
+     * If set to {@code true} a JFR event type is generated for each log method. The log method commits an event with
+     * the parameters of the method when the event is enabled.
+     */
+    public static final String JFR_EVENTS = "org.jboss.logging.tools.jfrEvents";
+
+    /**
+     * If set to {@code true} log methods pass a map of the message id, the unformatted message and the format
+     * parameters by name to the logger as an additional, trailing, format parameter. Messages are not
+     * {@linkplain #PRECOMPILE_FORMATS precompiled} for log methods when structured parameters are passed.
+     */
+    public static final String STRUCTURED_PARAMETERS = "org.jboss.logging.tools.structuredParameters";
+
+    /**
+     * If set to {@code true} log methods pass a map of the project code and the numeric message id to the logger as an
+     * additional, trailing, format parameter. If set to {@value #UNPREFIXED} the id is also not prefixed to the
+     * messages of log methods.
+     */
+    public static final String STRUCTURED_MESSAGE_IDS = "org.jboss.logging.tools.structuredMessageIds";
+
+    /**
+     * The value of {@link #STRUCTURED_MESSAGE_IDS} which removes the id prefix from the messages of log methods.
+     */
+    public static final String UNPREFIXED = "unprefixed";
+
+    private final boolean precompileFormats;
+    private final boolean reportAllocations;
+    private final boolean alwaysCheckEnabled;
+    private final boolean deferFormatting;
+    private final boolean reuseBuffers;
+    private final boolean translationTables;
+    private final boolean packedCatalog;
+    private final Logger.Level minimumLevel;
+    private final boolean levelOverrides;
+    private final boolean messageStatistics;
+    private final boolean jfrEvents;
+    private final boolean structuredParameters;
+    private final boolean structuredMessageIds;
+    private final boolean unprefixedMessageIds;
+
+    private GenerationOptions(final Map<String, String> options) {
+        precompileFormats = Boolean.parseBoolean(options.get(PRECOMPILE_FORMATS));
+        reportAllocations = Boolean.parseBoolean(options.get(REPORT_ALLOCATIONS));
+        alwaysCheckEnabled = Boolean.parseBoolean(options.get(ALWAYS_CHECK_ENABLED));
+        deferFormatting = Boolean.parseBoolean(options.get(DEFER_FORMATTING));
+        reuseBuffers = Boolean.parseBoolean(options.get(REUSE_BUFFERS));
+        translationTables = Boolean.parseBoolean(options.get(TRANSLATION_TABLES));
+        packedCatalog = Boolean.parseBoolean(options.get(PACKED_CATALOG));
+        final String level = options.get(MINIMUM_LEVEL);
+        minimumLevel = isValidLevel(level) ? Logger.Level.valueOf(level) : null;
+        levelOverrides = Boolean.parseBoolean(options.get(LEVEL_OVERRIDES));
+        messageStatistics = Boolean.parseBoolean(options.get(MESSAGE_STATISTICS));
+        jfrEvents = Boolean.parseBoolean(options.get(JFR_EVENTS));
+        structuredParameters = Boolean.parseBoolean(options.get(STRUCTURED_PARAMETERS));
+        final String messageIds = options.get(STRUCTURED_MESSAGE_IDS);
+        unprefixedMessageIds = UNPREFIXED.equalsIgnoreCase(messageIds);
+        structuredMessageIds = unprefixedMessageIds || Boolean.parseBoolean(messageIds);
+    }
+
+    /**
+     * Checks whether the value is the name of a {@linkplain Logger.Level level} which can be used for the
+     * {@link #MINIMUM_LEVEL} option.
+     *
+     * @param value the value to check
+     *
+     * @return {@code true} if the value is the name of a level, otherwise {@code false}
+     */
+    public static boolean isValidLevel(final String value) {
+        if (value != null) {
+            for (Logger.Level level : Logger.Level.values()) {
+                if (level.name().equals(value)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the generation options from the processing environment.
+     *
+     * @param processingEnv the processing environment
+     *
+     * @return the generation options
+     */
+    static GenerationOptions of(final ProcessingEnvironment processingEnv) {
+        return new GenerationOptions(processingEnv.getOptions());
+    }
+
+    /**
+     * Indicates whether {@link org.jboss.logging.annotations.Message.Format#PRINTF printf} style messages should be
+     * compiled into format plans.
+     *
+     * @return {@code true} if format plans should be generated, otherwise {@code false}
+     */
+    boolean precompileFormats() {
+        return precompileFormats || reuseBuffers;
+    }
+
+    /**
+     * Indicates whether log methods which allocate when the level is enabled should be reported.
+     *
+     * @return {@code true} if allocations should be reported, otherwise {@code false}
+     */
+    boolean reportAllocations() {
+        return reportAllocations;
+    }
+
+    /**
+     * Indicates whether every log method should be wrapped in a {@code isEnabled()} check.
+     *
+     * @return {@code true} if every log method should check the level first, otherwise {@code false}
+     */
+    boolean alwaysCheckEnabled() {
+        return alwaysCheckEnabled;
+    }
+
+    /**
+     * Indicates whether log methods and exception messages should defer formatting the message until it is requested.
+     *
+     * @return {@code true} if the formatting should be deferred, otherwise {@code false}
+     */
+    boolean deferFormatting() {
+        return deferFormatting;
+    }
+
+    /**
+     * Indicates whether the precompiled formats should render into reusable buffers.
+     *
+     * @return {@code true} if the buffers should be reused, otherwise {@code false}
+     */
+    boolean reuseBuffers() {
+        return reuseBuffers;
+    }
+
+    /**
+     * Indicates whether messages should be looked up from a table which translations replace.
+     *
+     * @return {@code true} if message tables should be generated, otherwise {@code false}
+     */
+    boolean translationTables() {
+        return translationTables || packedCatalog;
+    }
+
+    /**
+     * Indicates whether the message tables should be packed into a resource read when a message is first requested.
+     *
+     * @return {@code true} if the messages should be packed into a resource, otherwise {@code false}
+     */
+    boolean packedCatalog() {
+        return packedCatalog;
+    }
+
+    /**
+     * Indicates whether log methods with the level are generated with an empty body as the level is lower than the
+     * {@linkplain #MINIMUM_LEVEL minimum level}.
+     *
+     * @param levelName the name of the level of the log method
+     *
+     * @return {@code true} if the log method should be generated with an empty body, otherwise {@code false}
+     */
+    boolean isElided(final String levelName) {
+        // Levels are declared from the highest to the lowest
+        return minimumLevel != null && Logger.Level.valueOf(levelName).ordinal() > minimumLevel.ordinal();
+    }
+
+    /**
+     * Indicates whether the level of log messages can be overridden at runtime.
+     *
+     * @return {@code true} if a level override table should be generated, otherwise {@code false}
+     */
+    boolean levelOverrides() {
+        return levelOverrides;
+    }
+
+    /**
+     * Indicates whether the message methods should keep statistics of their use.
+     *
+     * @return {@code true} if statistics should be generated, otherwise {@code false}
+     */
+    boolean messageStatistics() {
+        return messageStatistics;
+    }
+
+    /**
+     * Indicates whether a JFR event type should be generated for each log method.
+     *
+     * @return {@code true} if JFR events should be generated, otherwise {@code false}
+     */
+    boolean jfrEvents() {
+        return jfrEvents;
+    }
+
+    /**
+     * Indicates whether log methods should pass the message id and the format parameters by name to the logger.
+     *
+     * @return {@code true} if structured parameters should be passed, otherwise {@code false}
+     */
+    boolean structuredParameters() {
+        return structuredParameters;
+    }
+
+    /**
+     * Indicates whether log methods should pass the message id to the logger separately from the message.
+     *
+     * @return {@code true} if the project code and id should be passed, otherwise {@code false}
+     */
+    boolean structuredMessageIds() {
+        return structuredMessageIds;
+    }
+
+    /**
+     * Indicates whether the id prefix should be removed from the messages of log methods. The id is only removed if it
+     * is passed to the logger separately.
+     *
+     * @return {@code true} if the messages of log methods should not be prefixed with the id, otherwise {@code false}
+     */
+    boolean unprefixedMessageIds() {
+        return unprefixedMessageIds;
+    }
+
+    /**
+     * Indicates whether log methods pass a structured message, with either the
+     * {@linkplain #structuredParameters() parameters} or the {@linkplain #structuredMessageIds() message id}, to the
+     * logger.
+     *
+     * @return {@code true} if a structured message should be passed, otherwise {@code false}
+     */
+    boolean structuredMessages() {
+        return structuredParameters || structuredMessageIds;
+    }
+}
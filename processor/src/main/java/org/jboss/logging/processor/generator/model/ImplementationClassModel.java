@@ -25,16 +25,23 @@ import static org.jboss.jdeparser.JMod.FINAL;
 import static org.jboss.jdeparser.JTypes.$t;
 import static org.jboss.logging.processor.generator.model.ClassModelHelper.implementationClassName;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.lang.management.ManagementFactory;
 import java.text.FieldPosition;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
@@ -42,12 +49,18 @@ import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.ArrayType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.SimpleAnnotationValueVisitor8;
 import javax.lang.model.util.Types;
+import javax.management.JMException;
+import javax.management.ObjectName;
 
+import org.jboss.jdeparser.JArrayExpr;
 import org.jboss.jdeparser.JAssignableExpr;
 import org.jboss.jdeparser.JBlock;
 import org.jboss.jdeparser.JBlock.Braces;
@@ -55,6 +68,7 @@ import org.jboss.jdeparser.JCall;
 import org.jboss.jdeparser.JClassDef;
 import org.jboss.jdeparser.JExpr;
 import org.jboss.jdeparser.JExprs;
+import org.jboss.jdeparser.JFor;
 import org.jboss.jdeparser.JIf;
 import org.jboss.jdeparser.JLambda;
 import org.jboss.jdeparser.JMethodDef;
@@ -65,15 +79,21 @@ import org.jboss.jdeparser.JTypes;
 import org.jboss.jdeparser.JVarDeclaration;
 import org.jboss.logging.annotations.Field;
 import org.jboss.logging.annotations.Fields;
+import org.jboss.logging.annotations.Message.Format;
+import org.jboss.logging.annotations.NoStackTrace;
 import org.jboss.logging.annotations.Pos;
+import org.jboss.logging.annotations.Preallocated;
 import org.jboss.logging.annotations.Producer;
 import org.jboss.logging.annotations.Properties;
 import org.jboss.logging.annotations.Property;
+import org.jboss.logging.annotations.Snapshot;
+import org.jboss.logging.annotations.Snapshot.Policy;
 import org.jboss.logging.annotations.Suppressed;
 import org.jboss.logging.annotations.Transform;
 import org.jboss.logging.annotations.Transform.TransformType;
 import org.jboss.logging.annotations.TransformException;
 import org.jboss.logging.processor.apt.ProcessingException;
+import org.jboss.logging.processor.model.LoggerMessageMethod;
 import org.jboss.logging.processor.model.MessageInterface;
 import org.jboss.logging.processor.model.MessageMethod;
 import org.jboss.logging.processor.model.Parameter;
@@ -94,9 +114,27 @@ import org.jboss.logging.processor.util.ElementHelper;
  */
 abstract class ImplementationClassModel extends ClassModel {
 
+    // The counters kept for each message when statistics are generated
+    static final int STATISTIC_CALLS = 0;
+    static final int STATISTIC_ENABLED = 1;
+    static final int STATISTIC_SUPPRESSED = 2;
+    static final int STATISTIC_EXCEPTIONS = 3;
+    private static final int STATISTIC_COUNT = 4;
+    private static final String STATISTICS_FIELD_NAME = "_STATISTICS";
+    private static final String STATISTICS_KEYS_FIELD_NAME = "_STATISTICS_KEYS";
+    private static final String STATISTICS_INDEX_METHOD_NAME = "_statisticsIndex";
+    private static final String MESSAGE_STATISTICS_MXBEAN_NAME = "MessageStatisticsMXBean";
+    private static final String NO_STACK_TRACE_SUFFIX = "_$NoStackTrace";
+    private static final String DEFERRED_MESSAGE_SUFFIX = "_$DeferredMessage";
+
+    private final Map<String, Integer> statisticsIndexes = new LinkedHashMap<>();
     private final AtomicBoolean messageFormatMethodGenerated = new AtomicBoolean(false);
     private final AtomicBoolean copyStackTraceMethodGenerated = new AtomicBoolean(false);
+    private final Map<String, ExceptionSubclass> exceptionSubclasses = new HashMap<>();
+    private final Set<String> exceptionSubclassNames = new HashSet<>();
     private final TypeMirror stringType;
+    private final TypeMirror throwableType;
+    private final TypeMirror booleanType;
 
     /**
      * Class constructor.
@@ -107,6 +145,8 @@ abstract class ImplementationClassModel extends ClassModel {
     ImplementationClassModel(final ProcessingEnvironment processingEnv, final MessageInterface messageInterface) {
         super(processingEnv, messageInterface, implementationClassName(messageInterface), null);
         stringType = ElementHelper.toType(processingEnv, String.class);
+        throwableType = ElementHelper.toType(processingEnv, Throwable.class);
+        booleanType = processingEnv.getTypeUtils().getPrimitiveType(TypeKind.BOOLEAN);
     }
 
     /**
@@ -132,6 +172,9 @@ abstract class ImplementationClassModel extends ClassModel {
 
         // Create the body of the method and add the text
         final JBlock body = method.body();
+        if (options.messageStatistics()) {
+            body.add(incrementStatistic(messageMethod, STATISTIC_CALLS));
+        }
         final MessageMethod.Message message = messageMethod.message();
         final JCall formatterCall;
 
@@ -139,15 +182,21 @@ abstract class ImplementationClassModel extends ClassModel {
             case MESSAGE_FORMAT: {
                 if (messageMethod.formatParameterCount() > 0) {
                     formatterCall = getFormatMethod(classDef, localeGetter);
-                    formatterCall.arg(JExprs.call(messageMethod.messageMethodName()));
+                    formatterCall.arg(JExprs.str(messageMethod.messageMethodName()))
+                            .arg(JExprs.call(messageMethod.messageMethodName()));
                 } else {
                     formatterCall = JExprs.call(messageMethod.messageMethodName());
                 }
                 break;
             }
             case PRINTF: {
-                final JType formatter = $t(String.class);
-                formatterCall = formatter.call("format").arg(localeGetter).arg(JExprs.call(messageMethod.messageMethodName()));
+                if (isPrecompiledFormat(messageMethod)) {
+                    formatterCall = JExprs.call(ClassModelHelper.formatMethodName(messageMethod)).arg(localeGetter);
+                } else {
+                    final JType formatter = $t(String.class);
+                    formatterCall = formatter.call("format").arg(localeGetter)
+                            .arg(JExprs.call(messageMethod.messageMethodName()));
+                }
                 break;
             }
             default:
@@ -167,6 +216,7 @@ abstract class ImplementationClassModel extends ClassModel {
             parameterNames.add(param.name());
         }
         final List<JExpr> args = new ArrayList<>();
+        final boolean deferredMessage = isDeferredExceptionMessage(messageMethod);
         // Create the parameters
         for (Parameter param : allParameters) {
             final JParamDeclaration var = addMethodParameter(method, param);
@@ -231,6 +281,11 @@ abstract class ImplementationClassModel extends ClassModel {
                                 final JType arrays = $t(Arrays.class);
                                 sourceFile._import(arrays);
                                 args.add(arrays.call("toString").arg($v(var)));
+                            } else if (deferredMessage && param.isAnnotatedWith(Snapshot.class)
+                                    && param.getAnnotation(Snapshot.class).value() == Policy.TO_STRING) {
+                                // The value is converted before the exception is returned
+                                args.add($v(body.var(FINAL, String.class, getUniqueName(parameterNames, param, "Snapshot"),
+                                        $t(String.class).call("valueOf").arg($v(var)))));
                             } else {
                                 args.add($v(var));
                             }
@@ -254,13 +309,22 @@ abstract class ImplementationClassModel extends ClassModel {
         final boolean isSupplier = messageMethod.returnType().isSubtypeOf(Supplier.class);
         // Setup the return type
         final JExpr result;
-        if (messageMethod.returnType().isThrowable()) {
+        if (messageMethod.isAnnotatedWith(Preallocated.class)) {
+            final JExpr instance = $v(createPreallocatedField(classDef, messageMethod, formatterCall));
+            result = isSupplier ? JExprs.lambda().body(instance) : instance;
+        } else if (messageMethod.returnType().isThrowable()) {
             if (isSupplier) {
                 final JLambda lambda = JExprs.lambda();
                 final JBlock lambdaBody = lambda.body();
+                if (options.messageStatistics()) {
+                    lambdaBody.add(incrementStatistic(messageMethod, STATISTIC_EXCEPTIONS));
+                }
                 lambdaBody._return(createReturnType(classDef, messageMethod, lambdaBody, formatterCall, fields, properties));
                 result = lambda;
             } else {
+                if (options.messageStatistics()) {
+                    body.add(incrementStatistic(messageMethod, STATISTIC_EXCEPTIONS));
+                }
                 result = createReturnType(classDef, messageMethod, body, formatterCall, fields, properties);
             }
         } else {
@@ -356,6 +420,153 @@ abstract class ImplementationClassModel extends ClassModel {
         return result;
     }
 
+    /**
+     * Returns the key a message is managed with at runtime. The key is the message id, or the name of the method if
+     * the message has no id.
+     *
+     * @param messageMethod the message method
+     *
+     * @return the key of the message
+     */
+    String messageKey(final MessageMethod messageMethod) {
+        final String messageId = messageId(messageMethod);
+        return messageId == null ? messageMethod.name() : messageId;
+    }
+
+    /**
+     * Creates the statement incrementing a statistic of the message. Overloaded methods with the same message id
+     * share the statistics.
+     *
+     * @param messageMethod the message method
+     * @param statistic     the statistic to increment
+     *
+     * @return the statement incrementing the statistic
+     */
+    JExpr incrementStatistic(final MessageMethod messageMethod, final int statistic) {
+        final int index = statisticsIndexes.computeIfAbsent(messageKey(messageMethod), key -> statisticsIndexes.size());
+        return $v(STATISTICS_FIELD_NAME).idx(JExprs.decimal(index * STATISTIC_COUNT + statistic)).call("increment");
+    }
+
+    /**
+     * Adds the statistics of the messages and the methods to read them. Nothing is added if no statistics are kept.
+     * <p>
+     * Each statistic is a {@link LongAdder} so concurrent increments do not contend. The statistics of a message are
+     * stored next to each other in a single array.
+     * </p>
+     *
+     * @param classDef the class definition to add the fields and methods to
+     */
+    void addStatistics(final JClassDef classDef) {
+        if (statisticsIndexes.isEmpty()) {
+            return;
+        }
+        final JType longAdder = $t(LongAdder.class);
+        sourceFile._import(longAdder);
+        final JExpr statistics = $v(classDef.field(JMod.PRIVATE | JMod.STATIC | FINAL, longAdder.array(),
+                STATISTICS_FIELD_NAME, longAdder.array()._new(JExprs.decimal(statisticsIndexes.size() * STATISTIC_COUNT))));
+        final JArrayExpr keysArray = JExprs.array();
+        statisticsIndexes.keySet().forEach(key -> keysArray.add(JExprs.str(key)));
+        final JExpr keys = $v(classDef.field(JMod.PRIVATE | JMod.STATIC | FINAL, $t(String.class).array(),
+                STATISTICS_KEYS_FIELD_NAME, keysArray));
+        JBlock body = classDef.staticInit();
+        JFor loop = body._for();
+        JAssignableExpr i = $v(loop.init(0, JType.INT, "i", JExprs.decimal(0)).name());
+        loop.test(i.lt(statistics.field("length"))).update(i.postInc());
+        loop.block(Braces.REQUIRED).add(statistics.idx(i).assign(longAdder._new()));
+
+        JMethodDef method = classDef.method(JMod.PRIVATE | JMod.STATIC, JType.INT, STATISTICS_INDEX_METHOD_NAME);
+        JExpr key = $v(method.param(FINAL, String.class, "key"));
+        body = method.body();
+        loop = body._for();
+        i = $v(loop.init(0, JType.INT, "i", JExprs.decimal(0)).name());
+        loop.test(i.lt(keys.field("length"))).update(i.postInc());
+        loop.block(Braces.REQUIRED)._if(keys.idx(i).call("equals").arg(key)).block(Braces.REQUIRED)
+                ._return(i.times(JExprs.decimal(STATISTIC_COUNT)));
+        body._throw($t(IllegalArgumentException.class)._new().arg(JExprs.str("No message found for ").plus(key)));
+
+        // The public methods are shared with the MXBean
+        method = classDef.method(JMod.PUBLIC | JMod.STATIC, $t(String.class).array(), "getStatisticsKeys");
+        method.docComment().text("Returns the message ids, or method names of messages without an id, statistics are "
+                + "kept for.");
+        method.body()._return(keys.call("clone"));
+
+        method = classDef.method(JMod.PUBLIC | JMod.STATIC, JType.LONG.array(), "getStatistics");
+        method.docComment().text("Returns the number of calls, calls while the level was enabled, messages suppressed "
+                + "and exceptions created for the message.");
+        key = $v(method.param(FINAL, String.class, "key"));
+        body = method.body();
+        final JExpr index = $v(body.var(FINAL, JType.INT, "index", JExprs.call(STATISTICS_INDEX_METHOD_NAME).arg(key)));
+        final JArrayExpr result = JType.LONG.array()._newArray();
+        for (int statistic = 0; statistic < STATISTIC_COUNT; statistic++) {
+            final JExpr statisticIndex = statistic == 0 ? index : index.plus(JExprs.decimal(statistic));
+            result.add(statistics.idx(statisticIndex).call("sum"));
+        }
+        body._return(result);
+
+        method = classDef.method(JMod.PUBLIC | JMod.STATIC, JType.VOID, "resetStatistics");
+        method.docComment().text("Resets the statistics of all messages.");
+        method.body().forEach(FINAL, longAdder, "statistic", statistics).block(Braces.REQUIRED)
+                .add($v("statistic").call("reset"));
+
+        addMXBean(classDef, MESSAGE_STATISTICS_MXBEAN_NAME, "Provides the statistics of the messages.",
+                "registerStatistics",
+                new MXBeanMethod($t(String.class).array(), "getStatisticsKeys"),
+                new MXBeanMethod(JType.LONG.array(), "getStatistics", "key"),
+                new MXBeanMethod(JType.VOID, "resetStatistics"));
+    }
+
+    /**
+     * Adds a public MXBean interface, a private implementation delegating to the public static methods of the same
+     * names and a public static method registering the MXBean with the platform MBean server. The MXBean is
+     * registered with a name of {@code org.jboss.logging.tools:type=<type>,name=<interface>}, where the type is the
+     * name of the MXBean interface without the {@code MXBean} suffix.
+     *
+     * @param classDef           the class definition to add the types and method to
+     * @param mxBeanName         the name of the MXBean interface
+     * @param description        the description of the MXBean interface
+     * @param registerMethodName the name of the method registering the MXBean
+     * @param methods            the static methods the MXBean delegates to
+     */
+    void addMXBean(final JClassDef classDef, final String mxBeanName, final String description,
+            final String registerMethodName, final MXBeanMethod... methods) {
+        final String type = mxBeanName.substring(0, mxBeanName.length() - "MXBean".length());
+        final JClassDef mxBeanDef = classDef._interface(JMod.PUBLIC | JMod.STATIC, mxBeanName);
+        mxBeanDef.docComment().text(description);
+        final JClassDef mxBeanImplDef = classDef._class(JMod.PRIVATE | JMod.STATIC | FINAL, type);
+        mxBeanImplDef._implements($t(mxBeanDef));
+        final JType implementationType = $t(classDef);
+        for (MXBeanMethod mxBeanMethod : methods) {
+            final JMethodDef method = mxBeanDef.method(0, mxBeanMethod.returnType, mxBeanMethod.name);
+            final JMethodDef implMethod = mxBeanImplDef.method(JMod.PUBLIC, mxBeanMethod.returnType, mxBeanMethod.name);
+            implMethod.annotate(Override.class);
+            final JCall call = implementationType.call(mxBeanMethod.name);
+            for (String parameterName : mxBeanMethod.parameterNames) {
+                method.param(FINAL, String.class, parameterName);
+                call.arg($v(implMethod.param(FINAL, String.class, parameterName)));
+            }
+            if (mxBeanMethod.returnType == JType.VOID) {
+                implMethod.body().add(call);
+            } else {
+                implMethod.body()._return(call);
+            }
+        }
+
+        final String name = "org.jboss.logging.tools:type=" + type + ",name=" + ObjectName.quote(messageInterface().name());
+        final JType objectName = $t(ObjectName.class);
+        final JType managementFactory = $t(ManagementFactory.class);
+        sourceFile._import(objectName);
+        sourceFile._import(managementFactory);
+        sourceFile._import(JMException.class);
+        final JMethodDef method = classDef.method(JMod.PUBLIC | JMod.STATIC, objectName, registerMethodName);
+        method.docComment().text("Registers the " + mxBeanName + " with the platform MBean server with the name "
+                + name + ".");
+        method._throws(JMException.class);
+        method.body()._return(managementFactory.call("getPlatformMBeanServer").call("registerMBean")
+                .arg($t(mxBeanImplDef)._new())
+                .arg(objectName._new().arg(JExprs.str(name)))
+                .call("getObjectName"));
+    }
+
     private String getUniqueName(final List<String> parameterNames, final Parameter parameter, final String suffix) {
         String result = (suffix == null ? parameter.name() : parameter.name().concat(suffix));
         if (parameterNames.contains(result)) {
@@ -406,7 +617,7 @@ abstract class ImplementationClassModel extends ClassModel {
             sourceFile._import(type);
             final Collection<ThrowableType> suggestions = returnType.suggestions();
             if (teParameter == null || suggestions.isEmpty()) {
-                resultField = constructReturnType(messageMethod, returnType, format, body, null);
+                resultField = constructReturnType(classDef, messageMethod, returnType, format, body, null);
             } else {
                 resultField = body.var(FINAL, type, "result");
                 JIf ifBody = null;
@@ -416,9 +627,9 @@ abstract class ImplementationClassModel extends ClassModel {
                     } else {
                         ifBody = ifBody.elseIf($v(teParameter.name())._instanceof(JTypes.typeOf(suggested.asType())));
                     }
-                    constructReturnType(messageMethod, suggested, format, ifBody, resultField);
+                    constructReturnType(classDef, messageMethod, suggested, format, ifBody, resultField);
                 }
-                constructReturnType(messageMethod, returnType, format, ifBody._else(), resultField);
+                constructReturnType(classDef, messageMethod, returnType, format, ifBody._else(), resultField);
             }
         } else {
             boolean callInitCause = false;
@@ -474,12 +685,18 @@ abstract class ImplementationClassModel extends ClassModel {
                 $v(resultField), true);
 
         // Determine how the stack trace should be copied. If annotated with TransformException and copyStackTrace() is
-        // true, then we copy the parameters stack trace.
-        if (teParameter != null && teParameter.getAnnotation(TransformException.class).copyStackTrace()) {
-            body.add($v(resultField).call("setStackTrace").arg($v(teParameter.name()).call("getStackTrace")));
-        } else {
-            // Remove this caller from the stack trace
-            body.add(getCopyStackMethod(classDef).arg($v(resultField)));
+        // true, then we copy the parameters stack trace. Exceptions created without a stack trace have nothing to copy.
+        final ThrowableType throwableReturnType = messageMethod.returnType().throwableReturnType();
+        final boolean noStackTrace = producers.isEmpty() && hasNoStackTrace(messageMethod, throwableReturnType)
+                && (teParameter == null || throwableReturnType.suggestions().stream()
+                        .allMatch(suggested -> hasNoStackTrace(messageMethod, suggested)));
+        if (!noStackTrace) {
+            if (teParameter != null && teParameter.getAnnotation(TransformException.class).copyStackTrace()) {
+                body.add($v(resultField).call("setStackTrace").arg($v(teParameter.name()).call("getStackTrace")));
+            } else {
+                // Remove this caller from the stack trace
+                body.add(getCopyStackMethod(classDef).arg($v(resultField)));
+            }
         }
 
         // Add any suppressed messages
@@ -506,41 +723,63 @@ abstract class ImplementationClassModel extends ClassModel {
         return resultExpr;
     }
 
-    private JVarDeclaration constructReturnType(final MessageMethod messageMethod, final ThrowableType returnType,
+    private JVarDeclaration constructReturnType(final JClassDef classDef, final MessageMethod messageMethod,
+            final ThrowableType returnType,
             final JCall format,
             final JBlock body, final JVarDeclaration resultField) {
         final JType type = JTypes.typeOf(returnType.asType());
         // Import once more as the throwable return type may be different from the actual return type
         sourceFile._import(type);
         boolean callInitCause = false;
-        final JCall result = type._new();
-        if (returnType.useConstructionParameters()) {
+        // Exceptions without a stack trace use the constructor which disables the stack trace, otherwise a generated
+        // subclass which does not fill in the stack trace
+        final boolean noStackTrace = hasNoStackTrace(messageMethod, returnType);
+        final boolean disableInConstructor = noStackTrace && hasWritableStackTraceConstructor(returnType);
+        // Deferred messages are formatted by a supplier the first time the message is requested
+        final boolean deferredMessage = isDeferredExceptionMessage(messageMethod);
+        final JExpr message = deferredMessage ? JExprs.lambda().body(format) : format;
+        final ConstructorArguments arguments = new ConstructorArguments();
+        if (disableInConstructor) {
+            arguments.addMessage(message, stringType)
+                    .add("cause", messageMethod.hasCause() ? $v(messageMethod.cause().name()) : NULL, throwableType)
+                    .add("enableSuppression", JExpr.TRUE, booleanType)
+                    .add("writableStackTrace", JExpr.FALSE, booleanType);
+        } else if (returnType.useConstructionParameters()) {
             for (Parameter param : returnType.constructionParameters()) {
                 if (param.isMessageMethod()) {
-                    result.arg(format);
+                    arguments.add(param.name(), format, param.asType());
                 } else {
-                    result.arg($v(param.name()));
+                    arguments.add(param.name(), $v(param.name()), param.asType());
                 }
             }
             callInitCause = messageMethod.hasCause() && !returnType.causeSetInConstructor();
         } else if (returnType.hasStringAndThrowableConstructor() && messageMethod.hasCause()) {
-            result.arg(format).arg($v(messageMethod.cause().name()));
+            arguments.addMessage(message, stringType).add("cause", $v(messageMethod.cause().name()), throwableType);
         } else if (returnType.hasThrowableAndStringConstructor() && messageMethod.hasCause()) {
-            result.arg($v(messageMethod.cause().name())).arg(format);
+            arguments.add("cause", $v(messageMethod.cause().name()), throwableType).addMessage(message, stringType);
         } else if (returnType.hasStringConstructor()) {
-            result.arg(format);
+            arguments.addMessage(message, stringType);
             if (messageMethod.hasCause()) {
                 callInitCause = true;
             }
         } else if (returnType.hasThrowableConstructor() && messageMethod.hasCause()) {
-            result.arg($v(messageMethod.cause().name()));
+            arguments.add("cause", $v(messageMethod.cause().name()), throwableType);
         } else if (returnType.hasStringAndThrowableConstructor() && !messageMethod.hasCause()) {
-            result.arg(format).arg(NULL);
+            arguments.addMessage(message, stringType).add("cause", NULL, throwableType);
         } else if (returnType.hasThrowableAndStringConstructor() && !messageMethod.hasCause()) {
-            result.arg(NULL).arg(format);
+            arguments.add("cause", NULL, throwableType).addMessage(message, stringType);
         } else if (messageMethod.hasCause()) {
             callInitCause = true;
         }
+        final JCall result;
+        if (deferredMessage) {
+            result = deferredMessageType(classDef, returnType, arguments, noStackTrace && !disableInConstructor)._new();
+        } else if (noStackTrace && (!disableInConstructor || !returnType.hasWritableStackTraceConstructor())) {
+            result = noStackTraceType(classDef, returnType, arguments)._new();
+        } else {
+            result = type._new();
+        }
+        arguments.values.forEach(result::arg);
         final JVarDeclaration returnField;
         if (resultField == null) {
             returnField = body.var(FINAL, type, "result", result);
@@ -554,6 +793,238 @@ abstract class ImplementationClassModel extends ClassModel {
         return returnField;
     }
 
+    /**
+     * Creates the field holding the exception returned from a {@linkplain Preallocated preallocated} message method.
+     * The exception is created without a cause, suppression or stack trace so the shared instance cannot be modified.
+     *
+     * @param classDef      the class definition to add the field to
+     * @param messageMethod the message method
+     * @param format        the expression creating the message
+     *
+     * @return the field
+     */
+    private JVarDeclaration createPreallocatedField(final JClassDef classDef, final MessageMethod messageMethod,
+            final JExpr format) {
+        final ThrowableType returnType = messageMethod.returnType().throwableReturnType();
+        final JType type = JTypes.typeOf(returnType.asType());
+        sourceFile._import(type);
+        final ConstructorArguments arguments = new ConstructorArguments()
+                .add("message", format, stringType)
+                .add("cause", NULL, throwableType)
+                .add("enableSuppression", JExpr.FALSE, booleanType)
+                .add("writableStackTrace", JExpr.FALSE, booleanType);
+        // A protected constructor can only be invoked from a subclass
+        final JCall result = returnType.hasWritableStackTraceConstructor() ? type._new()
+                : noStackTraceType(classDef, returnType, arguments)._new();
+        arguments.values.forEach(result::arg);
+        return classDef.field(JMod.PRIVATE | FINAL, type, messageMethod.name() + "$instance", result);
+    }
+
+    /**
+     * Checks whether the message of the exception created for the message method is formatted the first time
+     * {@link Throwable#getMessage()} is invoked. Each exception type which may be created must not be final and must
+     * accept the message in a constructor. As the exception type is constructed with a {@code null} message, only
+     * exception types of the JDK which do not override {@link Throwable#getMessage()} or
+     * {@link Throwable#getLocalizedMessage()} are deferred. The arguments are captured by reference, a parameter
+     * annotated with {@link Snapshot} is converted to a string when the exception is created.
+     *
+     * @param messageMethod the message method to check
+     *
+     * @return {@code true} if the message is formatted when it is first requested, otherwise {@code false}
+     */
+    boolean isDeferredExceptionMessage(final MessageMethod messageMethod) {
+        if (!options.deferFormatting() || messageMethod instanceof LoggerMessageMethod
+                || messageMethod.message().format() == Format.NO_FORMAT || messageMethod.formatParameterCount() == 0
+                || !messageMethod.returnType().isThrowable()
+                || !messageMethod.parametersAnnotatedWith(Producer.class).isEmpty()) {
+            return false;
+        }
+        final ThrowableType returnType = messageMethod.returnType().throwableReturnType();
+        return canDeferMessage(messageMethod, returnType) && returnType.suggestions().stream()
+                .allMatch(suggested -> canDeferMessage(messageMethod, suggested));
+    }
+
+    private boolean canDeferMessage(final MessageMethod messageMethod, final ThrowableType type) {
+        return !type.getModifiers().contains(Modifier.FINAL) && !type.useConstructionParameters()
+                && (type.hasStringConstructor() || type.hasStringAndThrowableConstructor()
+                        || type.hasThrowableAndStringConstructor()
+                        || (hasWritableStackTraceConstructor(type) && messageMethod.isAnnotatedWith(NoStackTrace.class)))
+                && isMessageReadByThrowable(type);
+    }
+
+    /**
+     * Checks whether the exception type is a type of the JDK which leaves the message to {@link Throwable}. Other
+     * exception types may validate the message in the constructor or provide the message themselves.
+     *
+     * @param type the exception type
+     *
+     * @return {@code true} if the message is only read by {@link Throwable}, otherwise {@code false}
+     */
+    private boolean isMessageReadByThrowable(final ThrowableType type) {
+        final Types types = processingEnv.getTypeUtils();
+        TypeElement element = (TypeElement) types.asElement(type.asType());
+        if (!processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString().startsWith("java.")) {
+            return false;
+        }
+        while (element != null && !element.getQualifiedName().contentEquals(Throwable.class.getName())) {
+            for (ExecutableElement method : ElementFilter.methodsIn(element.getEnclosedElements())) {
+                if (method.getParameters().isEmpty() && (method.getSimpleName().contentEquals("getMessage")
+                        || method.getSimpleName().contentEquals("getLocalizedMessage"))) {
+                    return false;
+                }
+            }
+            element = (TypeElement) types.asElement(element.getSuperclass());
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the exception created for the message method should be created without a stack trace. The
+     * exception must either have a constructor which disables the stack trace or not be final.
+     *
+     * @param messageMethod the message method
+     * @param returnType    the exception type created
+     *
+     * @return {@code true} if the exception should be created without a stack trace
+     */
+    private static boolean hasNoStackTrace(final MessageMethod messageMethod, final ThrowableType returnType) {
+        return messageMethod.isAnnotatedWith(NoStackTrace.class) && ((returnType.hasWritableStackTraceConstructor()
+                && !returnType.useConstructionParameters()) || !returnType.getModifiers().contains(Modifier.FINAL));
+    }
+
+    /**
+     * Checks whether the stack trace of the exception can be disabled by the
+     * {@code (String, Throwable, boolean, boolean)} constructor. A protected constructor can only be used from a
+     * generated subclass, which requires the exception type not to be final.
+     *
+     * @param type the exception type
+     *
+     * @return {@code true} if the constructor disabling the stack trace can be used, otherwise {@code false}
+     */
+    private static boolean hasWritableStackTraceConstructor(final ThrowableType type) {
+        return !type.useConstructionParameters() && (type.hasWritableStackTraceConstructor()
+                || (type.hasProtectedWritableStackTraceConstructor() && !type.getModifiers().contains(Modifier.FINAL)));
+    }
+
+    /**
+     * Returns the generated subclass of the exception type used to create the exception without a stack trace, adding
+     * a constructor for the arguments if required. If the type has a protected
+     * {@code (String, Throwable, boolean, boolean)} constructor the subclass makes it accessible, otherwise the
+     * subclass overrides {@link Throwable#fillInStackTrace()}.
+     * <p>
+     * One subclass is created for each exception type. The subclass reports the name of the exception type in
+     * {@link Throwable#toString()}, so the message and stack trace of the exception still show the declared type.
+     * </p>
+     *
+     * @param classDef  the class definition to add the subclass to
+     * @param type      the exception type
+     * @param arguments the arguments passed to the constructor
+     *
+     * @return the generated subclass
+     */
+    private JType noStackTraceType(final JClassDef classDef, final ThrowableType type,
+            final ConstructorArguments arguments) {
+        ExceptionSubclass subclass = exceptionSubclasses.get(type.name());
+        if (subclass == null) {
+            subclass = createExceptionSubclass(classDef, type, NO_STACK_TRACE_SUFFIX);
+            if (!hasWritableStackTraceConstructor(type)) {
+                disableFillInStackTrace(subclass.classDef);
+            }
+            overrideToString(subclass.classDef, type);
+            exceptionSubclasses.put(type.name(), subclass);
+        }
+        subclass.constructor(arguments);
+        return $t(subclass.classDef);
+    }
+
+    /**
+     * Returns the generated subclass of the exception type used to defer formatting the message, adding a constructor
+     * for the arguments if required. The message argument is a {@link Supplier} which is invoked the first time
+     * {@link Throwable#getMessage()} is invoked, {@code null} is passed as the message to the exception type. The
+     * formatted message is kept, so it is also serialized.
+     *
+     * @param classDef         the class definition to add the subclass to
+     * @param type             the exception type
+     * @param arguments        the arguments passed to the constructor
+     * @param fillInStackTrace {@code true} if the subclass should override {@link Throwable#fillInStackTrace()}
+     *
+     * @return the generated subclass
+     */
+    private JType deferredMessageType(final JClassDef classDef, final ThrowableType type,
+            final ConstructorArguments arguments, final boolean fillInStackTrace) {
+        final String suffix = fillInStackTrace ? DEFERRED_MESSAGE_SUFFIX + "NoStackTrace" : DEFERRED_MESSAGE_SUFFIX;
+        final String key = type.name() + suffix;
+        ExceptionSubclass subclass = exceptionSubclasses.get(key);
+        if (subclass == null) {
+            sourceFile._import(Supplier.class);
+            sourceFile._import(ObjectOutputStream.class);
+            sourceFile._import(IOException.class);
+            subclass = createExceptionSubclass(classDef, type, suffix);
+            final JClassDef subclassDef = subclass.classDef;
+            if (fillInStackTrace) {
+                disableFillInStackTrace(subclassDef);
+            }
+            // The supplier captures the arguments and cannot be serialized
+            subclass.messageSupplier = subclassDef.field(JMod.PRIVATE | JMod.TRANSIENT,
+                    $t(Supplier.class).typeArg(String.class), "messageSupplier");
+            final JVarDeclaration formattedMessage = subclassDef.field(JMod.PRIVATE, String.class, "formattedMessage");
+
+            final JMethodDef getMessage = subclassDef.method(JMod.PUBLIC, String.class, "getMessage");
+            getMessage.annotate(Override.class);
+            JBlock body = getMessage.body();
+            final JAssignableExpr value = $v(body.var(0, String.class, "message", $v(formattedMessage)));
+            final JBlock formatBlock = body._if(value.eq(NULL)).block(Braces.REQUIRED);
+            formatBlock.assign(value, $v(subclass.messageSupplier).call("get"));
+            formatBlock.assign($v(formattedMessage), value);
+            body._return(value);
+
+            final JMethodDef writeObject = subclassDef.method(JMod.PRIVATE, JType.VOID, "writeObject");
+            writeObject._throws(IOException.class);
+            final JParamDeclaration out = writeObject.param(FINAL, ObjectOutputStream.class, "out");
+            body = writeObject.body();
+            // Format the message so it is serialized
+            body.call("getMessage");
+            body.add($v(out).call("defaultWriteObject"));
+            overrideToString(subclassDef, type);
+            exceptionSubclasses.put(key, subclass);
+        }
+        subclass.constructor(arguments);
+        return $t(subclass.classDef);
+    }
+
+    private static void disableFillInStackTrace(final JClassDef classDef) {
+        final JMethodDef fillInStackTrace = classDef.method(JMod.PUBLIC | JMod.SYNCHRONIZED, Throwable.class,
+                "fillInStackTrace");
+        fillInStackTrace.annotate(Override.class);
+        fillInStackTrace.body()._return(JExpr.THIS);
+    }
+
+    private ExceptionSubclass createExceptionSubclass(final JClassDef classDef, final ThrowableType type,
+            final String suffix) {
+        final JType superType = JTypes.typeOf(type.asType());
+        // Exception types from different packages may have the same simple name
+        String name = superType.simpleName() + suffix;
+        for (int i = 1; !exceptionSubclassNames.add(name); i++) {
+            name = superType.simpleName() + suffix + i;
+        }
+        final JClassDef subclassDef = classDef._class(JMod.PRIVATE | JMod.STATIC | FINAL, name);
+        subclassDef._extends(superType);
+        subclassDef.field(JMod.PRIVATE | JMod.STATIC | FINAL, JType.LONG, "serialVersionUID", JExprs.decimal(1L));
+        return new ExceptionSubclass(subclassDef);
+    }
+
+    private static void overrideToString(final JClassDef classDef, final ThrowableType type) {
+        // Replace the name of the generated subclass with the name of the exception type
+        final JMethodDef toString = classDef.method(JMod.PUBLIC, String.class, "toString");
+        toString.annotate(Override.class);
+        final JBlock body = toString.body();
+        final JExpr value = $v(body.var(FINAL, String.class, "value", $v("super").call("toString")));
+        final JExpr className = $v(body.var(FINAL, String.class, "className", JExprs.call("getClass").call("getName")));
+        body._return(value.call("startsWith").arg(className)
+                .cond(JTypes.typeOf(type.asType())._class().call("getName")
+                        .plus(value.call("substring").arg(className.call("length"))), value));
+    }
+
     protected final void addThrownTypes(final MessageMethod messageMethod, final JMethodDef jMethod) {
         for (ThrowableType thrownType : messageMethod.thrownTypes()) {
             jMethod._throws(thrownType.name());
@@ -641,21 +1112,39 @@ abstract class ImplementationClassModel extends ClassModel {
         final String methodName = "_formatMessage";
         // Create the method if it does not exist yet
         if (messageFormatMethodGenerated.compareAndSet(false, true)) {
+            final JType formatterType = $t(MessageFormat.class);
+            sourceFile._import(formatterType);
+            sourceFile._import(FieldPosition.class);
+            // Parsed formats are cached per instance, translations are separate instances with their own locale
+            final JType mapType = $t(Map.class).typeArg(String.class).typeArg(formatterType);
+            final JType concurrentMap = $t(ConcurrentHashMap.class);
+            sourceFile._import(Map.class);
+            sourceFile._import(concurrentMap);
+            final JVarDeclaration cache = classDef.field(JMod.PRIVATE | JMod.FINAL, mapType, "_messageFormats",
+                    concurrentMap.typeArg(String.class).typeArg(formatterType)._new());
+
             // Create the method
             final JMethodDef method = classDef.method(JMod.PRIVATE, String.class, methodName);
+            final JParamDeclaration key = method.param(JMod.FINAL, String.class, "key");
             final JParamDeclaration format = method.param(JMod.FINAL, String.class, "format");
             final JParamDeclaration args = method.varargParam(JMod.FINAL, Object.class, "args");
 
             // Generate the body of the method
             final JBlock body = method.body();
-            final JType formatterType = $t(MessageFormat.class);
-            final JCall initializer = formatterType._new()
+            final JVarDeclaration formatter = body.var(0, formatterType, "formatter",
+                    $v(cache).call("get").arg($v(key)));
+            final JBlock ifBody = body._if($v(formatter).eq(NULL)).block(Braces.REQUIRED);
+            ifBody.assign($v(formatter), formatterType._new()
                     .arg($v(format))
-                    .arg(localeGetter);
-            final JVarDeclaration formatter = body.var(JMod.FINAL, formatterType, "formatter", initializer);
+                    .arg(localeGetter));
+            ifBody.add($v(cache).call("put").arg($v(key)).arg($v(formatter)));
+            // The MessageFormat and its sub-formats are not thread-safe, format with a copy of the parsed format.
             // Invoke the formatter and return the toString() value of the StringBuffer result
             body._return(
                     $v(formatter)
+                            .call("clone")
+                            .cast(formatterType)
+                            .paren()
                             .call("format")
                             .arg($v(args))
                             .arg($t(StringBuffer.class)._new())
@@ -741,4 +1230,85 @@ abstract class ImplementationClassModel extends ClassModel {
             return JExprs.$v(t.toString() + ".class");
         }
     }
+
+    /**
+     * The arguments passed to the constructor of an exception along with the names and types of the parameters.
+     */
+    private static final class ConstructorArguments {
+        private final List<String> names = new ArrayList<>();
+        private final List<JExpr> values = new ArrayList<>();
+        private final List<TypeMirror> types = new ArrayList<>();
+        private int messageIndex = -1;
+
+        ConstructorArguments addMessage(final JExpr value, final TypeMirror type) {
+            messageIndex = values.size();
+            return add("message", value, type);
+        }
+
+        ConstructorArguments add(final String name, final JExpr value, final TypeMirror type) {
+            names.add(name);
+            values.add(value);
+            types.add(type);
+            return this;
+        }
+    }
+
+    /**
+     * A subclass of an exception type generated as a nested class of the implementation.
+     */
+    private final class ExceptionSubclass {
+        private final JClassDef classDef;
+        private final Set<List<String>> constructors = new HashSet<>();
+        private JVarDeclaration messageSupplier;
+
+        private ExceptionSubclass(final JClassDef classDef) {
+            this.classDef = classDef;
+        }
+
+        /**
+         * Adds a constructor passing the arguments to the constructor of the exception type, if the subclass does not
+         * already have a constructor with the same parameter types. If the subclass defers the message, the message
+         * parameter is a supplier of the message.
+         *
+         * @param arguments the arguments the subclass is created with
+         */
+        void constructor(final ConstructorArguments arguments) {
+            final Types types = processingEnv.getTypeUtils();
+            final List<String> key = new ArrayList<>(arguments.types.size());
+            for (TypeMirror type : arguments.types) {
+                key.add(types.erasure(type).toString());
+            }
+            if (constructors.add(key)) {
+                final JMethodDef constructor = classDef.constructor(0);
+                final JBlock body = constructor.body();
+                final JCall superCall = body.callSuper();
+                for (int i = 0; i < arguments.names.size(); i++) {
+                    if (messageSupplier != null && i == arguments.messageIndex) {
+                        final JParamDeclaration param = constructor.param(FINAL,
+                                $t(Supplier.class).typeArg(String.class), arguments.names.get(i));
+                        superCall.arg(NULL.cast(String.class));
+                        body.assign(JExpr.THIS.field(messageSupplier.name()), $v(param));
+                    } else {
+                        superCall.arg($v(constructor.param(FINAL, JTypes.typeOf(arguments.types.get(i)),
+                                arguments.names.get(i))));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A static method of the implementation an MXBean delegates to. The parameters of the method are strings.
+     */
+    static final class MXBeanMethod {
+        private final JType returnType;
+        private final String name;
+        private final String[] parameterNames;
+
+        MXBeanMethod(final JType returnType, final String name, final String... parameterNames) {
+            this.returnType = returnType;
+            this.name = name;
+            this.parameterNames = parameterNames;
+        }
+    }
 }
@@ -73,6 +73,7 @@ class MessageBundleImplementor extends ImplementationClassModel {
         for (MessageMethod messageMethod : messageMethods) {
             createBundleMethod(classDef, localeGetter, messageMethod);
         }
+        addStatistics(classDef);
         return classDef;
     }
 }
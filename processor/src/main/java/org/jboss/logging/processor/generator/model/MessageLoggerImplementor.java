@@ -23,23 +23,42 @@ import static org.jboss.jdeparser.JExpr.NULL;
 import static org.jboss.jdeparser.JExpr.THIS;
 import static org.jboss.jdeparser.JExprs.$v;
 import static org.jboss.jdeparser.JTypes.$t;
+import static org.jboss.jdeparser.JTypes.typeOf;
 
+import java.io.Serializable;
+import java.lang.ref.WeakReference;
+import java.text.MessageFormat;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
 
+import org.jboss.jdeparser.JArrayExpr;
 import org.jboss.jdeparser.JAssignableExpr;
 import org.jboss.jdeparser.JBlock;
 import org.jboss.jdeparser.JBlock.Braces;
@@ -47,6 +66,9 @@ import org.jboss.jdeparser.JCall;
 import org.jboss.jdeparser.JClassDef;
 import org.jboss.jdeparser.JExpr;
 import org.jboss.jdeparser.JExprs;
+import org.jboss.jdeparser.JFor;
+import org.jboss.jdeparser.JIf;
+import org.jboss.jdeparser.JLambda;
 import org.jboss.jdeparser.JMethodDef;
 import org.jboss.jdeparser.JMod;
 import org.jboss.jdeparser.JParamDeclaration;
@@ -55,14 +77,23 @@ import org.jboss.jdeparser.JType;
 import org.jboss.jdeparser.JVarDeclaration;
 import org.jboss.logging.DelegatingBasicLogger;
 import org.jboss.logging.Logger;
+import org.jboss.logging.annotations.Cause;
+import org.jboss.logging.annotations.Coalesced;
 import org.jboss.logging.annotations.LogMessage;
 import org.jboss.logging.annotations.LoggingClass;
 import org.jboss.logging.annotations.Message.Format;
 import org.jboss.logging.annotations.MessageBundle;
 import org.jboss.logging.annotations.MessageLogger;
 import org.jboss.logging.annotations.Once;
+import org.jboss.logging.annotations.OnceKey;
 import org.jboss.logging.annotations.Pos;
+import org.jboss.logging.annotations.RateLimited;
+import org.jboss.logging.annotations.Sampled;
+import org.jboss.logging.annotations.Snapshot;
+import org.jboss.logging.annotations.Snapshot.Policy;
 import org.jboss.logging.annotations.Transform;
+import org.jboss.logging.processor.apt.ToolLogger;
+import org.jboss.logging.processor.model.EnabledCheckMethod;
 import org.jboss.logging.processor.model.LoggerMessageMethod;
 import org.jboss.logging.processor.model.MessageInterface;
 import org.jboss.logging.processor.model.MessageMethod;
@@ -82,8 +113,62 @@ final class MessageLoggerImplementor extends ImplementationClassModel {
 
     private static final String LOG_FIELD_NAME = "log";
     private static final String FQCN_FIELD_NAME = "FQCN";
+    // The Logger has fixed arity overloads for up to three format parameters, anything more uses varargs
+    private static final int MAX_FIXED_ARITY = 3;
 
-    private final Map<String, JVarDeclaration> logOnceVars = new HashMap<>();
+    // Deferred messages, and rendered messages followed by a structured message, are passed as the single parameter
+    // of a message format
+    private static final String MESSAGE_PARAMETER_FORMAT = "{0}";
+    private static final String DEFERRED_MESSAGE_CLASS_NAME = "DeferredMessage";
+    private static final String ACQUIRE_PERMIT_METHOD_NAME = "_acquirePermit";
+    private static final String APPEND_SUPPRESSED_METHOD_NAME = "_appendSuppressed";
+
+    private static final String ONCE_KEYS_CLASS_NAME = "OnceKeys";
+    private static final String COALESCED_MESSAGE_CLASS_NAME = "CoalescedMessage";
+    private static final String COALESCED_NO_PLACEHOLDERS = "NO_PLACEHOLDERS";
+    private static final String COALESCED_PRINTF_PLACEHOLDERS = "PRINTF_PLACEHOLDERS";
+    private static final String COALESCED_MESSAGE_FORMAT_PLACEHOLDERS = "MESSAGE_FORMAT_PLACEHOLDERS";
+    // How long the thread logging the summaries is kept once no window is open
+    private static final long COALESCED_KEEP_ALIVE_SECONDS = 10L;
+    private static final String PRINTF_PLACEHOLDER_REGEX = "%%|%n|%(\\d+\\$)?[-#+ 0,(<]*\\d*(\\.\\d+)?[tT]?[a-zA-Z]";
+    private static final String PLACEHOLDER_REPLACEMENT = "...";
+    private static final String STRUCTURED_MESSAGE_CLASS_NAME = "StructuredMessage";
+    // The keys are not valid parameter names so they never collide with the names of the format parameters
+    private static final String PROJECT_CODE_KEY = "message.projectCode";
+    private static final String ID_KEY = "message.id";
+    private static final String TEMPLATE_KEY = "message.template";
+    // The maximum number of locks guarding the keys of a message logged once per key
+    private static final int MAX_ONCE_KEY_STRIPES = 16;
+    private static final int MIN_ONCE_KEYS_PER_STRIPE = 64;
+    private static final String RESET_ONCE_METHOD_NAME = "resetOnce";
+
+    private static final String LEVEL_OVERRIDES_FIELD_NAME = "_LEVEL_OVERRIDES";
+    private static final String LEVEL_OVERRIDE_KEYS_FIELD_NAME = "_LEVEL_OVERRIDE_KEYS";
+    private static final String LEVELS_FIELD_NAME = "_LEVELS";
+    private static final String LEVEL_METHOD_NAME = "_level";
+    private static final String IS_ENABLED_METHOD_NAME = "_isEnabled";
+    private static final String LEVEL_OVERRIDE_INDEX_METHOD_NAME = "_levelOverrideIndex";
+    private static final String LEVEL_OVERRIDES_MXBEAN_NAME = "LevelOverridesMXBean";
+
+    // The JFR types are referenced by name as the processor may run on a JDK without JFR
+    private static final String JFR_PACKAGE = "jdk.jfr.";
+    private static final String EVENT_CATEGORY = "JBoss Logging";
+    // The value of an override which disables the message
+    private static final String LEVEL_OFF = "OFF";
+
+    private final Map<String, JVarDeclaration> logOnceVars = new LinkedHashMap<>();
+    private final Map<String, JVarDeclaration> logOnceKeyVars = new LinkedHashMap<>();
+    private final Map<String, JVarDeclaration> instanceOnceVars = new HashMap<>();
+    private JClassDef onceKeysClass;
+    private JClassDef deferredMessageClass;
+    private final Map<String, JVarDeclaration> rateLimitVars = new HashMap<>();
+    private boolean rateLimitHelpersGenerated;
+    private final Map<String, JVarDeclaration> coalescedVars = new HashMap<>();
+    private JClassDef coalescedMessageClass;
+    private JClassDef structuredMessageClass;
+    private final Set<String> structuredMessageFields = new HashSet<>();
+    private final Map<String, Integer> levelOverrideIndexes = new LinkedHashMap<>();
+    private final Set<String> eventClassNames = new HashSet<>();
 
     /**
      * Creates a new message logger code model.
@@ -146,6 +231,17 @@ final class MessageLoggerImplementor extends ImplementationClassModel {
                 createBundleMethod(classDef, localeGetter, messageMethod);
             }
         }
+        // The enabled checks are created last as they use the state of the logger methods
+        final Set<EnabledCheckMethod> enabledCheckMethods = new LinkedHashSet<>(messageInterface().enabledCheckMethods());
+        for (MessageInterface messageInterface : messageInterface().extendedInterfaces()) {
+            enabledCheckMethods.addAll(messageInterface.enabledCheckMethods());
+        }
+        for (EnabledCheckMethod enabledCheckMethod : enabledCheckMethods) {
+            createEnabledCheckMethod(enabledCheckMethod, messageMethods, classDef, logger);
+        }
+        addResetOnceMethod(classDef);
+        addLevelOverrides(classDef);
+        addStatistics(classDef);
         return classDef;
     }
 
@@ -167,12 +263,25 @@ final class MessageLoggerImplementor extends ImplementationClassModel {
         // Initialize the method parameters
         final Map<Parameter, JParamDeclaration> params = createParameters(messageMethod, method);
 
+        // Log methods below the minimum level do nothing, the message method is still used by translations
+        if (options.isElided(messageMethod.logLevel())) {
+            return;
+        }
+
         // First load the parameter names
         final List<String> parameterNames = new ArrayList<>(params.size());
         for (Parameter param : params.keySet()) {
             parameterNames.add(param.name());
         }
 
+        // The event is committed whether the level is enabled or not, recording is controlled by the JFR settings
+        final Map<Parameter, JExpr> supplierValues;
+        if (options.jfrEvents()) {
+            supplierValues = createEventCommit(messageMethod, classDef, method.body(), params, parameterNames);
+        } else {
+            supplierValues = Collections.emptyMap();
+        }
+
         final LogMessage logMessage = messageMethod.getAnnotation(LogMessage.class);
 
         final JBlock baseBody;
@@ -181,49 +290,116 @@ final class MessageLoggerImplementor extends ImplementationClassModel {
         } else {
             baseBody = method.body();
         }
+        final boolean statistics = options.messageStatistics();
+        if (statistics) {
+            baseBody.add(incrementStatistic(messageMethod, STATISTIC_CALLS));
+        }
+
+        // Use static imports for the levels
+        final String levelName = messageMethod.logLevel();
+        sourceFile.importStatic(Logger.Level.class, levelName);
+        // An overridden level is read once, the level is always checked as the message may be disabled
+        final JExpr level;
+        JExpr enabledCheck;
+        if (options.levelOverrides()) {
+            level = $v(baseBody.var(JMod.FINAL, $t(Logger.Level.class), getUniqueName(parameterNames, "level", 0),
+                    levelOverride(messageMethod)));
+            enabledCheck = JExprs.call(IS_ENABLED_METHOD_NAME).arg(logger).arg(level);
+        } else {
+            level = $v(levelName);
+            enabledCheck = logger.call("isEnabled").arg(level);
+        }
+        // Sampled messages are only sampled if the level is enabled and before anything else is checked
+        if (messageMethod.isAnnotatedWith(Sampled.class)) {
+            enabledCheck = enabledCheck.and(createSampleCheck(messageMethod));
+        }
 
-        // Check for the @Once annotation
+        // Check for the @Once, @RateLimited and @Coalesced annotations
         final JBlock body;
-        if (messageMethod.isAnnotatedWith(Once.class)) {
-            final JType atomicBoolean = $t(AtomicBoolean.class);
-            sourceFile._import(atomicBoolean);
-            // The variable will be shared with overloaded methods
-            final String varName = messageMethod.name() + "_$Once";
-            final JVarDeclaration var;
-            if (logOnceVars.containsKey(varName)) {
-                var = logOnceVars.get(varName);
+        JExpr suppressed = null;
+        if (messageMethod.isAnnotatedWith(RateLimited.class) || statistics) {
+            // The limit is only checked if the level is enabled, statistics count the enabled and suppressed calls
+            final JBlock enabledBody = baseBody._if(enabledCheck).block(Braces.REQUIRED);
+            if (statistics) {
+                enabledBody.add(incrementStatistic(messageMethod, STATISTIC_ENABLED));
+            }
+            final JExpr check;
+            if (messageMethod.isAnnotatedWith(Once.class)) {
+                check = createOnceCheck(messageMethod, classDef, params);
+            } else if (messageMethod.isAnnotatedWith(RateLimited.class)) {
+                suppressed = $v(enabledBody.var(JMod.FINAL, JType.LONG, getUniqueName(parameterNames, "suppressed", 0),
+                        createRateLimitCheck(messageMethod, classDef)));
+                check = suppressed.ge(JExprs.decimal(0));
+            } else if (messageMethod.isAnnotatedWith(Coalesced.class)) {
+                check = createCoalescedCheck(messageMethod, classDef, logger);
             } else {
-                var = classDef.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, atomicBoolean, varName,
-                        atomicBoolean._new().arg(JExpr.FALSE));
-                logOnceVars.put(varName, var);
+                check = null;
             }
-            body = baseBody._if(
-                    logger.call("isEnabled").arg($v(messageMethod.logLevel())).and(
-                            $v(var).call("compareAndSet").arg(JExpr.FALSE).arg(JExpr.TRUE)))
+            if (check == null) {
+                body = enabledBody;
+            } else {
+                final JIf checkIf = enabledBody._if(check);
+                body = checkIf.block(Braces.REQUIRED);
+                if (statistics) {
+                    checkIf._else().block(Braces.REQUIRED).add(incrementStatistic(messageMethod, STATISTIC_SUPPRESSED));
+                }
+            }
+        } else if (messageMethod.isAnnotatedWith(Once.class)) {
+            body = baseBody._if(enabledCheck.and(createOnceCheck(messageMethod, classDef, params)))
+                    .block(Braces.REQUIRED);
+        } else if (messageMethod.isAnnotatedWith(Coalesced.class)) {
+            body = baseBody._if(enabledCheck.and(createCoalescedCheck(messageMethod, classDef, logger)))
                     .block(Braces.REQUIRED);
-        } else if (messageMethod.wrapInEnabledCheck()) {
-            body = baseBody._if(logger.call("isEnabled").arg($v(messageMethod.logLevel()))).block(Braces.REQUIRED);
+        } else if (requiresEnabledCheck(messageMethod) || messageMethod.isAnnotatedWith(Sampled.class)
+                || options.levelOverrides()) {
+            body = baseBody._if(enabledCheck).block(Braces.REQUIRED);
         } else {
             body = baseBody;
         }
 
-        // Determine which logger method to invoke
-        final JCall logCaller = logger.call(messageMethod.loggerMethod());
+        // Determine which logger method to invoke, precompiled formats are rendered before being passed to the logger
+        // and deferred formats are passed as the single parameter of a message format. Messages which are passed as is
+        // are passed as the single parameter of a message format if a structured message follows them. This includes
+        // messages without format parameters, which the log manager does not format.
+        final boolean precompiledFormat = isPrecompiledFormat(messageMethod);
+        final boolean deferredFormat = isDeferredFormat(messageMethod);
+        final boolean structuredMessage = options.structuredMessages();
+        final boolean rawMessage = messageMethod.message().format() == Format.NO_FORMAT
+                || messageMethod.formatParameterCount() == 0;
+        final boolean messageParameter = structuredMessage && (precompiledFormat || rawMessage);
+        final String loggerMethod;
+        if (messageParameter) {
+            loggerMethod = "logv";
+        } else if (precompiledFormat) {
+            loggerMethod = "log";
+        } else if (deferredFormat) {
+            loggerMethod = "logv";
+        } else {
+            loggerMethod = messageMethod.loggerMethod();
+        }
+        final JCall logCaller = logger.call(loggerMethod);
         final Set<Parameter> fqcnParameters = messageMethod.parametersAnnotatedWith(LoggingClass.class);
         if (fqcnParameters.isEmpty()) {
             logCaller.arg($v(FQCN_FIELD_NAME));
         } else {
             logCaller.arg($v(params.get(fqcnParameters.iterator().next())).call("getName"));
         }
-        // Use static imports for the levels
-        final String levelName = messageMethod.logLevel();
-        sourceFile.importStatic(Logger.Level.class, levelName);
-        logCaller.arg($v(levelName));
+        logCaller.arg(level);
 
         final MessageMethod.Message message = messageMethod.message();
-        // No format log messages need the message before the cause
-        if (message.format() == Format.NO_FORMAT) {
-            logCaller.arg(JExprs.call(msgMethodName));
+        final JCall formatArgs;
+        if (rawMessage && messageParameter) {
+            if (messageMethod.hasCause()) {
+                logCaller.arg($v(messageMethod.cause().name()));
+            } else {
+                logCaller.arg(NULL);
+            }
+            logCaller.arg(JExprs.str(MESSAGE_PARAMETER_FORMAT));
+            logCaller.arg(appendSuppressed(JExprs.call(msgMethodName), suppressed));
+            logCaller.arg(createStructuredMessage(messageMethod, classDef, params, msgMethodName));
+        } else if (message.format() == Format.NO_FORMAT) {
+            // No format log messages need the message before the cause
+            logCaller.arg(appendSuppressed(JExprs.call(msgMethodName), suppressed));
             // Next for no format should always be null
             logCaller.arg(NULL);
 
@@ -234,14 +410,54 @@ final class MessageLoggerImplementor extends ImplementationClassModel {
                 logCaller.arg(NULL);
             }
         } else {
-            if (messageMethod.hasCause()) {
-                logCaller.arg($v(messageMethod.cause().name()));
+            if (precompiledFormat) {
+                // The message is rendered with the format locale, the same locale the formatter would use
+                final JType localeType = $t(Locale.class);
+                sourceFile._import(localeType);
+                final JCall formatCall = JExprs.call(ClassModelHelper.formatMethodName(messageMethod))
+                        .arg(localeType.call("getDefault").arg($t(Locale.Category.class).$v("FORMAT")));
+                if (messageParameter) {
+                    if (messageMethod.hasCause()) {
+                        logCaller.arg($v(messageMethod.cause().name()));
+                    } else {
+                        logCaller.arg(NULL);
+                    }
+                    logCaller.arg(JExprs.str(MESSAGE_PARAMETER_FORMAT));
+                    logCaller.arg(appendSuppressed(formatCall, suppressed));
+                } else {
+                    logCaller.arg(appendSuppressed(formatCall, suppressed));
+                    logCaller.arg(NULL);
+                    if (messageMethod.hasCause()) {
+                        logCaller.arg($v(messageMethod.cause().name()));
+                    } else {
+                        logCaller.arg(NULL);
+                    }
+                }
+                formatArgs = formatCall;
+            } else if (deferredFormat) {
+                if (messageMethod.hasCause()) {
+                    logCaller.arg($v(messageMethod.cause().name()));
+                } else {
+                    logCaller.arg(NULL);
+                }
+                logCaller.arg(appendSuppressed(JExprs.str(MESSAGE_PARAMETER_FORMAT), suppressed));
+                final JCall deferredMessage = deferredMessageType(classDef)._new()
+                        .arg(THIS)
+                        .arg($t(classDef).methodRef(msgMethodName))
+                        .arg(message.format() == Format.PRINTF ? JExpr.TRUE : JExpr.FALSE);
+                logCaller.arg(deferredMessage);
+                formatArgs = deferredMessage;
             } else {
-                logCaller.arg(NULL);
+                if (messageMethod.hasCause()) {
+                    logCaller.arg($v(messageMethod.cause().name()));
+                } else {
+                    logCaller.arg(NULL);
+                }
+                // The next parameter is the message. Should be accessed via the
+                // message retrieval method.
+                logCaller.arg(appendSuppressed(JExprs.call(msgMethodName), suppressed));
+                formatArgs = logCaller;
             }
-            // The next parameter is the message. Should be accessed via the
-            // message retrieval method.
-            logCaller.arg(JExprs.call(msgMethodName));
             final List<JExpr> args = new ArrayList<>();
             // Create the parameters
             for (Map.Entry<Parameter, JParamDeclaration> entry : params.entrySet()) {
@@ -277,7 +493,7 @@ final class MessageLoggerImplementor extends ImplementationClassModel {
                             } else {
                                 final JExpr resolvedVar;
                                 if (param.isSubtypeOf(Supplier.class)) {
-                                    resolvedVar = $v(var).call("get");
+                                    resolvedVar = supplierValues.getOrDefault(param, $v(var).call("get"));
                                 } else {
                                     resolvedVar = $v(var);
                                 }
@@ -297,12 +513,13 @@ final class MessageLoggerImplementor extends ImplementationClassModel {
                             if (param.isSubtypeOf(Supplier.class)) {
                                 // Handle the supplier type, if it's an array we need to invoke Arrays.toString(supplier.get())
                                 final Optional<TypeMirror> typeArg = ElementHelper.getTypeArgument(param);
+                                final JExpr value = supplierValues.getOrDefault(param, $v(var).call("get"));
                                 if (typeArg.isPresent() && typeArg.get().getKind() == TypeKind.ARRAY) {
                                     sourceFile._import(Arrays.class);
-                                    resolvedVar = $t(Arrays.class).call("toString").arg($v(var).call("get"));
+                                    resolvedVar = $t(Arrays.class).call("toString").arg(value);
                                 } else {
                                     // Get the value from the supplier
-                                    resolvedVar = $v(var).call("get");
+                                    resolvedVar = value;
                                 }
                             } else {
                                 // We are not a supplier, so just wrap the var
@@ -311,9 +528,13 @@ final class MessageLoggerImplementor extends ImplementationClassModel {
                             if (param.isArray() || param.isVarArgs()) {
                                 sourceFile._import(Arrays.class);
                                 args.add($t(Arrays.class).call("toString").arg($v(var)));
+                            } else if (deferredFormat) {
+                                args.add(snapshot(param, resolvedVar));
                             } else {
                                 args.add(resolvedVar);
                             }
+                        } else if (deferredFormat) {
+                            args.add(snapshot(param, $t(formatterClass)._new().arg($v(var))));
                         } else {
                             args.add($t(formatterClass)._new().arg($v(var)));
                         }
@@ -321,10 +542,1044 @@ final class MessageLoggerImplementor extends ImplementationClassModel {
                 }
             }
             for (JExpr arg : args) {
-                logCaller.arg(arg);
+                formatArgs.arg(arg);
+            }
+            // The structured message is the last parameter, formatters ignore parameters the format does not use
+            if (structuredMessage) {
+                logCaller.arg(createStructuredMessage(messageMethod, classDef, params, msgMethodName));
             }
         }
         body.add(logCaller);
+        if (options.reportAllocations() && allocatesParameterArray(messageMethod)) {
+            ToolLogger.getLogger(processingEnv).note(messageMethod,
+                    "Method %s allocates an Object[%d] for the format parameters each time the message is logged.",
+                    messageMethod.name(), loggerParameterCount(messageMethod));
+        }
+        if (options.reportAllocations() && message.format() != Format.NO_FORMAT) {
+            // Primitives passed to a precompiled format are only boxed if they are not passed as is
+            final List<TypeKind> kinds = ClassModelHelper.formatArgumentKinds(messageMethod);
+            int index = 0;
+            for (Parameter param : messageMethod.parameters()) {
+                if (!param.isFormatParameter()) {
+                    continue;
+                }
+                final boolean boxed = !precompiledFormat || index >= kinds.size() || !kinds.get(index).isPrimitive();
+                if (param.isPrimitive() && boxed) {
+                    ToolLogger.getLogger(processingEnv).note(param,
+                            "Parameter %s of method %s is boxed each time the message is logged.",
+                            param.name(), messageMethod.name());
+                }
+                index++;
+            }
+        }
+    }
+
+    /**
+     * Creates a JFR event type for the log method and commits an event with the parameters of the method if the
+     * event is enabled. Each format parameter and the cause is a field of the event. Primitives and strings are
+     * recorded as is, any other value is recorded as its string representation, which is only created if the event
+     * is committed.
+     * <p>
+     * A supplier is only invoked once. If the event is committed the value of the supplier is kept in a local variable,
+     * the returned expressions use that value for the log message instead of invoking the supplier again.
+     * </p>
+     *
+     * @param messageMethod  the log method
+     * @param classDef       the class definition to add the event type to
+     * @param body           the block to commit the event in
+     * @param params         the parameters of the method
+     * @param parameterNames the names of the parameters of the method
+     *
+     * @return the expressions resolving the value of each supplier parameter
+     */
+    private Map<Parameter, JExpr> createEventCommit(final LoggerMessageMethod messageMethod, final JClassDef classDef,
+            final JBlock body,
+            final Map<Parameter, JParamDeclaration> params, final List<String> parameterNames) {
+        // Overloaded methods each have their own event type as the fields differ
+        final String baseName = Character.toUpperCase(messageMethod.name().charAt(0)) + messageMethod.name().substring(1)
+                + "Event";
+        String eventClassName = baseName;
+        for (int i = 1; !eventClassNames.add(eventClassName); i++) {
+            eventClassName = baseName + i;
+        }
+        final String eventName = messageInterface().name() + "." + eventClassName;
+        final JType eventType = jfrType("Event");
+        final JType labelType = jfrType("Label");
+        final JClassDef eventDef = classDef._class(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, eventClassName);
+        eventDef._extends(eventType);
+        eventDef.annotate(jfrType("Name")).value(eventName);
+        eventDef.annotate(labelType).value(messageKey(messageMethod));
+        eventDef.annotate(jfrType("Description")).value(messageMethod.message().value());
+        final String projectCode = messageInterface().projectCode();
+        eventDef.annotate(jfrType("Category")).value(JExprs.array(EVENT_CATEGORY,
+                projectCode == null || projectCode.isEmpty() ? messageInterface().simpleName() : projectCode));
+
+        final JExpr event = $v(body.var(JMod.FINAL, $t(eventDef), getUniqueName(parameterNames, "event", 0),
+                $t(eventDef)._new()));
+        final JExpr commit = $v(body.var(JMod.FINAL, JType.BOOLEAN, getUniqueName(parameterNames, "commitEvent", 0),
+                event.call("shouldCommit")));
+        final Map<Parameter, JExpr> values = new HashMap<>();
+        final Map<Parameter, JExpr> supplierValues = new HashMap<>();
+        for (Map.Entry<Parameter, JParamDeclaration> entry : params.entrySet()) {
+            final Parameter param = entry.getKey();
+            if (param.isFormatParameter() && param.isSubtypeOf(Supplier.class)) {
+                final JExpr supplier = $v(entry.getValue());
+                final JExpr value = $v(body.var(JMod.FINAL, supplierValueType(param),
+                        getUniqueName(parameterNames, param.name() + "Value", 0),
+                        commit.cond(supplier.call("get"), NULL)));
+                values.put(param, value);
+                supplierValues.put(param, commit.cond(value, supplier.call("get")));
+            }
+        }
+        final JBlock commitBody = body._if(commit).block(Braces.REQUIRED);
+        for (Map.Entry<Parameter, JParamDeclaration> entry : params.entrySet()) {
+            final Parameter param = entry.getKey();
+            if (!param.isFormatParameter() && !param.isAnnotatedWith(Cause.class)) {
+                continue;
+            }
+            final JExpr value = $v(entry.getValue());
+            final JType fieldType;
+            final JExpr fieldValue;
+            if (param.isPrimitive() || param.isSameAs(String.class)) {
+                fieldType = typeOf(param.asType());
+                fieldValue = value;
+            } else {
+                fieldType = $t(String.class);
+                if (param.isArray() || param.isVarArgs()) {
+                    sourceFile._import(Arrays.class);
+                    fieldValue = $t(Arrays.class).call("toString").arg(value);
+                } else if (param.isSubtypeOf(Supplier.class)) {
+                    final Optional<TypeMirror> typeArg = ElementHelper.getTypeArgument(param);
+                    if (typeArg.isPresent() && typeArg.get().getKind() == TypeKind.ARRAY) {
+                        sourceFile._import(Arrays.class);
+                        fieldValue = $t(Arrays.class).call("toString").arg(values.get(param));
+                    } else {
+                        fieldValue = $t(String.class).call("valueOf").arg(values.get(param));
+                    }
+                } else {
+                    fieldValue = $t(String.class).call("valueOf").arg(value);
+                }
+            }
+            eventDef.field(0, fieldType, param.name()).annotate(labelType).value(param.name());
+            commitBody.assign(event.field(param.name()), fieldValue);
+        }
+        commitBody.add(event.call("commit"));
+        return supplierValues;
+    }
+
+    private JType supplierValueType(final Parameter param) {
+        final Optional<TypeMirror> typeArg = ElementHelper.getTypeArgument(param);
+        if (typeArg.isPresent()) {
+            final TypeMirror type = typeArg.get();
+            if (type.getKind() == TypeKind.DECLARED) {
+                final JType valueType = typeOf(type);
+                sourceFile._import(valueType);
+                return valueType;
+            }
+            if (type.getKind() == TypeKind.ARRAY) {
+                return typeOf(type);
+            }
+            if (type.getKind() == TypeKind.WILDCARD && ((WildcardType) type).getExtendsBound() != null) {
+                return typeOf(((WildcardType) type).getExtendsBound());
+            }
+        }
+        return $t(Object.class);
+    }
+
+    private JType jfrType(final String simpleName) {
+        final JType type = $t(JFR_PACKAGE + simpleName);
+        sourceFile._import(type);
+        return type;
+    }
+
+    /**
+     * Checks whether the log method should be wrapped in a {@code isEnabled()} check. This is required if the
+     * parameters need to be computed or allocated before the logger can check the level.
+     *
+     * @param messageMethod the message method
+     *
+     * @return {@code true} if the logger call should be wrapped with a {@code isEnabled()} check
+     */
+    private boolean requiresEnabledCheck(final LoggerMessageMethod messageMethod) {
+        return options.alwaysCheckEnabled() || messageMethod.wrapInEnabledCheck() || isPrecompiledFormat(messageMethod)
+                || isDeferredFormat(messageMethod) || allocatesParameterArray(messageMethod)
+                || options.structuredParameters();
+    }
+
+    /**
+     * Checks whether the call to the logger will use a varargs overload and therefore allocate an array for the
+     * parameters. For up to three parameters the fixed arity overloads are used.
+     *
+     * @param messageMethod the message method
+     *
+     * @return {@code true} if an array is allocated for the format parameters
+     */
+    private boolean allocatesParameterArray(final LoggerMessageMethod messageMethod) {
+        return messageMethod.message().format() != Format.NO_FORMAT && !isPrecompiledFormat(messageMethod)
+                && !isDeferredFormat(messageMethod) && loggerParameterCount(messageMethod) > MAX_FIXED_ARITY;
+    }
+
+    /**
+     * Returns the number of format parameters passed to the logger, including the structured message if
+     * {@linkplain GenerationOptions#structuredMessages() structured message} is passed.
+     *
+     * @param messageMethod the message method
+     *
+     * @return the number of parameters passed to the logger
+     */
+    private int loggerParameterCount(final LoggerMessageMethod messageMethod) {
+        return messageMethod.formatParameterCount() + (options.structuredMessages() ? 1 : 0);
+    }
+
+    /**
+     * Creates the structured message passed to the logger as the last format parameter. The names of the parameters
+     * are a constant of the implementation, only the values are passed for each message. If only the message id is
+     * passed the structured message itself is a constant of the implementation.
+     *
+     * @param messageMethod the log method
+     * @param classDef      the class definition to add the names to
+     * @param params        the parameters of the method
+     * @param msgMethodName the name of the method which returns the message
+     *
+     * @return the expression creating the structured message
+     */
+    private JExpr createStructuredMessage(final LoggerMessageMethod messageMethod, final JClassDef classDef,
+            final Map<Parameter, JParamDeclaration> params, final String msgMethodName) {
+        final String projectCode = messageInterface().projectCode();
+        final MessageMethod.Message message = messageMethod.message();
+        final JExpr projectCodeArg = projectCode == null || projectCode.isEmpty() ? NULL : JExprs.str(projectCode);
+        final JExpr idArg = JExprs.decimal(message.hasId() ? message.id() : 0);
+        // Overloaded methods have different parameters
+        final String baseName = messageMethod.name() + (options.structuredParameters() ? "_$ParameterNames"
+                : "_$StructuredMessage");
+        String fieldName = baseName;
+        for (int i = 1; !structuredMessageFields.add(fieldName); i++) {
+            fieldName = baseName + i;
+        }
+        if (!options.structuredParameters()) {
+            // The message is read from the record, so the template is not passed
+            final JVarDeclaration messageField = classDef.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL,
+                    structuredMessageType(classDef), fieldName, structuredMessageType(classDef)._new()
+                            .arg(projectCodeArg)
+                            .arg(idArg)
+                            .arg(NULL)
+                            .arg($t(String.class).array()._new(JExprs.decimal(0)))
+                            .arg($t(Object.class).array()._new(JExprs.decimal(0))));
+            return $v(messageField);
+        }
+        final JArrayExpr names = $t(String.class).array()._newArray();
+        // The values are passed in an array as a single vararg parameter would otherwise be passed as the values
+        final JArrayExpr values = $t(Object.class).array()._newArray();
+        for (Map.Entry<Parameter, JParamDeclaration> entry : params.entrySet()) {
+            if (entry.getKey().isFormatParameter()) {
+                names.add(JExprs.str(entry.getKey().name()));
+                values.add($v(entry.getValue()));
+            }
+        }
+        final JVarDeclaration namesField = classDef.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL,
+                $t(String.class).array(), fieldName, names);
+        return structuredMessageType(classDef)._new()
+                .arg(projectCodeArg)
+                .arg(idArg)
+                .arg(JExprs.call(msgMethodName))
+                .arg($v(namesField))
+                .arg(values);
+    }
+
+    /**
+     * Creates the type of the structured message if it has not yet been created. The structured message is an
+     * unmodifiable map of the project code, the id and the unformatted message followed by the format parameters by
+     * name. The map is only created when it is first read, the project code and id are read without creating it.
+     *
+     * @param classDef the class definition to add the type to
+     *
+     * @return the type of the structured message
+     */
+    private JType structuredMessageType(final JClassDef classDef) {
+        if (structuredMessageClass == null) {
+            final JType stringType = $t(String.class);
+            final JType objectType = $t(Object.class);
+            final JType mapType = $t(Map.class).typeArg(stringType, objectType);
+            sourceFile._import(AbstractMap.class);
+            sourceFile._import(Collections.class);
+            sourceFile._import(Map.class);
+            sourceFile._import(Set.class);
+            structuredMessageClass = classDef._class(JMod.PRIVATE | JMod.STATIC | JMod.FINAL,
+                    STRUCTURED_MESSAGE_CLASS_NAME);
+            structuredMessageClass._extends($t(AbstractMap.class).typeArg(stringType, objectType));
+            final JVarDeclaration projectCodeField = structuredMessageClass.field(JMod.PRIVATE | JMod.FINAL, stringType,
+                    "projectCode");
+            final JVarDeclaration idField = structuredMessageClass.field(JMod.PRIVATE | JMod.FINAL, JType.INT, "id");
+            final JVarDeclaration templateField = structuredMessageClass.field(JMod.PRIVATE | JMod.FINAL, stringType,
+                    "template");
+            final JVarDeclaration namesField = structuredMessageClass.field(JMod.PRIVATE | JMod.FINAL, stringType.array(),
+                    "names");
+            final JVarDeclaration valuesField = structuredMessageClass.field(JMod.PRIVATE | JMod.FINAL,
+                    objectType.array(), "values");
+            final JVarDeclaration mapField = structuredMessageClass.field(JMod.PRIVATE, mapType, "map");
+
+            final JMethodDef constructor = structuredMessageClass.constructor(0);
+            final JBlock constructorBody = constructor.body();
+            constructorBody.assign(THIS.field(projectCodeField.name()),
+                    $v(constructor.param(JMod.FINAL, stringType, "projectCode")));
+            constructorBody.assign(THIS.field(idField.name()), $v(constructor.param(JMod.FINAL, JType.INT, "id")));
+            constructorBody.assign(THIS.field(templateField.name()),
+                    $v(constructor.param(JMod.FINAL, stringType, "template")));
+            constructorBody.assign(THIS.field(namesField.name()),
+                    $v(constructor.param(JMod.FINAL, stringType.array(), "names")));
+            constructorBody.assign(THIS.field(valuesField.name()),
+                    $v(constructor.param(JMod.FINAL, objectType.array(), "values")));
+
+            final JMethodDef entrySet = structuredMessageClass.method(JMod.PUBLIC,
+                    $t(Set.class).typeArg($t(Map.Entry.class).typeArg(stringType, objectType)), "entrySet");
+            entrySet.annotate(Override.class);
+            final JBlock body = entrySet.body();
+            final JAssignableExpr result = $v(body.var(0, mapType, "result", $v(mapField)));
+            final JBlock createBlock = body._if(result.eq(NULL)).block(Braces.REQUIRED);
+            sourceFile._import(LinkedHashMap.class);
+            final JExpr entries = $v(createBlock.var(JMod.FINAL, mapType, "entries",
+                    $t(LinkedHashMap.class).typeArg(stringType, objectType)._new()));
+            createBlock._if($v(projectCodeField).ne(NULL)).block(Braces.REQUIRED)
+                    .add(entries.call("put").arg(JExprs.str(PROJECT_CODE_KEY)).arg($v(projectCodeField)));
+            createBlock._if($v(idField).ne(JExprs.decimal(0))).block(Braces.REQUIRED)
+                    .add(entries.call("put").arg(JExprs.str(ID_KEY)).arg($v(idField)));
+            createBlock._if($v(templateField).ne(NULL)).block(Braces.REQUIRED)
+                    .add(entries.call("put").arg(JExprs.str(TEMPLATE_KEY)).arg($v(templateField)));
+            final JFor loop = createBlock._for();
+            final JAssignableExpr i = $v(loop.init(0, JType.INT, "i", JExprs.decimal(0)).name());
+            loop.test(i.lt($v(namesField).field("length"))).update(i.postInc());
+            loop.block(Braces.REQUIRED).add(entries.call("put").arg($v(namesField).idx(i)).arg($v(valuesField).idx(i)));
+            createBlock.assign(result, $t(Collections.class).call("unmodifiableMap").arg(entries));
+            createBlock.assign($v(mapField), result);
+            body._return(result.call("entrySet"));
+
+            // Filters on the message id should not need to create the map
+            final JMethodDef get = structuredMessageClass.method(JMod.PUBLIC, objectType, "get");
+            get.annotate(Override.class);
+            final JExpr key = $v(get.param(JMod.FINAL, objectType, "key"));
+            final JBlock getBody = get.body();
+            getBody._if(JExprs.str(ID_KEY).call("equals").arg(key)).block(Braces.REQUIRED)
+                    ._return($v(idField).eq(JExprs.decimal(0)).cond(NULL, $v(idField)));
+            getBody._if(JExprs.str(PROJECT_CODE_KEY).call("equals").arg(key)).block(Braces.REQUIRED)
+                    ._return($v(projectCodeField));
+            getBody._return($v("super").call("get").arg(key));
+        }
+        return $t(structuredMessageClass);
+    }
+
+    /**
+     * Creates a method annotated with {@link org.jboss.logging.annotations.EnabledCheck}. The method returns
+     * {@code true} if any of the overloaded log methods would log the message. The state of the log methods is read,
+     * but never changed.
+     *
+     * @param enabledCheckMethod the enabled check method
+     * @param messageMethods     the message methods of the logger
+     * @param classDef           the class definition used to create the method on
+     * @param logger             the logger to use
+     */
+    private void createEnabledCheckMethod(final EnabledCheckMethod enabledCheckMethod,
+            final Set<MessageMethod> messageMethods, final JClassDef classDef, final JExpr logger) {
+        final JMethodDef method = classDef.method(JMod.PUBLIC | JMod.FINAL, JType.BOOLEAN, enabledCheckMethod.name());
+        method.annotate(Override.class);
+        // Overloaded methods share their state, so only distinct levels and states need to be checked
+        final Map<String, JExpr> checks = new LinkedHashMap<>();
+        for (MessageMethod messageMethod : messageMethods) {
+            if (!(messageMethod instanceof LoggerMessageMethod)
+                    || !messageMethod.name().equals(enabledCheckMethod.checkedMethodName())) {
+                continue;
+            }
+            final LoggerMessageMethod loggerMessageMethod = (LoggerMessageMethod) messageMethod;
+            final String levelName = loggerMessageMethod.logLevel();
+            if (options.isElided(levelName)) {
+                continue;
+            }
+            sourceFile.importStatic(Logger.Level.class, levelName);
+            JExpr check;
+            String key;
+            if (options.levelOverrides()) {
+                check = JExprs.call(IS_ENABLED_METHOD_NAME).arg(logger).arg(levelOverride(loggerMessageMethod));
+                key = messageKey(loggerMessageMethod) + ":" + levelName;
+            } else {
+                check = logger.call("isEnabled").arg($v(levelName));
+                key = levelName;
+            }
+            if (messageMethod.isAnnotatedWith(Once.class)) {
+                final Once.Scope scope = messageMethod.getAnnotation(Once.class).scope();
+                // Messages logged once for each key are only known to be logged once the key is known
+                if (scope == Once.Scope.INSTANCE) {
+                    check = check.and($v(instanceOnceVars.get(messageMethod.name() + "_$InstanceOnce")).call("get").not());
+                } else if (scope == Once.Scope.CLASS_LOADER) {
+                    check = check.and($v(logOnceVars.get(messageMethod.name() + "_$Once")).call("get").not());
+                }
+                key += ":" + scope;
+            } else if (messageMethod.isAnnotatedWith(RateLimited.class)) {
+                // Mirrors the limit of the _acquirePermit() method without moving the arrival time
+                final RateLimited rateLimited = messageMethod.getAnnotation(RateLimited.class);
+                final long periodNanos = rateLimited.unit().toNanos(rateLimited.period());
+                final long interval = Math.max(1L, periodNanos / rateLimited.limit());
+                final JExpr state = $v(rateLimitVars.get(messageMethod.name() + "_$RateLimited"));
+                check = check.and(state.call("get").minus($t(System.class).call("nanoTime"))
+                        .le(JExprs.decimal(Math.max(0L, periodNanos - interval))));
+                key += ":" + RateLimited.class.getSimpleName();
+            }
+            checks.putIfAbsent(key, check);
+        }
+        JExpr result = checks.isEmpty() ? JExpr.FALSE : null;
+        for (JExpr check : checks.values()) {
+            result = result == null ? check : result.or(check);
+        }
+        method.body()._return(result);
+    }
+
+    /**
+     * Creates the check which decides if a {@link Sampled} message is logged. The decision uses the
+     * {@link ThreadLocalRandom} of the current thread so no state is shared between threads.
+     *
+     * @param messageMethod the message method
+     *
+     * @return the expression which is {@code true} if the message should be logged
+     */
+    private JExpr createSampleCheck(final LoggerMessageMethod messageMethod) {
+        final Sampled sampled = messageMethod.getAnnotation(Sampled.class);
+        final JType threadLocalRandom = $t(ThreadLocalRandom.class);
+        sourceFile._import(threadLocalRandom);
+        final JCall random = threadLocalRandom.call("current");
+        if (sampled.every() > 0) {
+            return random.call("nextInt").arg(JExprs.decimal(sampled.every())).eq(JExprs.decimal(0));
+        }
+        return random.call("nextDouble").lt(JExprs.decimal(sampled.fraction()));
+    }
+
+    /**
+     * Creates the check for a message method annotated with {@link Once}. The state is shared with overloaded methods
+     * of the same {@linkplain Once#scope() scope}.
+     * <p>
+     * The state is read before attempting to change it. Once the message has been logged the check is a volatile read
+     * and does not contend on the cache line.
+     * </p>
+     *
+     * @param messageMethod the message method
+     * @param classDef      the class definition to add the fields to
+     * @param params        the parameters of the method
+     *
+     * @return the expression which is {@code true} only the first time the message should be logged
+     */
+    private JExpr createOnceCheck(final LoggerMessageMethod messageMethod, final JClassDef classDef,
+            final Map<Parameter, JParamDeclaration> params) {
+        final Once.Scope scope = messageMethod.getAnnotation(Once.class).scope();
+        if (scope == Once.Scope.KEY) {
+            final Once once = messageMethod.getAnnotation(Once.class);
+            final JType onceKeys = onceKeysType(classDef);
+            final String varName = messageMethod.name() + "_$OnceKeys";
+            if (!logOnceKeyVars.containsKey(varName)) {
+                // Each stripe is limited to its share of the maximum number of keys, small sets are not striped
+                final int stripes = Integer.highestOneBit(Math.max(1, Math.min(MAX_ONCE_KEY_STRIPES,
+                        once.maxKeys() / MIN_ONCE_KEYS_PER_STRIPE)));
+                final int capacity = (once.maxKeys() + stripes - 1) / stripes;
+                logOnceKeyVars.put(varName, classDef.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, onceKeys, varName,
+                        onceKeys._new()
+                                .arg(JExprs.decimal(stripes))
+                                .arg(JExprs.decimal(capacity))
+                                .arg(JExprs.decimal(once.expireUnit().toNanos(once.expireAfter())))));
+            }
+            // A single key is used as is, multiple keys are a list of the values in the order they are declared
+            final List<JExpr> keys = new ArrayList<>();
+            final Set<Parameter> keyParameters = messageMethod.parametersAnnotatedWith(OnceKey.class);
+            params.forEach((parameter, param) -> {
+                if (keyParameters.contains(parameter)) {
+                    keys.add($v(param));
+                }
+            });
+            final JExpr key;
+            if (keys.size() == 1) {
+                key = keys.get(0);
+            } else {
+                final JType arrays = $t(Arrays.class);
+                sourceFile._import(arrays);
+                final JCall asList = arrays.call("asList");
+                keys.forEach(asList::arg);
+                key = asList;
+            }
+            return $v(logOnceKeyVars.get(varName)).call("first").arg(key);
+        }
+        final JType atomicBoolean = $t(AtomicBoolean.class);
+        sourceFile._import(atomicBoolean);
+        final JVarDeclaration var;
+        if (scope == Once.Scope.INSTANCE) {
+            final String varName = messageMethod.name() + "_$InstanceOnce";
+            var = instanceOnceVars.computeIfAbsent(varName, name -> classDef.field(JMod.PRIVATE | JMod.FINAL,
+                    atomicBoolean, name, atomicBoolean._new().arg(JExpr.FALSE)));
+        } else {
+            final String varName = messageMethod.name() + "_$Once";
+            var = logOnceVars.computeIfAbsent(varName, name -> classDef.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL,
+                    atomicBoolean, name, atomicBoolean._new().arg(JExpr.FALSE)));
+        }
+        return $v(var).call("get").not().and($v(var).call("compareAndSet").arg(JExpr.FALSE).arg(JExpr.TRUE));
+    }
+
+    /**
+     * Returns the type holding the keys of messages logged once per {@linkplain Once.Scope#KEY key}, creating the type
+     * if required.
+     * <p>
+     * The keys are split across stripes by hash code. Each stripe is an access ordered {@link LinkedHashMap} guarded by
+     * its own lock, which evicts the least recently used key once the stripe is full. The value of each key is the
+     * time it was logged, which allows keys to expire.
+     * </p>
+     *
+     * @param classDef the class definition to add the type to
+     *
+     * @return the once keys type
+     */
+    private JType onceKeysType(final JClassDef classDef) {
+        if (onceKeysClass == null) {
+            sourceFile._import(LinkedHashMap.class);
+            sourceFile._import(Map.class);
+            sourceFile._import(Objects.class);
+            final JType longType = $t(Long.class);
+            final JType objectType = $t(Object.class);
+            onceKeysClass = classDef._class(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, ONCE_KEYS_CLASS_NAME);
+
+            // The stripe is a bounded LRU map
+            final JClassDef stripeClass = onceKeysClass._class(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, "Stripe");
+            stripeClass._extends($t(LinkedHashMap.class).typeArg(objectType, longType));
+            stripeClass.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, JType.LONG, "serialVersionUID", JExprs.decimal(1L));
+            final JVarDeclaration capacityField = stripeClass.field(JMod.PRIVATE | JMod.FINAL, JType.INT, "capacity");
+            JMethodDef constructor = stripeClass.constructor(0);
+            JBlock body = constructor.body();
+            final JExpr stripeCapacity = $v(constructor.param(JMod.FINAL, JType.INT, "capacity"));
+            body.callSuper().arg(JExprs.decimal(16)).arg(JExprs.decimal(0.75f)).arg(JExpr.TRUE);
+            body.assign(THIS.field(capacityField.name()), stripeCapacity);
+            final JMethodDef removeEldestEntry = stripeClass.method(JMod.PROTECTED, JType.BOOLEAN, "removeEldestEntry");
+            removeEldestEntry.annotate(Override.class);
+            removeEldestEntry.param(JMod.FINAL, $t(Map.class).nestedType("Entry").typeArg(objectType, longType), "eldest");
+            removeEldestEntry.body()._return(JExprs.call("size").gt($v(capacityField)));
+            final JType stripeType = $t(stripeClass);
+
+            final JVarDeclaration stripesField = onceKeysClass.field(JMod.PRIVATE | JMod.FINAL, stripeType.array(),
+                    "stripes");
+            final JVarDeclaration expiryField = onceKeysClass.field(JMod.PRIVATE | JMod.FINAL, JType.LONG, "expiry");
+            constructor = onceKeysClass.constructor(0);
+            body = constructor.body();
+            final JExpr stripes = $v(constructor.param(JMod.FINAL, JType.INT, "stripes"));
+            final JExpr capacity = $v(constructor.param(JMod.FINAL, JType.INT, "capacity"));
+            body.assign(THIS.field(stripesField.name()), stripeType.array()._new(stripes));
+            final JFor init = body._for();
+            final JAssignableExpr i = $v(init.init(0, JType.INT, "i", JExprs.decimal(0)).name());
+            init.test(i.lt(stripes)).update(i.postInc());
+            init.block(Braces.REQUIRED).assign(THIS.field(stripesField.name()).idx(i), stripeType._new().arg(capacity));
+            body.assign(THIS.field(expiryField.name()), $v(constructor.param(JMod.FINAL, JType.LONG, "expiry")));
+
+            // Returns true if the key has not been seen or has expired
+            JMethodDef method = onceKeysClass.method(0, JType.BOOLEAN, "first");
+            final JExpr key = $v(method.param(JMod.FINAL, objectType, "key"));
+            body = method.body();
+            final JExpr hash = $v(body.var(JMod.FINAL, JType.INT, "hash", $t(Objects.class).call("hashCode").arg(key)));
+            final JExpr stripe = $v(body.var(JMod.FINAL, stripeType, "stripe", $v(stripesField)
+                    .idx(hash.bxor(hash.lshr(JExprs.decimal(16)))
+                            .band($v(stripesField).field("length").minus(JExprs.decimal(1))))));
+            final JExpr now = $v(body.var(JMod.FINAL, JType.LONG, "now", $t(System.class).call("nanoTime")));
+            final JBlock sync = body._synchronized(stripe);
+            final JExpr seen = $v(sync.var(JMod.FINAL, longType, "seen", stripe.call("get").arg(key)));
+            // Compare the difference as the nano time may overflow
+            sync._if(seen.ne(JExpr.NULL).and($v(expiryField).eq(JExprs.decimal(0L))
+                    .or(now.minus(seen).lt($v(expiryField))).paren())).block(Braces.REQUIRED)._return(JExpr.FALSE);
+            sync.add(stripe.call("put").arg(key).arg(now));
+            sync._return(JExpr.TRUE);
+
+            method = onceKeysClass.method(0, JType.VOID, "clear");
+            method.body().forEach(JMod.FINAL, stripeType, "stripe", $v(stripesField)).block(Braces.REQUIRED)
+                    ._synchronized($v("stripe")).add($v("stripe").call("clear"));
+        }
+        return $t(onceKeysClass);
+    }
+
+    /**
+     * Adds a {@code public static void resetOnce()} method which resets the {@link Once.Scope#CLASS_LOADER} and
+     * {@link Once.Scope#KEY} scoped messages. Nothing is added if there are no such messages.
+     *
+     * @param classDef the class definition to add the method to
+     */
+    private void addResetOnceMethod(final JClassDef classDef) {
+        if (logOnceVars.isEmpty() && logOnceKeyVars.isEmpty()) {
+            return;
+        }
+        final JMethodDef method = classDef.method(JMod.PUBLIC | JMod.STATIC, JType.VOID, RESET_ONCE_METHOD_NAME);
+        method.docComment().text("Resets the messages logged once, allowing them to be logged again.");
+        final JBlock body = method.body();
+        for (JVarDeclaration var : logOnceVars.values()) {
+            body.add($v(var).call("set").arg(JExpr.FALSE));
+        }
+        for (JVarDeclaration var : logOnceKeyVars.values()) {
+            body.add($v(var).call("clear"));
+        }
+    }
+
+    /**
+     * Creates the expression which returns the level the message is logged at, or {@code null} if the message is
+     * disabled. Overloaded methods with the same message id share the override.
+     *
+     * @param messageMethod the log method
+     *
+     * @return the expression returning the level of the message
+     */
+    private JExpr levelOverride(final LoggerMessageMethod messageMethod) {
+        final int index = levelOverrideIndexes.computeIfAbsent(messageKey(messageMethod),
+                key -> levelOverrideIndexes.size());
+        return JExprs.call(LEVEL_METHOD_NAME).arg(JExprs.decimal(index)).arg($v(messageMethod.logLevel()));
+    }
+
+    /**
+     * Adds the table of level overrides and the methods to change them. Nothing is added if no levels can be
+     * overridden.
+     * <p>
+     * The overrides are held in an {@link AtomicIntegerArray} where {@code 0} is no override, a negative value
+     * disables the message and any other value is the ordinal of the level plus one. Checking a message which is not
+     * overridden is a single volatile read of the array.
+     * </p>
+     *
+     * @param classDef the class definition to add the fields and methods to
+     */
+    private void addLevelOverrides(final JClassDef classDef) {
+        if (levelOverrideIndexes.isEmpty()) {
+            return;
+        }
+        final JType levelType = $t(Logger.Level.class);
+        final JType atomicIntegerArray = $t(AtomicIntegerArray.class);
+        sourceFile._import(atomicIntegerArray);
+        final JExpr levels = $v(classDef.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, levelType.array(),
+                LEVELS_FIELD_NAME, levelType.call("values")));
+        final JExpr overrides = $v(classDef.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, atomicIntegerArray,
+                LEVEL_OVERRIDES_FIELD_NAME, atomicIntegerArray._new().arg(JExprs.decimal(levelOverrideIndexes.size()))));
+        final JArrayExpr keysArray = JExprs.array();
+        levelOverrideIndexes.keySet().forEach(key -> keysArray.add(JExprs.str(key)));
+        final JExpr keys = $v(classDef.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, $t(String.class).array(),
+                LEVEL_OVERRIDE_KEYS_FIELD_NAME, keysArray));
+
+        // Returns the level of the message or null if the message is disabled
+        JMethodDef method = classDef.method(JMod.PRIVATE | JMod.STATIC, levelType, LEVEL_METHOD_NAME);
+        JExpr index = $v(method.param(JMod.FINAL, JType.INT, "index"));
+        final JExpr level = $v(method.param(JMod.FINAL, levelType, "level"));
+        JBlock body = method.body();
+        JExpr override = $v(body.var(JMod.FINAL, JType.INT, "override", overrides.call("get").arg(index)));
+        body._if(override.eq(JExprs.decimal(0))).block(Braces.REQUIRED)._return(level);
+        body._return(override.lt(JExprs.decimal(0)).cond(NULL, levels.idx(override.minus(JExprs.decimal(1)))));
+
+        method = classDef.method(JMod.PRIVATE | JMod.STATIC, JType.BOOLEAN, IS_ENABLED_METHOD_NAME);
+        final JExpr logger = $v(method.param(JMod.FINAL, Logger.class, "logger"));
+        final JExpr enabledLevel = $v(method.param(JMod.FINAL, levelType, "level"));
+        method.body()._return(enabledLevel.ne(NULL).and(logger.call("isEnabled").arg(enabledLevel)));
+
+        method = classDef.method(JMod.PRIVATE | JMod.STATIC, JType.INT, LEVEL_OVERRIDE_INDEX_METHOD_NAME);
+        JExpr key = $v(method.param(JMod.FINAL, String.class, "key"));
+        body = method.body();
+        final JFor loop = body._for();
+        final JAssignableExpr i = $v(loop.init(0, JType.INT, "i", JExprs.decimal(0)).name());
+        loop.test(i.lt(keys.field("length"))).update(i.postInc());
+        loop.block(Braces.REQUIRED)._if(keys.idx(i).call("equals").arg(key)).block(Braces.REQUIRED)._return(i);
+        body._throw($t(IllegalArgumentException.class)._new().arg(JExprs.str("No message found for ").plus(key)));
+
+        // The public methods are shared with the MXBean
+        method = classDef.method(JMod.PUBLIC | JMod.STATIC, $t(String.class).array(), "getLevelOverrideKeys");
+        method.docComment().text("Returns the message ids, or method names of messages without an id, which can be "
+                + "overridden.");
+        method.body()._return(keys.call("clone"));
+
+        method = classDef.method(JMod.PUBLIC | JMod.STATIC, String.class, "getLevelOverride");
+        method.docComment().text("Returns the name of the level the message is logged at, " + LEVEL_OFF
+                + " if the message is disabled or null if the level is not overridden.");
+        key = $v(method.param(JMod.FINAL, String.class, "key"));
+        body = method.body();
+        override = $v(body.var(JMod.FINAL, JType.INT, "override",
+                overrides.call("get").arg(JExprs.call(LEVEL_OVERRIDE_INDEX_METHOD_NAME).arg(key))));
+        body._if(override.eq(JExprs.decimal(0))).block(Braces.REQUIRED)._return(NULL);
+        body._return(override.lt(JExprs.decimal(0)).cond(JExprs.str(LEVEL_OFF),
+                levels.idx(override.minus(JExprs.decimal(1))).call("name")));
+
+        method = classDef.method(JMod.PUBLIC | JMod.STATIC, JType.VOID, "setLevelOverride");
+        method.docComment().text("Overrides the level the message is logged at. The level is the name of a level, "
+                + LEVEL_OFF + " to disable the message or null to remove the override.");
+        key = $v(method.param(JMod.FINAL, String.class, "key"));
+        final JExpr levelName = $v(method.param(JMod.FINAL, String.class, "level"));
+        body = method.body();
+        index = $v(body.var(JMod.FINAL, JType.INT, "index", JExprs.call(LEVEL_OVERRIDE_INDEX_METHOD_NAME).arg(key)));
+        final JIf ifNull = body._if(levelName.eq(NULL));
+        ifNull.block(Braces.REQUIRED).add(overrides.call("set").arg(index).arg(JExprs.decimal(0)));
+        final JIf ifOff = ifNull.elseIf(JExprs.str(LEVEL_OFF).call("equals").arg(levelName));
+        ifOff.block(Braces.REQUIRED).add(overrides.call("set").arg(index).arg(JExprs.decimal(-1)));
+        ifOff._else().block(Braces.REQUIRED).add(overrides.call("set").arg(index)
+                .arg(levelType.call("valueOf").arg(levelName).call("ordinal").plus(JExprs.decimal(1))));
+
+        addMXBean(classDef, LEVEL_OVERRIDES_MXBEAN_NAME, "Manages the level overrides of the messages.",
+                "registerLevelOverrides",
+                new MXBeanMethod($t(String.class).array(), "getLevelOverrideKeys"),
+                new MXBeanMethod($t(String.class), "getLevelOverride", "key"),
+                new MXBeanMethod(JType.VOID, "setLevelOverride", "key", "level"));
+    }
+
+    /**
+     * Creates the check for the {@link RateLimited} limit of the message method. The limit is shared with overloaded
+     * methods.
+     * <p>
+     * The limit uses the generic cell rate algorithm, which is a token bucket which only needs a single
+     * {@link AtomicLong} holding the theoretical arrival time of the next message. Each permitted message moves the
+     * arrival time forward by the period divided by the limit. A message is suppressed if the arrival time is more
+     * than the period, minus one interval, ahead of the current time. Suppressed messages are counted in a second
+     * {@link AtomicLong} which is reset by the next permitted message.
+     * </p>
+     *
+     * @param messageMethod the message method
+     * @param classDef      the class definition to add the fields and helper method to
+     *
+     * @return the expression returning the number of suppressed messages or {@code -1} if this message is suppressed
+     */
+    private JExpr createRateLimitCheck(final LoggerMessageMethod messageMethod, final JClassDef classDef) {
+        final JType atomicLong = $t(AtomicLong.class);
+        sourceFile._import(atomicLong);
+        // The variables will be shared with overloaded methods
+        final String stateName = messageMethod.name() + "_$RateLimited";
+        final String suppressedName = messageMethod.name() + "_$Suppressed";
+        if (!rateLimitVars.containsKey(stateName)) {
+            rateLimitVars.put(stateName, classDef.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, atomicLong, stateName,
+                    atomicLong._new().arg($t(System.class).call("nanoTime"))));
+            rateLimitVars.put(suppressedName, classDef.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, atomicLong,
+                    suppressedName, atomicLong._new()));
+        }
+        if (!rateLimitHelpersGenerated) {
+            addRateLimitHelpers(classDef);
+            rateLimitHelpersGenerated = true;
+        }
+        final RateLimited rateLimited = messageMethod.getAnnotation(RateLimited.class);
+        final long periodNanos = rateLimited.unit().toNanos(rateLimited.period());
+        final long interval = Math.max(1L, periodNanos / rateLimited.limit());
+        return JExprs.call(ACQUIRE_PERMIT_METHOD_NAME)
+                .arg($v(rateLimitVars.get(stateName)))
+                .arg($v(rateLimitVars.get(suppressedName)))
+                .arg(JExprs.decimal(interval))
+                .arg(JExprs.decimal(Math.max(0L, periodNanos - interval)));
+    }
+
+    private void addRateLimitHelpers(final JClassDef classDef) {
+        final JType atomicLong = $t(AtomicLong.class);
+        JMethodDef method = classDef.method(JMod.PRIVATE | JMod.STATIC, JType.LONG, ACQUIRE_PERMIT_METHOD_NAME);
+        final JExpr state = $v(method.param(JMod.FINAL, atomicLong, "state"));
+        final JExpr suppressed = $v(method.param(JMod.FINAL, atomicLong, "suppressed"));
+        final JExpr interval = $v(method.param(JMod.FINAL, JType.LONG, "interval"));
+        final JExpr tolerance = $v(method.param(JMod.FINAL, JType.LONG, "tolerance"));
+        JBlock body = method.body();
+        final JExpr now = $v(body.var(JMod.FINAL, JType.LONG, "now", $t(System.class).call("nanoTime")));
+        final JAssignableExpr current = $v(body.var(0, JType.LONG, "current"));
+        final JAssignableExpr arrival = $v(body.var(0, JType.LONG, "arrival"));
+        final JBlock loop = body._do(state.call("compareAndSet").arg(current).arg(arrival.plus(interval)).not());
+        loop.assign(current, state.call("get"));
+        // Compare the difference as the nano time may overflow
+        loop.assign(arrival, current.minus(now).gt(JExprs.decimal(0)).cond(current, now));
+        final JBlock suppressBody = loop._if(arrival.minus(now).gt(tolerance)).block(Braces.REQUIRED);
+        suppressBody.add(suppressed.call("incrementAndGet"));
+        suppressBody._return(JExprs.decimal(-1));
+        body._return(suppressed.call("getAndSet").arg(JExprs.decimal(0)));
+
+        method = classDef.method(JMod.PRIVATE | JMod.STATIC, String.class, APPEND_SUPPRESSED_METHOD_NAME);
+        final JExpr message = $v(method.param(JMod.FINAL, String.class, "message"));
+        final JExpr count = $v(method.param(JMod.FINAL, JType.LONG, "suppressed"));
+        body = method.body();
+        body._if(count.le(JExprs.decimal(0))).block(Braces.REQUIRED)._return(message);
+        body._return(message.plus(JExprs.str(" [")).plus(count).plus(JExprs.str(" similar messages were suppressed]")));
+    }
+
+    /**
+     * Creates the check for a message method annotated with {@link Coalesced}. The window is shared with overloaded
+     * methods of the same logger instance, so repeated messages are only counted in the window of their category.
+     *
+     * @param messageMethod the message method
+     * @param classDef      the class definition to add the field to
+     * @param logger        the logger the summary is logged to
+     *
+     * @return the expression which is {@code true} if the message should be logged, {@code false} if it was counted
+     */
+    private JExpr createCoalescedCheck(final LoggerMessageMethod messageMethod, final JClassDef classDef,
+            final JExpr logger) {
+        final JType coalescedMessage = coalescedMessageType(classDef);
+        final String varName = messageMethod.name() + "_$Coalesced";
+        if (!coalescedVars.containsKey(varName)) {
+            final Coalesced coalesced = messageMethod.getAnnotation(Coalesced.class);
+            final String levelName = messageMethod.logLevel();
+            sourceFile.importStatic(Logger.Level.class, levelName);
+            final String description = coalesced.window() + " " + coalesced.unit().name().toLowerCase(Locale.ROOT);
+            // The placeholders of the message are replaced in the summary as the arguments are not kept
+            final String placeholders;
+            if (messageMethod.formatParameterCount() == 0 || messageMethod.message().format() == Format.NO_FORMAT) {
+                placeholders = COALESCED_NO_PLACEHOLDERS;
+            } else if (messageMethod.message().format() == Format.PRINTF) {
+                placeholders = COALESCED_PRINTF_PLACEHOLDERS;
+            } else {
+                placeholders = COALESCED_MESSAGE_FORMAT_PLACEHOLDERS;
+            }
+            coalescedVars.put(varName, classDef.field(JMod.PRIVATE | JMod.FINAL, coalescedMessage, varName,
+                    coalescedMessage._new()
+                            .arg($v(levelName))
+                            .arg(coalescedMessage.field(placeholders))
+                            .arg(JExprs.decimal(coalesced.unit().toNanos(coalesced.window())))
+                            .arg(JExprs.str(description))));
+        }
+        return $v(coalescedVars.get(varName)).call("first").arg(logger)
+                .arg(JExprs.call(messageMethod.messageMethodName()));
+    }
+
+    /**
+     * Returns the type holding the state of a {@linkplain Coalesced coalesced} message, creating the type if required.
+     * <p>
+     * The first message opens the window and schedules the summary. Messages logged while the window is open are
+     * counted in a {@link LongAdder}. When the window closes the summary is logged if any messages were counted and a
+     * new window is scheduled, otherwise the window is closed. The window is closed with a compare-and-set and the
+     * count is checked again, so messages counted while the window closes are reported in the next window.
+     * </p>
+     * <p>
+     * The summaries of all messages of the implementation are scheduled on one executor. Its single daemon thread is
+     * only started once a window is opened and stops once no window has been open for a while, so the thread does not
+     * keep the class loader of the implementation reachable. The scheduled summaries only reference the state weakly.
+     * </p>
+     *
+     * @param classDef the class definition to add the type to
+     *
+     * @return the coalesced message type
+     */
+    private JType coalescedMessageType(final JClassDef classDef) {
+        if (coalescedMessageClass == null) {
+            final JType stringType = $t(String.class);
+            final JType objectType = $t(Object.class);
+            final JType loggerType = $t(Logger.class);
+            final JType levelType = $t(Logger.Level.class);
+            final JType atomicBoolean = $t(AtomicBoolean.class);
+            final JType longAdder = $t(LongAdder.class);
+            final JType scheduler = $t(ScheduledThreadPoolExecutor.class);
+            final JType timeUnit = $t(TimeUnit.class);
+            final JType pattern = $t(Pattern.class);
+            final JType messageFormat = $t(MessageFormat.class);
+            sourceFile._import(levelType);
+            sourceFile._import(atomicBoolean);
+            sourceFile._import(longAdder);
+            sourceFile._import(scheduler);
+            sourceFile._import(timeUnit);
+            sourceFile._import(pattern);
+            sourceFile._import(messageFormat);
+            sourceFile._import(WeakReference.class);
+            coalescedMessageClass = classDef._class(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, COALESCED_MESSAGE_CLASS_NAME);
+            // The state is serialized with the logger, a deserialized message starts with a closed window
+            sourceFile._import(Serializable.class);
+            coalescedMessageClass._implements(Serializable.class);
+            coalescedMessageClass.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, JType.LONG, "serialVersionUID",
+                    JExprs.decimal(1L));
+            coalescedMessageClass.field(JMod.STATIC | JMod.FINAL, JType.INT, COALESCED_NO_PLACEHOLDERS,
+                    JExprs.decimal(0));
+            coalescedMessageClass.field(JMod.STATIC | JMod.FINAL, JType.INT, COALESCED_PRINTF_PLACEHOLDERS,
+                    JExprs.decimal(1));
+            coalescedMessageClass.field(JMod.STATIC | JMod.FINAL, JType.INT, COALESCED_MESSAGE_FORMAT_PLACEHOLDERS,
+                    JExprs.decimal(2));
+
+            final JLambda threadFactory = JExprs.lambda().param("task");
+            JBlock body = threadFactory.body();
+            final JExpr thread = $v(body.var(JMod.FINAL, Thread.class, "thread", $t(Thread.class)._new()
+                    .arg($v("task"))
+                    .arg(JExprs.str(qualifiedClassName() + " coalesced messages"))));
+            body.add(thread.call("setDaemon").arg(JExpr.TRUE));
+            body._return(thread);
+            // Without core threads the thread is only started once a summary is scheduled
+            final JVarDeclaration schedulerField = coalescedMessageClass.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL,
+                    scheduler, "SCHEDULER", scheduler._new().arg(JExprs.decimal(0)).arg(threadFactory));
+            coalescedMessageClass.staticInit().add($v(schedulerField).call("setKeepAliveTime")
+                    .arg(JExprs.decimal(COALESCED_KEEP_ALIVE_SECONDS)).arg(timeUnit.field("SECONDS")));
+            final JVarDeclaration printfField = coalescedMessageClass.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL,
+                    pattern, "PRINTF_PLACEHOLDER", pattern.call("compile").arg(JExprs.str(PRINTF_PLACEHOLDER_REGEX)));
+
+            final JVarDeclaration levelField = coalescedMessageClass.field(JMod.PRIVATE | JMod.FINAL, levelType, "level");
+            final JVarDeclaration placeholdersField = coalescedMessageClass.field(JMod.PRIVATE | JMod.FINAL, JType.INT,
+                    "placeholders");
+            final JVarDeclaration windowField = coalescedMessageClass.field(JMod.PRIVATE | JMod.FINAL, JType.LONG, "window");
+            final JVarDeclaration descriptionField = coalescedMessageClass.field(JMod.PRIVATE | JMod.FINAL, stringType,
+                    "description");
+            final JVarDeclaration countField = coalescedMessageClass.field(JMod.PRIVATE | JMod.FINAL | JMod.TRANSIENT,
+                    longAdder, "count", longAdder._new());
+            final JVarDeclaration openField = coalescedMessageClass.field(JMod.PRIVATE | JMod.FINAL | JMod.TRANSIENT,
+                    atomicBoolean, "open", atomicBoolean._new().arg(JExpr.FALSE));
+            // Only written by the thread opening the window, scheduling the summary publishes the values
+            final JVarDeclaration logField = coalescedMessageClass.field(JMod.PRIVATE | JMod.TRANSIENT, loggerType, "log");
+            final JVarDeclaration messageField = coalescedMessageClass.field(JMod.PRIVATE | JMod.TRANSIENT, stringType,
+                    "message");
+
+            final JMethodDef constructor = coalescedMessageClass.constructor(0);
+            body = constructor.body();
+            body.assign(THIS.field(levelField.name()), $v(constructor.param(JMod.FINAL, levelType, "level")));
+            body.assign(THIS.field(placeholdersField.name()),
+                    $v(constructor.param(JMod.FINAL, JType.INT, "placeholders")));
+            body.assign(THIS.field(windowField.name()), $v(constructor.param(JMod.FINAL, JType.LONG, "window")));
+            body.assign(THIS.field(descriptionField.name()), $v(constructor.param(JMod.FINAL, stringType, "description")));
+
+            // Returns true if the message opened the window and should be logged
+            JMethodDef method = coalescedMessageClass.method(0, JType.BOOLEAN, "first");
+            final JExpr log = $v(method.param(JMod.FINAL, loggerType, "log"));
+            final JExpr message = $v(method.param(JMod.FINAL, stringType, "message"));
+            body = method.body();
+            final JBlock openBlock = body._if($v(openField).call("get").not()
+                    .and($v(openField).call("compareAndSet").arg(JExpr.FALSE).arg(JExpr.TRUE))).block(Braces.REQUIRED);
+            openBlock.assign(THIS.field(logField.name()), log);
+            openBlock.assign(THIS.field(messageField.name()), message);
+            openBlock.add(JExprs.call("schedule"));
+            openBlock._return(JExpr.TRUE);
+            body.add($v(countField).call("increment"));
+            body._return(JExpr.FALSE);
+
+            // The scheduled summary does not keep the logger reachable
+            method = coalescedMessageClass.method(JMod.PRIVATE, JType.VOID, "schedule");
+            body = method.body();
+            final JType referenceType = $t(WeakReference.class).typeArg($t(coalescedMessageClass));
+            final JExpr reference = $v(body.var(JMod.FINAL, referenceType, "reference",
+                    $t(WeakReference.class).typeArg($t(coalescedMessageClass))._new().arg(THIS)));
+            final JLambda summary = JExprs.lambda();
+            final JBlock summaryBody = summary.body();
+            final JExpr coalescedMessage = $v(summaryBody.var(JMod.FINAL, $t(coalescedMessageClass), "coalescedMessage",
+                    reference.call("get")));
+            summaryBody._if(coalescedMessage.ne(NULL)).block(Braces.REQUIRED).add(coalescedMessage.call("summarize"));
+            body.add($v(schedulerField).call("schedule").arg(summary).arg($v(windowField))
+                    .arg(timeUnit.field("NANOSECONDS")));
+
+            // Logs the summary and keeps the window open if any messages were counted
+            method = coalescedMessageClass.method(JMod.PRIVATE, JType.VOID, "summarize");
+            body = method.body();
+            final JExpr repeated = $v(body.var(JMod.FINAL, JType.LONG, "repeated", $v(countField).call("sumThenReset")));
+            final JBlock closeBlock = body._if(repeated.eq(JExprs.decimal(0L))).block(Braces.REQUIRED);
+            // Messages counted after the sum was taken are reported in the next window
+            closeBlock._if($v(openField).call("compareAndSet").arg(JExpr.TRUE).arg(JExpr.FALSE)
+                    .and($v(countField).call("sum").gt(JExprs.decimal(0L)))
+                    .and($v(openField).call("compareAndSet").arg(JExpr.FALSE).arg(JExpr.TRUE)))
+                    .block(Braces.REQUIRED)
+                    .add(JExprs.call("schedule"));
+            closeBlock._return();
+            body.add($v(logField).call("log")
+                    .arg($v(levelField))
+                    .arg($v(FQCN_FIELD_NAME))
+                    .arg(JExprs.call("withoutPlaceholders")
+                            .plus(JExprs.str(" [repeated ")).plus(repeated).plus(JExprs.str(" times in "))
+                            .plus($v(descriptionField)).plus(JExprs.str("]")))
+                    .arg(NULL));
+            body.add(JExprs.call("schedule"));
+
+            // Replaces the placeholders of the message, the summary is logged without the arguments
+            method = coalescedMessageClass.method(JMod.PRIVATE, stringType, "withoutPlaceholders");
+            body = method.body();
+            final JLambda replacement = JExprs.lambda().param("match");
+            final JExpr group = $v("match").call("group");
+            replacement.body(JExprs.str("%%").call("equals").arg(group).cond(JExprs.str("%"),
+                    JExprs.str("%n").call("equals").arg(group).cond($t(System.class).call("lineSeparator"),
+                            JExprs.str(PLACEHOLDER_REPLACEMENT))));
+            body._if($v(placeholdersField).eq($v(COALESCED_PRINTF_PLACEHOLDERS))).block(Braces.REQUIRED)
+                    ._return($v(printfField).call("matcher").arg($v(messageField)).call("replaceAll").arg(replacement));
+            final JBlock messageFormatBlock = body._if($v(placeholdersField)
+                    .eq($v(COALESCED_MESSAGE_FORMAT_PLACEHOLDERS))).block(Braces.REQUIRED);
+            final JExpr format = $v(messageFormatBlock.var(JMod.FINAL, messageFormat, "format",
+                    messageFormat._new().arg($v(messageField))));
+            final JExpr arguments = $v(messageFormatBlock.var(JMod.FINAL, objectType.array(), "arguments",
+                    objectType.array()._new(format.call("getFormatsByArgumentIndex").field("length"))));
+            final JFor loop = messageFormatBlock._for();
+            final JAssignableExpr i = $v(loop.init(0, JType.INT, "i", JExprs.decimal(0)).name());
+            loop.test(i.lt(arguments.field("length"))).update(i.postInc());
+            final JBlock loopBody = loop.block(Braces.REQUIRED);
+            loopBody.add(format.call("setFormatByArgumentIndex").arg(i).arg(NULL));
+            loopBody.assign(arguments.idx(i), JExprs.str(PLACEHOLDER_REPLACEMENT));
+            messageFormatBlock._return(format.call("format").arg(arguments));
+            body._return($v(messageField));
+
+            // A deserialized message starts with a new window
+            method = coalescedMessageClass.method(JMod.PRIVATE, objectType, "readResolve");
+            method.body()._return($t(coalescedMessageClass)._new()
+                    .arg($v(levelField))
+                    .arg($v(placeholdersField))
+                    .arg($v(windowField))
+                    .arg($v(descriptionField)));
+        }
+        return $t(coalescedMessageClass);
+    }
+
+    /**
+     * Appends the number of suppressed messages to the message if the message is {@linkplain RateLimited rate limited}.
+     *
+     * @param message    the message expression
+     * @param suppressed the suppressed count expression or {@code null} if the method is not rate limited
+     *
+     * @return the message expression
+     */
+    private static JExpr appendSuppressed(final JExpr message, final JExpr suppressed) {
+        if (suppressed == null) {
+            return message;
+        }
+        return JExprs.call(APPEND_SUPPRESSED_METHOD_NAME).arg(message).arg(suppressed);
+    }
+
+    /**
+     * Captures the value of a parameter passed to a deferred message based on the parameters {@link Snapshot} policy.
+     *
+     * @param param the parameter
+     * @param value the value passed to the deferred message
+     *
+     * @return the value to capture
+     */
+    private JExpr snapshot(final Parameter param, final JExpr value) {
+        if (param.isAnnotatedWith(Snapshot.class) && param.getAnnotation(Snapshot.class).value() == Policy.TO_STRING) {
+            return $t(String.class).call("valueOf").arg(value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the type of the message passed to the logger for deferred formats, creating the type if required.
+     * <p>
+     * The message holds the logger, a reference to the message method and the arguments. The message is formatted
+     * the first time {@code toString()} is invoked, the same way the logger would have formatted it.
+     * </p>
+     *
+     * @param classDef the class definition to add the type to
+     *
+     * @return the deferred message type
+     */
+    private JType deferredMessageType(final JClassDef classDef) {
+        if (deferredMessageClass == null) {
+            final JType implType = $t(classDef);
+            final JType stringType = $t(String.class);
+            final JType messageMethodType = $t(Function.class).typeArg(implType, stringType);
+            sourceFile._import(Function.class);
+            sourceFile._import(MessageFormat.class);
+            deferredMessageClass = classDef._class(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, DEFERRED_MESSAGE_CLASS_NAME);
+            final JVarDeclaration loggerField = deferredMessageClass.field(JMod.PRIVATE | JMod.FINAL, implType, "logger");
+            final JVarDeclaration messageMethodField = deferredMessageClass.field(JMod.PRIVATE | JMod.FINAL,
+                    messageMethodType, "messageMethod");
+            final JVarDeclaration printfField = deferredMessageClass.field(JMod.PRIVATE | JMod.FINAL, JType.BOOLEAN,
+                    "printf");
+            final JVarDeclaration argsField = deferredMessageClass.field(JMod.PRIVATE | JMod.FINAL, $t(Object.class).array(),
+                    "args");
+            final JVarDeclaration messageField = deferredMessageClass.field(JMod.PRIVATE, stringType, "message");
+
+            final JMethodDef constructor = deferredMessageClass.constructor(0);
+            final JBlock constructorBody = constructor.body();
+            constructorBody.assign(THIS.field(loggerField.name()), $v(constructor.param(JMod.FINAL, implType, "logger")));
+            constructorBody.assign(THIS.field(messageMethodField.name()),
+                    $v(constructor.param(JMod.FINAL, messageMethodType, "messageMethod")));
+            constructorBody.assign(THIS.field(printfField.name()),
+                    $v(constructor.param(JMod.FINAL, JType.BOOLEAN, "printf")));
+            constructorBody.assign(THIS.field(argsField.name()), $v(constructor.varargParam(JMod.FINAL, Object.class, "args")));
+
+            final JMethodDef toString = deferredMessageClass.method(JMod.PUBLIC, stringType, "toString");
+            toString.annotate(Override.class);
+            final JBlock body = toString.body();
+            final JAssignableExpr result = $v(body.var(0, stringType, "result", $v(messageField)));
+            final JBlock formatBlock = body._if(result.eq(NULL)).block(Braces.REQUIRED);
+            final JExpr format = $v(formatBlock.var(JMod.FINAL, stringType, "format",
+                    $v(messageMethodField).call("apply").arg($v(loggerField))));
+            formatBlock.assign(result, $v(printfField).cond(
+                    stringType.call("format").arg(format).arg($v(argsField)),
+                    $t(MessageFormat.class).call("format").arg(format).arg($v(argsField))));
+            formatBlock.assign($v(messageField), result);
+            body._return(result);
+        }
+        return $t(deferredMessageClass);
     }
 
     private Map<Parameter, JParamDeclaration> createParameters(final MessageMethod messageMethod, final JMethodDef method) {
@@ -89,16 +89,24 @@ class MessageLoggerTranslator extends ClassModel {
         // Override the locale getter
         createLocaleGetter(locale, true);
 
-        final Set<Map.Entry<MessageMethod, String>> entries = this.translations.entrySet();
-        final Set<JMethodDef> methodNames = new LinkedHashSet<>();
-        for (Map.Entry<MessageMethod, String> entry : entries) {
-            JMethodDef method = addMessageMethod(entry.getKey(), entry.getValue());
-            if (methodNames.add(method)) {
-                method.annotate(Override.class);
+        // The translations are in the message table when message tables are generated
+        if (!options.translationTables()) {
+            final Set<Map.Entry<MessageMethod, String>> entries = this.translations.entrySet();
+            final Set<JMethodDef> methodNames = new LinkedHashSet<>();
+            for (Map.Entry<MessageMethod, String> entry : entries) {
+                JMethodDef method = addMessageMethod(entry.getKey(), entry.getValue());
+                if (methodNames.add(method)) {
+                    method.annotate(Override.class);
+                }
             }
         }
 
         return classDef;
     }
 
+    @Override
+    Map<MessageMethod, String> translations() {
+        return translations;
+    }
+
 }
@@ -0,0 +1,519 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generator.model;
+
+import static org.jboss.jdeparser.JExprs.$v;
+import static org.jboss.jdeparser.JTypes.$t;
+
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Formattable;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Matcher;
+
+import javax.lang.model.type.TypeKind;
+
+import org.jboss.jdeparser.JAssignableExpr;
+import org.jboss.jdeparser.JBlock;
+import org.jboss.jdeparser.JClassDef;
+import org.jboss.jdeparser.JExpr;
+import org.jboss.jdeparser.JExprs;
+import org.jboss.jdeparser.JIf;
+import org.jboss.jdeparser.JMethodDef;
+import org.jboss.jdeparser.JMod;
+import org.jboss.jdeparser.JParamDeclaration;
+import org.jboss.jdeparser.JSourceFile;
+import org.jboss.jdeparser.JType;
+import org.jboss.jdeparser.JVarDeclaration;
+import org.jboss.logging.processor.validation.StringFormatValidator;
+
+/**
+ * A {@link java.util.Formatter printf} style format which has been parsed at compile time.
+ * <p>
+ * The plan is a list of steps which append the literal text and the arguments directly to a {@link StringBuilder}.
+ * Conversions without flags, width or precision are appended by a generated helper which handles the common types
+ * without creating a {@link java.util.Formatter}. Any other conversion falls back to
+ * {@link String#format(Locale, String, Object...)} for that single conversion only.
+ * </p>
+ * <p>
+ * Arguments which are primitives are appended without boxing when the conversion allows it. For example a
+ * {@code %s} of an {@code int} is appended with {@link StringBuilder#append(int)}.
+ * </p>
+ */
+final class PrintfFormatPlan {
+
+    private static final String APPEND_METHOD_NAME = "_appendFormatArg";
+    private static final String ASCII_DIGITS_METHOD_NAME = "_hasAsciiDigits";
+    private static final String ASCII_DIGITS_FIELD_NAME = "_ASCII_DIGITS";
+    private static final String APPEND_DECIMAL_METHOD_NAME = "_appendDecimal";
+    private static final String ACQUIRE_BUFFER_METHOD_NAME = "_acquireBuffer";
+    private static final String RELEASE_BUFFER_METHOD_NAME = "_releaseBuffer";
+    private static final String BUFFER_INDEX_METHOD_NAME = "_bufferIndex";
+    private static final String BUFFERS_FIELD_NAME = "_BUFFERS";
+    // Buffers which have grown larger than this are not returned to the pool
+    private static final int MAX_POOLED_BUFFER_CAPACITY = 2048;
+    // Conversions the generated helper knows how to append
+    private static final String SIMPLE_CONVERSIONS = "sbcdxoh";
+    private static final int ARGUMENT_SIZE_ESTIMATE = 16;
+
+    private final List<Step> steps;
+    private final int capacity;
+
+    private PrintfFormatPlan(final List<Step> steps, final int capacity) {
+        this.steps = steps;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Parses the format into a plan.
+     *
+     * @param format        the format to parse
+     * @param argumentCount the number of arguments passed to the format
+     *
+     * @return the plan or {@code null} if the format cannot be planned and should be passed to the formatter as is
+     */
+    static PrintfFormatPlan of(final String format, final int argumentCount) {
+        final List<Step> steps = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        final Matcher matcher = StringFormatValidator.PATTERN.matcher(format);
+        int literalLength = 0;
+        int argCount = 0;
+        int ordinaryIndex = 0;
+        int lastIndex = -1;
+        int position = 0;
+        while (matcher.find()) {
+            final String text = format.substring(position, matcher.start());
+            // A lone % which is not a valid conversion, let the formatter report the error
+            if (text.indexOf('%') >= 0) {
+                return null;
+            }
+            literal.append(text);
+            position = matcher.end();
+
+            final String explicitIndex = matcher.group(1);
+            final String flags = matcher.group(2) == null ? "" : matcher.group(2);
+            final boolean previous = flags.indexOf('<') >= 0;
+            final String resolvedFlags = flags.replace("<", "");
+            final String width = matcher.group(3) == null ? "" : matcher.group(3);
+            final String precision = matcher.group(4) == null ? "" : matcher.group(4);
+            final String dateTime = matcher.group(5) == null ? "" : matcher.group(5);
+            final char conversion = matcher.group(6).charAt(0);
+            final boolean simple = resolvedFlags.isEmpty() && width.isEmpty() && precision.isEmpty() && dateTime.isEmpty();
+
+            // Constants do not consume an argument
+            if (conversion == '%' || conversion == 'n') {
+                if (simple && conversion == '%') {
+                    literal.append('%');
+                } else if (simple) {
+                    literalLength += flush(steps, literal);
+                    steps.add(Step.LINE_SEPARATOR);
+                } else if (explicitIndex == null && !previous) {
+                    literalLength += flush(steps, literal);
+                    steps.add(new Step(-1, conversion, "%" + flags + width + precision + conversion));
+                } else {
+                    return null;
+                }
+                continue;
+            }
+
+            // Resolve the argument index the same way java.util.Formatter does
+            final int index;
+            if (previous) {
+                if (explicitIndex != null || lastIndex < 0) {
+                    return null;
+                }
+                index = lastIndex;
+            } else if (explicitIndex != null) {
+                index = Integer.parseInt(explicitIndex.substring(0, explicitIndex.length() - 1)) - 1;
+            } else {
+                index = ordinaryIndex++;
+            }
+            if (index < 0 || index >= argumentCount) {
+                return null;
+            }
+            lastIndex = index;
+            literalLength += flush(steps, literal);
+            argCount++;
+            if (simple && SIMPLE_CONVERSIONS.indexOf(conversion) >= 0) {
+                steps.add(new Step(index, conversion, null));
+            } else {
+                steps.add(new Step(index, conversion, "%" + resolvedFlags + width + precision + dateTime + conversion));
+            }
+        }
+        final String text = format.substring(position);
+        if (text.indexOf('%') >= 0) {
+            return null;
+        }
+        literal.append(text);
+        literalLength += flush(steps, literal);
+        return new PrintfFormatPlan(Collections.unmodifiableList(steps),
+                literalLength + (argCount * ARGUMENT_SIZE_ESTIMATE));
+    }
+
+    /**
+     * Returns the type used for a parameter of the given kind in the generated format method.
+     *
+     * @param kind the kind of the argument, see
+     *             {@link ClassModelHelper#formatArgumentKinds(org.jboss.logging.processor.model.MessageMethod)}
+     *
+     * @return the primitive type for primitive kinds, otherwise {@link Object}
+     */
+    static JType argumentType(final TypeKind kind) {
+        switch (kind) {
+            case BOOLEAN:
+                return JType.BOOLEAN;
+            case BYTE:
+                return JType.BYTE;
+            case CHAR:
+                return JType.CHAR;
+            case DOUBLE:
+                return JType.DOUBLE;
+            case FLOAT:
+                return JType.FLOAT;
+            case INT:
+                return JType.INT;
+            case LONG:
+                return JType.LONG;
+            case SHORT:
+                return JType.SHORT;
+            default:
+                return JType.OBJECT;
+        }
+    }
+
+    /**
+     * Adds the statements which render the plan and return the result to the body. A plan which consists only of
+     * literals returns the message as a constant.
+     *
+     * @param body        the body to add the statements to
+     * @param locale      the expression for the locale used to format the arguments
+     * @param args        the expressions for the arguments in the order they are passed to the format
+     * @param kinds       the kinds of the arguments in the order they are passed to the format
+     * @param reuseBuffer {@code true} if the message should be rendered into a pooled buffer, see
+     *                    {@link #addHelperMethods(JSourceFile, JClassDef, boolean)}
+     */
+    void addTo(final JBlock body, final JExpr locale, final List<? extends JExpr> args, final List<TypeKind> kinds,
+            final boolean reuseBuffer) {
+        final String literal = literal();
+        if (literal != null) {
+            body._return(JExprs.str(literal));
+            return;
+        }
+        final JType stringBuilder = $t(StringBuilder.class);
+        final JVarDeclaration sb = body.var(JMod.FINAL, stringBuilder, "sb", reuseBuffer
+                ? JExprs.call(ACQUIRE_BUFFER_METHOD_NAME).arg(JExprs.decimal(capacity))
+                : stringBuilder._new().arg(JExprs.decimal(capacity)));
+        final JType string = $t(String.class);
+        for (Step step : steps) {
+            final JExpr value;
+            if (step == Step.LINE_SEPARATOR) {
+                value = $t(System.class).call("lineSeparator");
+            } else if (step.literal != null) {
+                value = JExprs.str(step.literal);
+            } else if (step.index < 0) {
+                value = string.call("format").arg(locale).arg(JExprs.str(step.spec));
+            } else if (step.spec == null) {
+                final JExpr arg = args.get(step.index);
+                final JExpr primitiveValue = primitiveValue(step.conversion, kinds.get(step.index), arg);
+                if (primitiveValue != null) {
+                    value = primitiveValue;
+                } else if (step.conversion == 'd' && isIntegral(kinds.get(step.index))) {
+                    body.add(JExprs.call(APPEND_DECIMAL_METHOD_NAME).arg($v(sb)).arg(locale).arg(arg));
+                    continue;
+                } else {
+                    body.add(JExprs.call(APPEND_METHOD_NAME)
+                            .arg($v(sb))
+                            .arg(locale)
+                            .arg(JExprs.ch(step.conversion))
+                            .arg(arg));
+                    continue;
+                }
+            } else {
+                value = string.call("format").arg(locale).arg(JExprs.str(step.spec)).arg(args.get(step.index));
+            }
+            body.add($v(sb).call("append").arg(value));
+        }
+        if (reuseBuffer) {
+            body._return(JExprs.call(RELEASE_BUFFER_METHOD_NAME).arg($v(sb)));
+        } else {
+            body._return($v(sb).call("toString"));
+        }
+    }
+
+    /**
+     * Returns the expression which can be appended for a primitive argument without boxing and which produces the
+     * same result as the formatter.
+     *
+     * @param conversion the conversion
+     * @param kind       the kind of the argument
+     * @param arg        the argument
+     *
+     * @return the expression to append or {@code null} if the argument needs to be appended by a helper
+     */
+    private static JExpr primitiveValue(final char conversion, final TypeKind kind, final JExpr arg) {
+        if (!kind.isPrimitive()) {
+            return null;
+        }
+        switch (conversion) {
+            case 's':
+                // Bytes and shorts would be appended as an int which is the same as their toString()
+                return arg;
+            case 'b':
+                return kind == TypeKind.BOOLEAN ? arg : null;
+            case 'c':
+                return kind == TypeKind.CHAR ? arg : null;
+            case 'x':
+                return radixValue(kind, "toHexString", arg);
+            case 'o':
+                return radixValue(kind, "toOctalString", arg);
+            default:
+                return null;
+        }
+    }
+
+    private static JExpr radixValue(final TypeKind kind, final String methodName, final JExpr arg) {
+        if (kind == TypeKind.INT) {
+            return $t(Integer.class).call(methodName).arg(arg);
+        }
+        if (kind == TypeKind.LONG) {
+            return $t(Long.class).call(methodName).arg(arg);
+        }
+        return null;
+    }
+
+    private static boolean isIntegral(final TypeKind kind) {
+        return kind == TypeKind.INT || kind == TypeKind.LONG || kind == TypeKind.SHORT || kind == TypeKind.BYTE;
+    }
+
+    /**
+     * Adds the static helper methods the plans depend on. These should only be added to the implementation and not
+     * to the translation implementations.
+     *
+     * <p>
+     * If the buffers are reused a pool of {@link StringBuilder buffers} is added as well. The pool is a small array of
+     * slots indexed by the current thread. A buffer is taken by atomically clearing the slot and returned by
+     * atomically setting the slot if it is still empty. No thread ever blocks and a buffer is never shared, which
+     * keeps the pool correct when a large number of virtual threads log at the same time. If the slot is empty a new
+     * buffer is created, if the slot is already filled the returned buffer is discarded.
+     * </p>
+     *
+     * @param sourceFile   the source file to add the imports to
+     * @param classDef     the class to add the methods to
+     * @param reuseBuffers {@code true} if the buffer pool should be added
+     */
+    static void addHelperMethods(final JSourceFile sourceFile, final JClassDef classDef, final boolean reuseBuffers) {
+        final JType localeType = $t(Locale.class);
+        final JType decimalFormatSymbols = $t(DecimalFormatSymbols.class);
+        final JType formattable = $t(Formattable.class);
+        final JType integerType = $t(Integer.class);
+        final JType longType = $t(Long.class);
+        sourceFile._import(localeType);
+        sourceFile._import(decimalFormatSymbols);
+        sourceFile._import(formattable);
+
+        // Digits are only written directly if the locale would not localize them. The result is cached as looking up
+        // the symbols creates a copy of them.
+        final JType asciiDigitsType = $t(Map.class).typeArg(localeType, $t(Boolean.class));
+        sourceFile._import(Map.class);
+        sourceFile._import(ConcurrentHashMap.class);
+        final JExpr asciiDigits = $v(classDef.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, asciiDigitsType,
+                ASCII_DIGITS_FIELD_NAME, $t(ConcurrentHashMap.class).typeArg(localeType, $t(Boolean.class))._new()));
+        JMethodDef method = classDef.method(JMod.STATIC, JType.BOOLEAN, ASCII_DIGITS_METHOD_NAME);
+        JParamDeclaration locale = method.param(JMod.FINAL, localeType, "locale");
+        JBlock methodBody = method.body();
+        methodBody._if($v(locale).eq(JExpr.NULL)
+                .or(localeType.$v("US").call("equals").arg($v(locale)))
+                .or(localeType.$v("ROOT").call("equals").arg($v(locale))))
+                .block(JBlock.Braces.REQUIRED)._return(JExpr.TRUE);
+        final JAssignableExpr cached = $v(methodBody.var(0, $t(Boolean.class), "result",
+                asciiDigits.call("get").arg($v(locale))));
+        final JBlock lookupBody = methodBody._if(cached.eq(JExpr.NULL)).block(JBlock.Braces.REQUIRED);
+        lookupBody.assign(cached, decimalFormatSymbols.call("getInstance").arg($v(locale)).call("getZeroDigit")
+                .eq(JExprs.ch('0')));
+        lookupBody.add(asciiDigits.call("put").arg($v(locale)).arg(cached));
+        methodBody._return(cached);
+
+        // Integral primitives are widened to a long rather than boxed
+        method = classDef.method(JMod.STATIC, JType.VOID, APPEND_DECIMAL_METHOD_NAME);
+        JExpr sb = $v(method.param(JMod.FINAL, StringBuilder.class, "sb"));
+        locale = method.param(JMod.FINAL, localeType, "locale");
+        final JExpr value = $v(method.param(JMod.FINAL, JType.LONG, "value"));
+        JIf decimalIf = method.body()._if(JExprs.call(ASCII_DIGITS_METHOD_NAME).arg($v(locale)));
+        decimalIf.block(JBlock.Braces.REQUIRED).add(sb.call("append").arg(value));
+        decimalIf._else().block(JBlock.Braces.REQUIRED).add(sb.call("append").arg($t(String.class).call("format")
+                .arg($v(locale))
+                .arg(JExprs.str("%d"))
+                .arg(value)));
+
+        method = classDef.method(JMod.STATIC, JType.VOID, APPEND_METHOD_NAME);
+        sb = $v(method.param(JMod.FINAL, StringBuilder.class, "sb"));
+        locale = method.param(JMod.FINAL, localeType, "locale");
+        final JExpr conversion = $v(method.param(JMod.FINAL, JType.CHAR, "conversion"));
+        final JExpr arg = $v(method.param(JMod.FINAL, Object.class, "arg"));
+        final JBlock body = method.body();
+
+        JIf conversionIf = body._if(conversion.eq(JExprs.ch('s')));
+        JBlock ifBody = conversionIf.block(JBlock.Braces.REQUIRED)._if(arg._instanceof(formattable).paren().not())
+                .block(JBlock.Braces.REQUIRED);
+        ifBody.add(sb.call("append").arg(arg));
+        ifBody._return();
+
+        conversionIf = conversionIf.elseIf(conversion.eq(JExprs.ch('b')));
+        ifBody = conversionIf.block(JBlock.Braces.REQUIRED);
+        ifBody.add(sb.call("append").arg(arg.ne(JExpr.NULL)
+                .and(arg._instanceof(Boolean.class).paren().not().or(arg.cast(Boolean.class)).paren())));
+        ifBody._return();
+
+        conversionIf = conversionIf.elseIf(conversion.eq(JExprs.ch('c')));
+        ifBody = conversionIf.block(JBlock.Braces.REQUIRED)._if(arg.eq(JExpr.NULL).or(arg._instanceof(Character.class)))
+                .block(JBlock.Braces.REQUIRED);
+        ifBody.add(sb.call("append").arg(arg));
+        ifBody._return();
+
+        conversionIf = conversionIf.elseIf(conversion.eq(JExprs.ch('d')));
+        ifBody = conversionIf.block(JBlock.Braces.REQUIRED)._if(arg._instanceof(Integer.class)
+                .or(arg._instanceof(Long.class))
+                .or(arg._instanceof(Short.class))
+                .or(arg._instanceof(Byte.class)).paren()
+                .and(JExprs.call(ASCII_DIGITS_METHOD_NAME).arg($v(locale))))
+                .block(JBlock.Braces.REQUIRED);
+        ifBody.add(sb.call("append").arg(arg.cast(Number.class).paren().call("longValue")));
+        ifBody._return();
+
+        conversionIf = addRadixCase(conversionIf, conversion, 'x', "toHexString", sb, arg, integerType, longType);
+        conversionIf = addRadixCase(conversionIf, conversion, 'o', "toOctalString", sb, arg, integerType, longType);
+
+        conversionIf = conversionIf.elseIf(conversion.eq(JExprs.ch('h')));
+        ifBody = conversionIf.block(JBlock.Braces.REQUIRED);
+        ifBody.add(sb.call("append").arg(arg.eq(JExpr.NULL)
+                .cond(JExprs.str("null"), integerType.call("toHexString").arg(arg.call("hashCode")))));
+        ifBody._return();
+
+        // Anything not handled above is formatted by the formatter
+        body.add(sb.call("append").arg($t(String.class).call("format")
+                .arg($v(locale))
+                .arg(JExprs.str("%").plus(conversion))
+                .arg(arg)));
+
+        if (reuseBuffers) {
+            addBufferPool(sourceFile, classDef);
+        }
+    }
+
+    private static void addBufferPool(final JSourceFile sourceFile, final JClassDef classDef) {
+        final JType stringBuilder = $t(StringBuilder.class);
+        final JType buffersType = $t(AtomicReferenceArray.class).typeArg(stringBuilder);
+        sourceFile._import(AtomicReferenceArray.class);
+        // Two slots per processor, rounded to a power of two so the index can be masked
+        final JExpr buffers = $v(classDef.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, buffersType, BUFFERS_FIELD_NAME,
+                buffersType._new().arg($t(Integer.class).call("highestOneBit")
+                        .arg($t(Runtime.class).call("getRuntime").call("availableProcessors").times(JExprs.decimal(2))))));
+
+        JMethodDef method = classDef.method(JMod.PRIVATE | JMod.STATIC, JType.INT, BUFFER_INDEX_METHOD_NAME);
+        JBlock body = method.body();
+        final JExpr hash = $v(body.var(JMod.FINAL, JType.INT, "hash",
+                $t(System.class).call("identityHashCode").arg($t(Thread.class).call("currentThread"))));
+        body._return(hash.bxor(hash.lshr(JExprs.decimal(16)).paren()).paren()
+                .band(buffers.call("length").minus(JExprs.decimal(1)).paren()));
+
+        method = classDef.method(JMod.STATIC, stringBuilder, ACQUIRE_BUFFER_METHOD_NAME);
+        final JExpr capacity = $v(method.param(JMod.FINAL, JType.INT, "capacity"));
+        body = method.body();
+        JExpr sb = $v(body.var(JMod.FINAL, stringBuilder, "sb",
+                buffers.call("getAndSet").arg(JExprs.call(BUFFER_INDEX_METHOD_NAME)).arg(JExpr.NULL)));
+        body._return(sb.eq(JExpr.NULL).cond(stringBuilder._new().arg(capacity), sb));
+
+        method = classDef.method(JMod.STATIC, String.class, RELEASE_BUFFER_METHOD_NAME);
+        sb = $v(method.param(JMod.FINAL, stringBuilder, "sb"));
+        body = method.body();
+        final JExpr result = $v(body.var(JMod.FINAL, $t(String.class), "result", sb.call("toString")));
+        final JBlock releaseBody = body._if(sb.call("capacity").le(JExprs.decimal(MAX_POOLED_BUFFER_CAPACITY)))
+                .block(JBlock.Braces.REQUIRED);
+        releaseBody.add(sb.call("setLength").arg(JExprs.decimal(0)));
+        releaseBody.add(buffers.call("compareAndSet").arg(JExprs.call(BUFFER_INDEX_METHOD_NAME)).arg(JExpr.NULL).arg(sb));
+        body._return(result);
+    }
+
+    private static JIf addRadixCase(final JIf previous, final JExpr conversion, final char radixConversion,
+            final String methodName, final JExpr sb, final JExpr arg, final JType integerType, final JType longType) {
+        final JIf conversionIf = previous.elseIf(conversion.eq(JExprs.ch(radixConversion)));
+        final JBlock conversionBody = conversionIf.block(JBlock.Braces.REQUIRED);
+        JBlock ifBody = conversionBody._if(arg._instanceof(integerType)).block(JBlock.Braces.REQUIRED);
+        ifBody.add(sb.call("append").arg(integerType.call(methodName).arg(arg.cast(integerType))));
+        ifBody._return();
+        ifBody = conversionBody._if(arg._instanceof(longType)).block(JBlock.Braces.REQUIRED);
+        ifBody.add(sb.call("append").arg(longType.call(methodName).arg(arg.cast(longType))));
+        ifBody._return();
+        return conversionIf;
+    }
+
+    private static int flush(final List<Step> steps, final StringBuilder literal) {
+        final int len = literal.length();
+        if (len > 0) {
+            steps.add(new Step(literal.toString()));
+            literal.setLength(0);
+        }
+        return len;
+    }
+
+    /**
+     * Returns the rendered message if the plan consists only of literals.
+     *
+     * @return the rendered message or {@code null} if the plan requires arguments or values resolved at runtime
+     */
+    private String literal() {
+        final StringBuilder result = new StringBuilder(capacity);
+        for (Step step : steps) {
+            if (step.literal == null) {
+                return null;
+            }
+            result.append(step.literal);
+        }
+        return result.toString();
+    }
+
+    private static final class Step {
+        static final Step LINE_SEPARATOR = new Step(null);
+
+        final String literal;
+        final int index;
+        final char conversion;
+        final String spec;
+
+        private Step(final String literal) {
+            this.literal = literal;
+            this.index = -1;
+            this.conversion = 0;
+            this.spec = null;
+        }
+
+        private Step(final int index, final char conversion, final String spec) {
+            this.literal = null;
+            this.index = index;
+            this.conversion = conversion;
+            this.spec = spec;
+        }
+    }
+}
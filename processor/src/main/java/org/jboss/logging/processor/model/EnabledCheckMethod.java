@@ -0,0 +1,40 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.model;
+
+/**
+ * Represents a method which is annotated with {@link org.jboss.logging.annotations.EnabledCheck}.
+ */
+public interface EnabledCheckMethod extends DelegatingExecutableElement {
+
+    /**
+     * Returns the name of the method.
+     *
+     * @return the name of the method
+     */
+    String name();
+
+    /**
+     * Returns the name of the {@link org.jboss.logging.annotations.LogMessage} method which is checked.
+     *
+     * @return the name of the checked method
+     */
+    String checkedMethodName();
+}
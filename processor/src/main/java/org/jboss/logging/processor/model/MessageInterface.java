@@ -20,6 +20,7 @@
 package org.jboss.logging.processor.model;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
@@ -59,6 +60,16 @@ public interface MessageInterface extends Comparable<MessageInterface>, ClassTyp
      */
     Collection<MessageMethod> methods();
 
+    /**
+     * A collection of the methods annotated with {@link org.jboss.logging.annotations.EnabledCheck} this interface
+     * needs to implement.
+     *
+     * @return a collection of the enabled check methods
+     */
+    default Collection<EnabledCheckMethod> enabledCheckMethods() {
+        return Collections.emptyList();
+    }
+
     /**
      * The project code for the message interface or {@code null} if not annotated with
      * {@link MessageBundle @MessageBundle} or {@link MessageLogger @MessageLogger}.
@@ -67,6 +67,28 @@ public interface ThrowableType extends ClassType, Comparable<ThrowableType>, Del
      */
     boolean hasThrowableConstructor();
 
+    /**
+     * Checks to see if the throwable has a string, throwable, enable suppression and writable stack trace
+     * ({@code Throwable(String, Throwable, boolean, boolean)}) constructor.
+     *
+     * @return {@code true} if the throwable has a constructor which can disable the stack trace, otherwise
+     *         {@code false}.
+     */
+    default boolean hasWritableStackTraceConstructor() {
+        return false;
+    }
+
+    /**
+     * Checks to see if the throwable has a protected string, throwable, enable suppression and writable stack trace
+     * ({@code Throwable(String, Throwable, boolean, boolean)}) constructor, which can be invoked from a subclass.
+     *
+     * @return {@code true} if the throwable has a protected constructor which can disable the stack trace, otherwise
+     *         {@code false}.
+     */
+    default boolean hasProtectedWritableStackTraceConstructor() {
+        return false;
+    }
+
     /**
      * Checks to see if the throwable has and can use a custom constructor.
      * <p/>
@@ -39,6 +39,7 @@ import java.util.function.Function;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.ArrayType;
 import javax.lang.model.type.TypeKind;
@@ -47,19 +48,33 @@ import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 
 import org.jboss.logging.annotations.Cause;
+import org.jboss.logging.annotations.Coalesced;
 import org.jboss.logging.annotations.ConstructType;
+import org.jboss.logging.annotations.EnabledCheck;
+import org.jboss.logging.annotations.Field;
+import org.jboss.logging.annotations.Fields;
+import org.jboss.logging.annotations.LogMessage;
 import org.jboss.logging.annotations.LoggingClass;
+import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.MessageBundle;
 import org.jboss.logging.annotations.MessageLogger;
+import org.jboss.logging.annotations.NoStackTrace;
 import org.jboss.logging.annotations.Once;
+import org.jboss.logging.annotations.OnceKey;
 import org.jboss.logging.annotations.Param;
 import org.jboss.logging.annotations.Pos;
+import org.jboss.logging.annotations.Preallocated;
 import org.jboss.logging.annotations.Producer;
+import org.jboss.logging.annotations.Properties;
+import org.jboss.logging.annotations.Property;
+import org.jboss.logging.annotations.RateLimited;
+import org.jboss.logging.annotations.Sampled;
 import org.jboss.logging.annotations.Signature;
 import org.jboss.logging.annotations.Suppressed;
 import org.jboss.logging.annotations.Transform;
 import org.jboss.logging.annotations.Transform.TransformType;
 import org.jboss.logging.annotations.TransformException;
+import org.jboss.logging.processor.model.EnabledCheckMethod;
 import org.jboss.logging.processor.model.LoggerMessageMethod;
 import org.jboss.logging.processor.model.MessageInterface;
 import org.jboss.logging.processor.model.MessageMethod;
@@ -108,12 +123,17 @@ public final class Validator {
             final Set<MessageMethod> messageMethods = getAllMethods(messageInterface);
             messages.addAll(validateCommon(messageInterface, messageMethods));
             messages.addAll(validateBundle(messageMethods));
+            for (EnabledCheckMethod enabledCheckMethod : getAllEnabledCheckMethods(messageInterface)) {
+                messages.add(createError(enabledCheckMethod, "Only message loggers can define methods annotated with %s.",
+                        EnabledCheck.class.getName()));
+            }
             locale = messageInterface.getAnnotation(MessageBundle.class).rootLocale();
         } else if (messageInterface.isAnnotatedWith(MessageLogger.class)) {
             // Get all messageMethods except logger interface messageMethods
             final Set<MessageMethod> messageMethods = getAllMethods(messageInterface);
             messages.addAll(validateCommon(messageInterface, messageMethods));
             messages.addAll(validateLogger(messageMethods));
+            messages.addAll(validateEnabledChecks(getAllEnabledCheckMethods(messageInterface), messageMethods));
             locale = messageInterface.getAnnotation(MessageLogger.class).rootLocale();
         } else {
             messages.add(createError(messageInterface, "Message interface %s is not a message bundle or message logger.",
@@ -487,10 +507,14 @@ public final class Validator {
                 messages.add(createError(messageMethod,
                         "MessageMethod does not have an usable constructor for the return type %s.", returnType.name()));
             } else {
+                // Methods annotated with NoStackTrace or Preallocated can use the constructor which disables the stack trace
+                final boolean writableStackTraceConstructor = (messageMethod.isAnnotatedWith(NoStackTrace.class)
+                        || messageMethod.isAnnotatedWith(Preallocated.class))
+                        && throwableReturnType.hasWritableStackTraceConstructor();
                 final boolean hasMessageConstructor = (throwableReturnType.hasStringAndThrowableConstructor()
                         || throwableReturnType.hasThrowableAndStringConstructor() ||
-                        throwableReturnType.hasStringConstructor());
-                final boolean usableConstructor = (throwableReturnType.hasDefaultConstructor()
+                        throwableReturnType.hasStringConstructor() || writableStackTraceConstructor);
+                final boolean usableConstructor = (writableStackTraceConstructor || throwableReturnType.hasDefaultConstructor()
                         || throwableReturnType.hasStringAndThrowableConstructor() ||
                         throwableReturnType.hasStringConstructor() || throwableReturnType.hasThrowableAndStringConstructor()
                         || throwableReturnType.hasThrowableConstructor());
@@ -513,7 +537,46 @@ public final class Validator {
                             "The message cannot be set via the throwable constructor and will be ignored."));
                 }
             }
+            if (messageMethod.isAnnotatedWith(Preallocated.class)) {
+                if (!messageMethod.parameters().isEmpty()) {
+                    messages.add(createError(messageMethod, "Methods annotated with %s cannot have parameters.",
+                            Preallocated.class.getName()));
+                }
+                if (messageMethod.isAnnotatedWith(Property.class) || messageMethod.isAnnotatedWith(Properties.class)
+                        || messageMethod.isAnnotatedWith(Field.class) || messageMethod.isAnnotatedWith(Fields.class)) {
+                    messages.add(createError(messageMethod, "Methods annotated with %s cannot set fields or properties.",
+                            Preallocated.class.getName()));
+                }
+                if (!throwableReturnType.hasWritableStackTraceConstructor()
+                        && (!throwableReturnType.hasProtectedWritableStackTraceConstructor()
+                                || throwableReturnType.getModifiers().contains(Modifier.FINAL))) {
+                    messages.add(createError(messageMethod,
+                            "Methods annotated with %s require a public (String, Throwable, boolean, boolean) constructor "
+                                    + "or a protected one on a type which is not final for %s.",
+                            Preallocated.class.getName(), throwableReturnType.name()));
+                }
+            }
+            if (messageMethod.isAnnotatedWith(NoStackTrace.class)) {
+                if (!messageMethod.parametersAnnotatedWith(Producer.class).isEmpty()) {
+                    messages.add(createWarning(messageMethod,
+                            "The stack trace of an exception created by a %s cannot be disabled.", Producer.class.getName()));
+                } else if (!throwableReturnType.hasWritableStackTraceConstructor()
+                        && throwableReturnType.getModifiers().contains(Modifier.FINAL)) {
+                    messages.add(createWarning(messageMethod,
+                            "The stack trace of %s cannot be disabled as it is final and does not have a public "
+                                    + "(String, Throwable, boolean, boolean) constructor.",
+                            returnType.name()));
+                }
+            }
         } else {
+            if (messageMethod.isAnnotatedWith(NoStackTrace.class)) {
+                messages.add(createError(messageMethod, "Only methods returning an exception can be annotated with %s.",
+                        NoStackTrace.class.getName()));
+            }
+            if (messageMethod.isAnnotatedWith(Preallocated.class)) {
+                messages.add(createError(messageMethod, "Only methods returning an exception can be annotated with %s.",
+                        Preallocated.class.getName()));
+            }
             if (!isTypeAssignableFrom(resolvedReturnType, String.class) && !returnType.isThrowable()) {
                 messages.add(createError(messageMethod, "Message bundle method (%s) has an invalid return type of %s. " +
                         "Return types must be a String, a subtype of Throwable or a java.util.function.Supplier which " +
@@ -544,6 +607,19 @@ public final class Validator {
                 if (messageMethod.isAnnotatedWith(Once.class)) {
                     messages.add(createError(messageMethod, "Only @LogMessage method can be annoted with @Once"));
                 }
+                if (!messageMethod.parametersAnnotatedWith(OnceKey.class).isEmpty()) {
+                    messages.add(
+                            createError(messageMethod, "Only @LogMessage method parameters can be annotated with @OnceKey"));
+                }
+                if (messageMethod.isAnnotatedWith(RateLimited.class)) {
+                    messages.add(createError(messageMethod, "Only @LogMessage method can be annotated with @RateLimited"));
+                }
+                if (messageMethod.isAnnotatedWith(Sampled.class)) {
+                    messages.add(createError(messageMethod, "Only @LogMessage method can be annotated with @Sampled"));
+                }
+                if (messageMethod.isAnnotatedWith(Coalesced.class)) {
+                    messages.add(createError(messageMethod, "Only @LogMessage method can be annotated with @Coalesced"));
+                }
             }
         }
         return messages;
@@ -555,9 +631,122 @@ public final class Validator {
         if (messageMethod.returnType().asType().getKind() != TypeKind.VOID) {
             messages.add(createError(messageMethod, "Message logger methods can only have a void return type."));
         }
+        if (messageMethod.isAnnotatedWith(RateLimited.class)) {
+            final RateLimited rateLimited = messageMethod.getAnnotation(RateLimited.class);
+            if (rateLimited.limit() < 1) {
+                messages.add(createError(messageMethod, "The @RateLimited limit must be greater than 0."));
+            }
+            if (rateLimited.period() < 1) {
+                messages.add(createError(messageMethod, "The @RateLimited period must be greater than 0."));
+            }
+            if (messageMethod.isAnnotatedWith(Once.class)) {
+                messages.add(createError(messageMethod, "A method cannot be annotated with both @Once and @RateLimited."));
+            }
+        }
+        if (messageMethod.isAnnotatedWith(NoStackTrace.class)) {
+            messages.add(createError(messageMethod, "Only methods returning an exception can be annotated with %s.",
+                    NoStackTrace.class.getName()));
+        }
+        if (messageMethod.isAnnotatedWith(Preallocated.class)) {
+            messages.add(createError(messageMethod, "Only methods returning an exception can be annotated with %s.",
+                    Preallocated.class.getName()));
+        }
+        if (messageMethod.isAnnotatedWith(Coalesced.class)) {
+            if (messageMethod.getAnnotation(Coalesced.class).window() < 1) {
+                messages.add(createError(messageMethod, "The @Coalesced window must be greater than 0."));
+            }
+            if (messageMethod.isAnnotatedWith(Once.class) || messageMethod.isAnnotatedWith(RateLimited.class)) {
+                messages.add(createError(messageMethod,
+                        "A method annotated with @Coalesced cannot be annotated with @Once or @RateLimited."));
+            }
+        }
+        final boolean keyed = messageMethod.isAnnotatedWith(Once.class)
+                && messageMethod.getAnnotation(Once.class).scope() == Once.Scope.KEY;
+        if (keyed && messageMethod.parametersAnnotatedWith(OnceKey.class).isEmpty()) {
+            messages.add(createError(messageMethod,
+                    "A method annotated with @Once(scope = KEY) must have at least one parameter annotated with @OnceKey."));
+        } else if (!keyed && !messageMethod.parametersAnnotatedWith(OnceKey.class).isEmpty()) {
+            messages.add(createError(messageMethod,
+                    "Parameters can only be annotated with @OnceKey if the method is annotated with @Once(scope = KEY)."));
+        }
+        if (keyed) {
+            final Once once = messageMethod.getAnnotation(Once.class);
+            if (once.maxKeys() < 1) {
+                messages.add(createError(messageMethod, "The @Once maxKeys must be greater than 0."));
+            }
+            if (once.expireAfter() < 0) {
+                messages.add(createError(messageMethod, "The @Once expireAfter must not be negative."));
+            }
+        } else if (messageMethod.isAnnotatedWith(Once.class) && messageMethod.getAnnotation(Once.class).expireAfter() != 0) {
+            messages.add(createError(messageMethod, "The @Once expireAfter can only be used with the KEY scope."));
+        }
+        if (messageMethod.isAnnotatedWith(Sampled.class)) {
+            final Sampled sampled = messageMethod.getAnnotation(Sampled.class);
+            if (sampled.every() > 0 == sampled.fraction() > 0) {
+                messages.add(createError(messageMethod, "The @Sampled annotation must define either every or fraction."));
+            } else if (sampled.every() < 0 || sampled.fraction() < 0 || sampled.fraction() > 1) {
+                messages.add(createError(messageMethod,
+                        "The @Sampled every must be greater than 0 or the fraction must be between 0 and 1."));
+            }
+        }
         return messages;
     }
 
+    /**
+     * Validates the methods annotated with {@link EnabledCheck} check a {@link org.jboss.logging.annotations.LogMessage}
+     * method of the message logger.
+     *
+     * @param enabledCheckMethods the enabled check methods to validate
+     * @param messageMethods      the message methods of the message logger
+     *
+     * @return a collection of the validation messages
+     */
+    private Collection<ValidationMessage> validateEnabledChecks(final Collection<EnabledCheckMethod> enabledCheckMethods,
+            final Set<MessageMethod> messageMethods) {
+        final List<ValidationMessage> messages = new ArrayList<>();
+        for (EnabledCheckMethod enabledCheckMethod : enabledCheckMethods) {
+            if (enabledCheckMethod.getReturnType().getKind() != TypeKind.BOOLEAN) {
+                messages.add(createError(enabledCheckMethod, "Methods annotated with %s must return boolean.",
+                        EnabledCheck.class.getName()));
+            }
+            if (!enabledCheckMethod.getParameters().isEmpty()) {
+                messages.add(createError(enabledCheckMethod, "Methods annotated with %s cannot have parameters.",
+                        EnabledCheck.class.getName()));
+            }
+            if (enabledCheckMethod.isAnnotatedWith(Message.class) || enabledCheckMethod.isAnnotatedWith(LogMessage.class)) {
+                messages.add(createError(enabledCheckMethod,
+                        "Methods annotated with %s cannot be annotated with @Message or @LogMessage.",
+                        EnabledCheck.class.getName()));
+            }
+            final String checkedMethodName = enabledCheckMethod.checkedMethodName();
+            if (checkedMethodName == null) {
+                messages.add(createError(enabledCheckMethod,
+                        "The method %s must be named isXxxEnabled() or the %s value must define the method to check.",
+                        enabledCheckMethod.name(), EnabledCheck.class.getName()));
+            } else if (messageMethods.stream().noneMatch(messageMethod -> messageMethod instanceof LoggerMessageMethod
+                    && messageMethod.name().equals(checkedMethodName))) {
+                messages.add(createError(enabledCheckMethod, "No @LogMessage method named %s was found to check.",
+                        checkedMethodName));
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * Finds all the methods annotated with {@link EnabledCheck} for the given interface and the interfaces it extends.
+     *
+     * @param messageInterface the interface to find the methods for
+     *
+     * @return the enabled check methods the interface must implement
+     */
+    private Collection<EnabledCheckMethod> getAllEnabledCheckMethods(final MessageInterface messageInterface) {
+        final Collection<EnabledCheckMethod> enabledCheckMethods = new ArrayList<>(messageInterface.enabledCheckMethods());
+        for (MessageInterface msgInterface : messageInterface.extendedInterfaces()) {
+            enabledCheckMethods.addAll(msgInterface.enabledCheckMethods());
+        }
+        return enabledCheckMethods;
+    }
+
     /**
      * Finds all methods for the given interface, but ignores logger interface methods.
      *
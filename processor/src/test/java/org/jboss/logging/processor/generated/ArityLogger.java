@@ -0,0 +1,45 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated;
+
+import org.jboss.logging.Logger.Level;
+import org.jboss.logging.annotations.LogMessage;
+import org.jboss.logging.annotations.Message;
+import org.jboss.logging.annotations.Message.Format;
+import org.jboss.logging.annotations.MessageLogger;
+
+/**
+ * A logger with methods using both the fixed arity and the varargs logger methods.
+ */
+@MessageLogger(projectCode = "ARITY")
+public interface ArityLogger {
+
+    @LogMessage(level = Level.DEBUG)
+    @Message(id = 1, value = "Three parameters %s, %s and %s")
+    void threeParameters(String first, String second, String third);
+
+    @LogMessage(level = Level.DEBUG)
+    @Message(id = 2, value = "Five parameters %s, %s, %s, %d and %s")
+    void fiveParameters(String first, String second, String third, int fourth, Object fifth);
+
+    @LogMessage(level = Level.DEBUG)
+    @Message(id = 3, value = "Four parameters {0}, {1}, {2} and {3}", format = Format.MESSAGE_FORMAT)
+    void fourMessageFormatParameters(String first, String second, String third, String fourth);
+}
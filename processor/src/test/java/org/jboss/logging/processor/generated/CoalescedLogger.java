@@ -0,0 +1,49 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logging.Logger.Level;
+import org.jboss.logging.annotations.Coalesced;
+import org.jboss.logging.annotations.LogMessage;
+import org.jboss.logging.annotations.Message;
+import org.jboss.logging.annotations.MessageLogger;
+
+/**
+ * A logger used to test coalesced log messages.
+ */
+@MessageLogger(projectCode = "COAL")
+public interface CoalescedLogger {
+
+    @Coalesced(window = 200, unit = TimeUnit.MILLISECONDS)
+    @LogMessage(level = Level.ERROR)
+    @Message(id = 1, value = "Connection to %s refused")
+    void connectionRefused(String host);
+
+    @Coalesced(window = 200, unit = TimeUnit.MILLISECONDS)
+    @LogMessage(level = Level.ERROR)
+    void connectionRefused(int port);
+
+    @Coalesced(window = 1, unit = TimeUnit.HOURS)
+    @LogMessage(level = Level.TRACE)
+    @Message(id = 2, value = "Disabled")
+    void disabled();
+}
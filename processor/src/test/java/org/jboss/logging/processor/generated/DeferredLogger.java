@@ -0,0 +1,55 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated;
+
+import org.jboss.logging.Logger.Level;
+import org.jboss.logging.annotations.Cause;
+import org.jboss.logging.annotations.LogMessage;
+import org.jboss.logging.annotations.Message;
+import org.jboss.logging.annotations.Message.Format;
+import org.jboss.logging.annotations.MessageLogger;
+import org.jboss.logging.annotations.Snapshot;
+
+/**
+ * A logger used to test deferred formatting of log messages.
+ */
+@MessageLogger(projectCode = "DEFER")
+public interface DeferredLogger {
+
+    @LogMessage(level = Level.INFO)
+    @Message(id = 1, value = "Printf %s %d")
+    void printf(StringBuilder value, int count);
+
+    @LogMessage(level = Level.INFO)
+    @Message(id = 2, value = "Message format {0} {1}", format = Format.MESSAGE_FORMAT)
+    void messageFormat(StringBuilder value, String other);
+
+    @LogMessage(level = Level.INFO)
+    @Message(id = 3, value = "Snapshot %s reference %s")
+    void snapshot(@Snapshot StringBuilder snapshot, StringBuilder reference);
+
+    @LogMessage(level = Level.ERROR)
+    @Message(id = 4, value = "Failed %s %s %s %s %s")
+    void failed(@Cause Throwable cause, String a, String b, String c, String d, String e);
+
+    @LogMessage(level = Level.INFO)
+    @Message(id = 5, value = "No parameters")
+    void noParameters();
+}
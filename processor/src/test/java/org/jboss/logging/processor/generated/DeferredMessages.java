@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated;
+
+import java.util.function.Supplier;
+
+import org.jboss.logging.annotations.Cause;
+import org.jboss.logging.annotations.Message;
+import org.jboss.logging.annotations.Message.Format;
+import org.jboss.logging.annotations.MessageBundle;
+import org.jboss.logging.annotations.NoStackTrace;
+import org.jboss.logging.annotations.Snapshot;
+
+/**
+ * A message bundle used to test exception messages formatted when the message is first requested.
+ */
+@MessageBundle(projectCode = "DEFERX")
+public interface DeferredMessages {
+
+    @Message(id = 1, value = "Invalid value %s")
+    IllegalArgumentException invalidValue(Object value);
+
+    @Message(id = 2, value = "Failed {0}", format = Format.MESSAGE_FORMAT)
+    IllegalStateException failed(@Cause Throwable cause, Object value);
+
+    @NoStackTrace
+    @Message(id = 3, value = "Not found %s")
+    Supplier<RuntimeException> notFound(Object value);
+
+    @Message(id = 4, value = "Snapshot %s reference %s")
+    IllegalArgumentException snapshot(@Snapshot StringBuilder snapshot, StringBuilder reference);
+
+    @Message(id = 5, value = "No parameters")
+    IllegalArgumentException noParameters();
+
+    @Message(id = 6, value = "Custom %s")
+    CustomException custom(Object value);
+
+    class CustomException extends RuntimeException {
+
+        public CustomException(final String msg) {
+            super(msg);
+        }
+    }
+}
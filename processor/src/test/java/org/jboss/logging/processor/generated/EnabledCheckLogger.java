@@ -0,0 +1,60 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logging.Logger.Level;
+import org.jboss.logging.annotations.EnabledCheck;
+import org.jboss.logging.annotations.LogMessage;
+import org.jboss.logging.annotations.Message;
+import org.jboss.logging.annotations.MessageLogger;
+import org.jboss.logging.annotations.Once;
+import org.jboss.logging.annotations.RateLimited;
+
+/**
+ * A logger used to test methods annotated with {@link EnabledCheck}.
+ */
+@MessageLogger(projectCode = "ENCHK")
+public interface EnabledCheckLogger {
+
+    @LogMessage(level = Level.DEBUG)
+    @Message(id = 1, value = "State %s")
+    void state(Object state);
+
+    @EnabledCheck
+    boolean isStateEnabled();
+
+    @Once
+    @LogMessage(level = Level.INFO)
+    @Message(id = 2, value = "Started %s")
+    void started(Object state);
+
+    @EnabledCheck
+    boolean isStartedEnabled();
+
+    @RateLimited(limit = 1, period = 1, unit = TimeUnit.HOURS)
+    @LogMessage(level = Level.WARN)
+    @Message(id = 3, value = "Limited %s")
+    void limited(Object state);
+
+    @EnabledCheck("limited")
+    boolean canLogLimited();
+}
@@ -0,0 +1,50 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated;
+
+import java.util.function.Supplier;
+
+import org.jboss.logging.Logger.Level;
+import org.jboss.logging.annotations.Cause;
+import org.jboss.logging.annotations.LogMessage;
+import org.jboss.logging.annotations.Message;
+import org.jboss.logging.annotations.MessageLogger;
+
+/**
+ * A logger used to test the JFR events generated for log methods.
+ */
+@MessageLogger(projectCode = "JFREVT")
+public interface EventLogger {
+
+    @LogMessage(level = Level.INFO)
+    @Message(id = 1, value = "Connected to %s:%d")
+    void connected(String host, int port);
+
+    @LogMessage(level = Level.ERROR)
+    @Message(id = 2, value = "Failed to process %s")
+    void failed(@Cause Throwable cause, Object target);
+
+    @LogMessage(level = Level.ERROR)
+    void failed(@Cause Throwable cause, Object... targets);
+
+    @LogMessage(level = Level.INFO)
+    @Message(id = 3, value = "Loaded %s")
+    void loaded(Supplier<String> name);
+}
@@ -0,0 +1,71 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.logging.Logger.Level;
+import org.jboss.logging.annotations.FormatWith;
+import org.jboss.logging.annotations.LogMessage;
+import org.jboss.logging.annotations.Message;
+import org.jboss.logging.annotations.MessageLogger;
+
+/**
+ * A logger with parameters which are converted before being passed to the logger.
+ */
+@MessageLogger(projectCode = "GUARD")
+public interface GuardedLogger {
+
+    @LogMessage(level = Level.TRACE)
+    @Message(id = 1, value = "Values %s")
+    void arrayValues(int[] values);
+
+    @LogMessage(level = Level.TRACE)
+    @Message(id = 2, value = "Names %s")
+    void varargsValues(String... names);
+
+    @LogMessage(level = Level.TRACE)
+    @Message(id = 3, value = "Formatted %s")
+    void formatted(@FormatWith(CountingFormatter.class) Object value);
+
+    @LogMessage(level = Level.TRACE)
+    @Message(id = 4, value = "Plain %s")
+    void plain(String value);
+
+    @LogMessage(level = Level.TRACE)
+    @Message(id = 5, value = "Count %d of %s")
+    void count(long count, String name);
+
+    class CountingFormatter {
+        public static final AtomicInteger CREATED = new AtomicInteger();
+
+        private final Object value;
+
+        public CountingFormatter(final Object value) {
+            this.value = value;
+            CREATED.incrementAndGet();
+        }
+
+        @Override
+        public String toString() {
+            return "formatted " + value;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated;
+
+import org.jboss.logging.Logger.Level;
+import org.jboss.logging.annotations.EnabledCheck;
+import org.jboss.logging.annotations.LogMessage;
+import org.jboss.logging.annotations.Message;
+import org.jboss.logging.annotations.MessageLogger;
+
+/**
+ * A logger used to test the level of messages can be overridden at runtime.
+ */
+@MessageLogger(projectCode = "LVLOVR")
+public interface LevelOverrideLogger {
+
+    @LogMessage(level = Level.INFO)
+    @Message(id = 1, value = "Noisy %s")
+    void noisy(Object value);
+
+    @LogMessage(level = Level.INFO)
+    void noisy(int value);
+
+    @EnabledCheck
+    boolean isNoisyEnabled();
+
+    @LogMessage(level = Level.DEBUG)
+    @Message(id = 2, value = "Hidden %s")
+    void hidden(Object value);
+
+    @LogMessage(level = Level.INFO)
+    @Message("Unnumbered")
+    void unnumbered();
+}
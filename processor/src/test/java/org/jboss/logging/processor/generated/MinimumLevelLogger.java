@@ -0,0 +1,48 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated;
+
+import org.jboss.logging.Logger.Level;
+import org.jboss.logging.annotations.LogMessage;
+import org.jboss.logging.annotations.Message;
+import org.jboss.logging.annotations.MessageLogger;
+
+/**
+ * A logger used to test log methods below the minimum level are generated without a body.
+ */
+@MessageLogger(projectCode = "MINLVL")
+public interface MinimumLevelLogger {
+
+    @LogMessage(level = Level.TRACE)
+    @Message(id = 1, value = "Trace %s")
+    void traceValue(Object value);
+
+    @LogMessage(level = Level.DEBUG)
+    @Message(id = 2, value = "Debug %s")
+    void debugValue(Object value);
+
+    @LogMessage(level = Level.INFO)
+    @Message(id = 3, value = "Info %s")
+    void infoValue(Object value);
+
+    @LogMessage(level = Level.ERROR)
+    @Message(id = 4, value = "Error %s")
+    void errorValue(Object value);
+}
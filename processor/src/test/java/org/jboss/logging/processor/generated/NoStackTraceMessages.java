@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated;
+
+import java.util.function.Function;
+
+import org.jboss.logging.annotations.Cause;
+import org.jboss.logging.annotations.Message;
+import org.jboss.logging.annotations.MessageBundle;
+import org.jboss.logging.annotations.NoStackTrace;
+import org.jboss.logging.annotations.Producer;
+import org.jboss.logging.annotations.Suppressed;
+
+/**
+ * A message bundle used to test exceptions created without a stack trace.
+ */
+@MessageBundle(projectCode = "NST")
+public interface NoStackTraceMessages {
+
+    @NoStackTrace
+    @Message(id = 1, value = "Invalid value %s")
+    IllegalArgumentException invalidValue(String value);
+
+    @NoStackTrace
+    @Message(id = 2, value = "Validation failed")
+    ValidationException validationFailed(@Cause Throwable cause, @Suppressed Throwable... suppressed);
+
+    @NoStackTrace
+    @Message(id = 3, value = "Final failure")
+    FinalException finalFailure();
+
+    @NoStackTrace
+    @Message(id = 4, value = "Produced failure")
+    RuntimeException produced(@Producer Function<String, RuntimeException> producer);
+
+    @Message(id = 5, value = "With stack trace")
+    IllegalStateException withStackTrace();
+
+    @NoStackTrace
+    @Message(id = 6, value = "Unavailable %s")
+    RuntimeException unavailable(@Cause Throwable cause, String name);
+
+    class ValidationException extends RuntimeException {
+
+        public ValidationException(final String msg, final Throwable cause, final boolean enableSuppression,
+                final boolean writableStackTrace) {
+            super(msg, cause, enableSuppression, writableStackTrace);
+        }
+    }
+
+    final class FinalException extends RuntimeException {
+
+        public FinalException(final String msg) {
+            super(msg);
+        }
+    }
+}
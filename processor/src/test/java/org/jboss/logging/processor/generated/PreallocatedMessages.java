@@ -0,0 +1,53 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated;
+
+import java.util.function.Supplier;
+
+import org.jboss.logging.annotations.Message;
+import org.jboss.logging.annotations.MessageBundle;
+import org.jboss.logging.annotations.Preallocated;
+
+/**
+ * A message bundle used to test preallocated exceptions.
+ */
+@MessageBundle(projectCode = "PRE")
+public interface PreallocatedMessages {
+
+    @Preallocated
+    @Message(id = 1, value = "Operation cancelled")
+    RuntimeException cancelled();
+
+    @Preallocated
+    @Message(id = 2, value = "Queue is full")
+    QueueFullException queueFull();
+
+    @Preallocated
+    @Message(id = 3, value = "Not available")
+    Supplier<RuntimeException> notAvailable();
+
+    class QueueFullException extends IllegalStateException {
+
+        public QueueFullException(final String msg, final Throwable cause, final boolean enableSuppression,
+                final boolean writableStackTrace) {
+            super(msg, cause);
+        }
+    }
+}
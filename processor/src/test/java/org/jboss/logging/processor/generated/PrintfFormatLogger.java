@@ -0,0 +1,57 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated;
+
+import java.util.function.Supplier;
+
+import org.jboss.logging.Logger.Level;
+import org.jboss.logging.annotations.Cause;
+import org.jboss.logging.annotations.LogMessage;
+import org.jboss.logging.annotations.Message;
+import org.jboss.logging.annotations.MessageLogger;
+import org.jboss.logging.annotations.Once;
+
+/**
+ * A logger used to test the precompiled printf formats.
+ */
+@MessageLogger(projectCode = "PLAN")
+public interface PrintfFormatLogger {
+
+    @LogMessage(level = Level.INFO)
+    @Message(id = 100, value = "String %s integer %d")
+    void stringInt(String s, int i);
+
+    @LogMessage(level = Level.ERROR)
+    @Message(id = 101, value = "Failed to process %s")
+    void failed(@Cause Throwable cause, String name);
+
+    @LogMessage(level = Level.INFO)
+    @Message(id = 102, value = "Supplied %s")
+    void supplied(Supplier<String> value);
+
+    @Once
+    @LogMessage(level = Level.WARN)
+    @Message(id = 103, value = "Logged once %s")
+    void once(String value);
+
+    @LogMessage(level = Level.INFO)
+    @Message(id = 104, value = "Disk 100%% full")
+    void diskFull();
+}
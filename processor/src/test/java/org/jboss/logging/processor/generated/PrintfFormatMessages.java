@@ -0,0 +1,62 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated;
+
+import java.util.Date;
+
+import org.jboss.logging.Messages;
+import org.jboss.logging.annotations.Message;
+import org.jboss.logging.annotations.MessageBundle;
+
+/**
+ * Messages used to test the precompiled printf formats.
+ */
+@MessageBundle(projectCode = "PLAN")
+public interface PrintfFormatMessages {
+
+    PrintfFormatMessages MESSAGES = Messages.getBundle(PrintfFormatMessages.class);
+
+    @Message(id = 1, value = "String %s integer %d hex %x octal %o")
+    String simple(String s, int i, int hex, long octal);
+
+    @Message(id = 2, value = "Boolean %b %b %b char %c hash %h null %s %d")
+    String misc(Boolean b, Object nonBoolean, Object nullValue, char c, Object hash, Object nullString, Integer nullInt);
+
+    @Message(id = 3, value = "Padded [%-8s] [%5d] [%.2f] upper %S %X")
+    String flags(String s, int i, double d, String upper, int hex);
+
+    @Message(id = 4, value = "Indexed %2$s %1$s %s %<s%n100%%")
+    String indexed(String first, String second);
+
+    @Message(id = 5, value = "Duke's Birthday: %1$tm %<te,%<tY")
+    String dateTime(Date date);
+
+    @Message(id = 6, value = "Formatted %s and %s")
+    String formattable(Object formattable, Object value);
+
+    @Message(id = 7, value = "Negative %d %x %o")
+    String negative(long value, int hex, int octal);
+
+    @Message(id = 8, value = "Primitives %s %c %d %s %s %s %x %o %d")
+    String primitives(boolean flag, char c, byte b, short s, float f, double d, long hex, int octal, int decimal);
+
+    @Message("No arguments 100%%")
+    String noArguments();
+}
@@ -0,0 +1,57 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated;
+
+import java.util.function.Supplier;
+
+import org.jboss.logging.Logger.Level;
+import org.jboss.logging.annotations.LogMessage;
+import org.jboss.logging.annotations.Message;
+import org.jboss.logging.annotations.MessageLogger;
+import org.jboss.logging.annotations.Once;
+import org.jboss.logging.annotations.Sampled;
+
+/**
+ * A logger used to test sampled log messages.
+ */
+@MessageLogger(projectCode = "SAMPLE")
+public interface SampledLogger {
+
+    @Sampled(every = 10)
+    @LogMessage(level = Level.INFO)
+    @Message(id = 1, value = "Every %s")
+    void every(Supplier<String> value);
+
+    @Sampled(fraction = 0.25)
+    @LogMessage(level = Level.INFO)
+    @Message(id = 2, value = "Fraction %s")
+    void fraction(String value);
+
+    @Sampled(fraction = 1)
+    @LogMessage(level = Level.INFO)
+    @Message(id = 3, value = "Always")
+    void always();
+
+    @Once
+    @Sampled(every = 2)
+    @LogMessage(level = Level.INFO)
+    @Message(id = 4, value = "Once %d")
+    void once(int value);
+}
@@ -0,0 +1,66 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logging.Logger.Level;
+import org.jboss.logging.annotations.LogMessage;
+import org.jboss.logging.annotations.Message;
+import org.jboss.logging.annotations.MessageLogger;
+import org.jboss.logging.annotations.Once;
+import org.jboss.logging.annotations.OnceKey;
+
+/**
+ * A logger used to test the scopes of messages logged once.
+ */
+@MessageLogger(projectCode = "ONCE")
+public interface ScopedOnceLogger {
+
+    @LogMessage(level = Level.WARN)
+    @Once
+    @Message(id = 1, value = "Class loader %s")
+    void classLoader(String value);
+
+    @LogMessage(level = Level.WARN)
+    @Once(scope = Once.Scope.INSTANCE)
+    @Message(id = 2, value = "Instance %s")
+    void instance(String value);
+
+    @LogMessage(level = Level.WARN)
+    @Once(scope = Once.Scope.KEY)
+    @Message(id = 3, value = "Property %s of %s is deprecated: %s")
+    void deprecated(@OnceKey String property, @OnceKey Object owner, String reason);
+
+    @LogMessage(level = Level.WARN)
+    @Once(scope = Once.Scope.KEY)
+    @Message(id = 4, value = "Missing %d")
+    void missing(@OnceKey int id);
+
+    @LogMessage(level = Level.WARN)
+    @Once(scope = Once.Scope.KEY, maxKeys = 2)
+    @Message(id = 5, value = "Bounded %s")
+    void bounded(@OnceKey String key);
+
+    @LogMessage(level = Level.WARN)
+    @Once(scope = Once.Scope.KEY, expireAfter = 50, expireUnit = TimeUnit.MILLISECONDS)
+    @Message(id = 6, value = "Expiring %s")
+    void expiring(@OnceKey String key);
+}
@@ -0,0 +1,57 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.jboss.logging.Logger.Level;
+import org.jboss.logging.annotations.LogMessage;
+import org.jboss.logging.annotations.Message;
+import org.jboss.logging.annotations.MessageLogger;
+import org.jboss.logging.annotations.Once;
+import org.jboss.logging.annotations.RateLimited;
+
+/**
+ * A logger used to test the statistics kept for each message.
+ */
+@MessageLogger(projectCode = "STATS")
+public interface StatisticsLogger {
+
+    @LogMessage(level = Level.DEBUG)
+    @Message(id = 1, value = "Value %s")
+    void value(Object value);
+
+    @Once
+    @LogMessage(level = Level.INFO)
+    @Message(id = 2, value = "Started")
+    void started();
+
+    @RateLimited(limit = 1, period = 1, unit = TimeUnit.HOURS)
+    @LogMessage(level = Level.WARN)
+    @Message(id = 3, value = "Limited")
+    void limited();
+
+    @Message(id = 4, value = "Invalid %s")
+    IllegalArgumentException invalid(Object value);
+
+    @Message(id = 5, value = "Deferred")
+    Supplier<IllegalStateException> deferred();
+}
@@ -0,0 +1,60 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated;
+
+import org.jboss.logging.Logger.Level;
+import org.jboss.logging.annotations.Cause;
+import org.jboss.logging.annotations.LogMessage;
+import org.jboss.logging.annotations.Message;
+import org.jboss.logging.annotations.Message.Format;
+import org.jboss.logging.annotations.MessageLogger;
+import org.jboss.logging.annotations.Transform;
+import org.jboss.logging.annotations.Transform.TransformType;
+
+/**
+ * A logger used to test the structured parameters passed to the logger.
+ */
+@MessageLogger(projectCode = "STRUCT")
+public interface StructuredLogger {
+
+    @LogMessage(level = Level.INFO)
+    @Message(id = 1, value = "Connected to %s:%d")
+    void connected(String host, int port);
+
+    @LogMessage(level = Level.ERROR)
+    @Message(id = 2, value = "Failed to deploy {0} to {1} after {2} attempts in {3}ms", format = Format.MESSAGE_FORMAT)
+    void deployFailed(@Cause Throwable cause, String deployment, String server, int attempts, long duration);
+
+    @LogMessage(level = Level.INFO)
+    @Message(id = 3, value = "Received %s")
+    void received(String... items);
+
+    @LogMessage(level = Level.INFO)
+    @Message("Class of %s")
+    void classOf(@Transform(TransformType.GET_CLASS) Object value);
+
+    @LogMessage(level = Level.WARN)
+    @Message(id = 4, value = "Can't reconnect to {host}", format = Format.NO_FORMAT)
+    void reconnectFailed();
+
+    @LogMessage(level = Level.WARN)
+    @Message(id = 5, value = "Disk 100%% full")
+    void diskFull();
+}
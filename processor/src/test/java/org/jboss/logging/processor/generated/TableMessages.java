@@ -0,0 +1,42 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated;
+
+import org.jboss.logging.annotations.Message;
+import org.jboss.logging.annotations.MessageBundle;
+
+/**
+ * A message bundle used to test translations generated as message tables.
+ */
+@MessageBundle(projectCode = "TBL")
+public interface TableMessages {
+
+    @Message(id = 1, value = "Hello %s")
+    String hello(String name);
+
+    @Message(id = 2, value = "Goodbye %s")
+    String goodbye(String name);
+
+    @Message(id = 3, value = "Invalid value %s")
+    IllegalArgumentException invalidValue(String value);
+
+    @Message("Not translated")
+    String notTranslated();
+}
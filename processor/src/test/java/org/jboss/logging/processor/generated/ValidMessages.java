@@ -25,6 +25,7 @@ import java.net.BindException;
 import java.net.SocketAddress;
 import java.net.SocketException;
 import java.util.Collection;
+import java.util.Date;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -109,6 +110,11 @@ public interface ValidMessages {
     @Message(format = Format.MESSAGE_FORMAT, value = TEST_MESSAGE_FORMAT)
     RuntimeException testMessageFormatException(final String arg1, final String arg2);
 
+    String TEST_MESSAGE_SUB_FORMAT = "A message format with sub-formats. Number {0,number,#,##0.00} date {1,date,yyyy-MM-dd}.";
+
+    @Message(format = Format.MESSAGE_FORMAT, value = TEST_MESSAGE_SUB_FORMAT)
+    String testMessageSubFormat(double number, Date date);
+
     @Message(value = TEST_MSG)
     Supplier<RuntimeException> testSupplierRuntimeException();
 
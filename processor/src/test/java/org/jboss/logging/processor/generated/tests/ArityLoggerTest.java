@@ -0,0 +1,95 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated.tests;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+
+import org.jboss.logging.Logger;
+import org.jboss.logging.processor.generated.ArityLogger;
+import org.jboss.logging.processor.generated.TestConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests log methods with more format parameters than the fixed arity logger methods accept.
+ */
+public class ArityLoggerTest extends AbstractLoggerTest {
+
+    private static final String ALLOCATION_OPTION = "org.jboss.logging.tools.reportAllocations";
+
+    @AfterEach
+    public void clearHandler() {
+        HANDLER.close();
+    }
+
+    @Test
+    public void logMessages() throws Exception {
+        final ArityLogger logger = Logger.getMessageLogger(ArityLogger.class, TestConstants.CATEGORY);
+        logger.threeParameters("a", "b", "c");
+        Assertions.assertEquals("ARITY000001: Three parameters a, b and c", HANDLER.getMessage());
+        logger.fiveParameters("a", "b", "c", 4, "e");
+        Assertions.assertEquals("ARITY000002: Five parameters a, b, c, 4 and e", HANDLER.getMessage());
+        logger.fourMessageFormatParameters("a", "b", "c", "d");
+        Assertions.assertEquals("ARITY000003: Four parameters a, b, c and d", HANDLER.getMessage());
+    }
+
+    @Test
+    public void varargsGuarded() throws Exception {
+        final String source = Files.readString(Paths.get(System.getProperty("test.generated.src.path"),
+                ArityLogger.class.getPackageName().replace('.', '/'), "ArityLogger_$logger.java"));
+        Assertions.assertTrue(source.contains("if (log.isEnabled(DEBUG)) {\n            log.logf(FQCN, DEBUG, null, "
+                + "fiveParameters$str()"), () -> "Expected the varargs call to be guarded:\n" + source);
+        Assertions.assertTrue(source.contains("if (log.isEnabled(DEBUG)) {\n            log.logv(FQCN, DEBUG, null, "
+                + "fourMessageFormatParameters$str()"), () -> "Expected the varargs call to be guarded:\n" + source);
+        Assertions.assertFalse(source.contains("if (log.isEnabled(DEBUG)) {\n            log.logf(FQCN, DEBUG, null, "
+                + "threeParameters$str()"), () -> "Expected the fixed arity call to not be guarded:\n" + source);
+    }
+
+    @Test
+    public void reportAllocations() throws Exception {
+        try (ProcessorCompiler compiler = ProcessorCompiler.create()) {
+            compiler.option(ALLOCATION_OPTION, "true")
+                    .compile(ArityLogger.class);
+            final List<String> notes = compiler.diagnostics(Diagnostic.Kind.NOTE);
+            Assertions.assertTrue(notes.stream().anyMatch(note -> note.contains("fiveParameters")), notes::toString);
+            Assertions.assertTrue(notes.stream().anyMatch(note -> note.contains("fourMessageFormatParameters")),
+                    notes::toString);
+            Assertions.assertFalse(notes.stream().anyMatch(note -> note.contains("threeParameters")), notes::toString);
+        }
+    }
+
+    @Test
+    public void precompiledFormatsDoNotAllocate() throws Exception {
+        try (ProcessorCompiler compiler = ProcessorCompiler.create()) {
+            compiler.option(ALLOCATION_OPTION, "true")
+                    .option("org.jboss.logging.tools.precompileFormats", "true")
+                    .compile(ArityLogger.class);
+            final List<String> notes = compiler.diagnostics(Diagnostic.Kind.NOTE);
+            Assertions.assertFalse(notes.stream().anyMatch(note -> note.contains("fiveParameters")), notes::toString);
+            Assertions.assertTrue(notes.stream().anyMatch(note -> note.contains("fourMessageFormatParameters")),
+                    notes::toString);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.jboss.logging.Logger;
+import org.jboss.logging.processor.generated.CoalescedLogger;
+import org.jboss.logging.processor.generated.TestConstants;
+import org.jboss.logmanager.ExtLogRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests messages annotated with {@link org.jboss.logging.annotations.Coalesced @Coalesced}.
+ */
+public class CoalescedLoggerTest extends AbstractLoggerTest {
+
+    private static final CoalescedLogger LOGGER = Logger.getMessageLogger(CoalescedLogger.class,
+            TestConstants.CATEGORY);
+
+    @AfterEach
+    public void clearHandler() {
+        HANDLER.close();
+    }
+
+    @Test
+    public void repeatedMessagesSummarized() throws Exception {
+        LOGGER.connectionRefused("localhost");
+        for (int i = 0; i < 4; i++) {
+            LOGGER.connectionRefused("localhost");
+        }
+        LOGGER.connectionRefused(8080);
+        Assertions.assertEquals("COAL000001: Connection to localhost refused", HANDLER.getMessage());
+        Assertions.assertEquals("COAL000001: Connection to ... refused [repeated 5 times in 200 milliseconds]",
+                HANDLER.getMessage());
+
+        // The next window had no messages, which closes the window and the next message is logged as usual
+        Thread.sleep(500L);
+        Assertions.assertEquals(0, HANDLER.size());
+        LOGGER.connectionRefused("remote");
+        Assertions.assertEquals("COAL000001: Connection to remote refused", HANDLER.getMessage());
+    }
+
+    @Test
+    public void windowPerCategory() throws Exception {
+        final CoalescedLogger otherLogger = Logger.getMessageLogger(CoalescedLogger.class,
+                TestConstants.CATEGORY + ".other");
+        LOGGER.connectionRefused("localhost");
+        otherLogger.connectionRefused("remote");
+        otherLogger.connectionRefused("remote");
+        ExtLogRecord record = HANDLER.getRecord();
+        Assertions.assertEquals(TestConstants.CATEGORY, record.getLoggerName());
+        Assertions.assertEquals("COAL000001: Connection to localhost refused", record.getFormattedMessage());
+        // The other category has its own window, the repeated message is summarized in it
+        record = HANDLER.getRecord();
+        Assertions.assertEquals(TestConstants.CATEGORY + ".other", record.getLoggerName());
+        Assertions.assertEquals("COAL000001: Connection to remote refused", record.getFormattedMessage());
+        record = HANDLER.getRecord();
+        Assertions.assertEquals(TestConstants.CATEGORY + ".other", record.getLoggerName());
+        Assertions.assertEquals("COAL000001: Connection to ... refused [repeated 1 times in 200 milliseconds]",
+                record.getFormattedMessage());
+        // Wait for the windows to close
+        Thread.sleep(500L);
+        Assertions.assertNull(HANDLER.getRecord());
+    }
+
+    @Test
+    public void serializable() throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(LOGGER);
+        }
+        final CoalescedLogger logger;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            logger = (CoalescedLogger) in.readObject();
+        }
+        // The deserialized logger starts with a closed window
+        logger.connectionRefused("localhost");
+        Assertions.assertEquals("COAL000001: Connection to localhost refused", HANDLER.getMessage());
+        Thread.sleep(500L);
+    }
+
+    @Test
+    public void disabledLevel() throws Exception {
+        final org.jboss.logmanager.Logger lmLogger = org.jboss.logmanager.Logger.getLogger(TestConstants.CATEGORY);
+        lmLogger.setLevel(java.util.logging.Level.INFO);
+        try {
+            LOGGER.disabled();
+        } finally {
+            lmLogger.setLevel(null);
+        }
+        Assertions.assertEquals(0, HANDLER.size());
+        // The disabled message should not have opened the window
+        LOGGER.disabled();
+        Assertions.assertEquals("COAL000002: Disabled", HANDLER.getMessage());
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.logging.processor.generated.DeferredLogger;
+import org.jboss.logging.processor.generated.TestConstants;
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.ExtLogRecord;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests log messages are formatted when the handler requests the message when formatting is deferred.
+ */
+public class DeferredLoggerTest {
+
+    // Use a category without parent handlers so the records are only formatted when the test requests it
+    private static final String CATEGORY = TestConstants.CATEGORY + ".deferred";
+    private static final org.jboss.logmanager.Logger LOGGER = org.jboss.logmanager.Logger.getLogger(CATEGORY);
+    private static final RecordHandler RECORDS = new RecordHandler();
+    private static ProcessorCompiler compiler;
+
+    @BeforeAll
+    public static void compile() throws Exception {
+        compiler = ProcessorCompiler.create()
+                .option("org.jboss.logging.tools.deferFormatting", "true")
+                .compile(DeferredLogger.class);
+        LOGGER.setUseParentHandlers(false);
+        LOGGER.addHandler(RECORDS);
+    }
+
+    @AfterAll
+    public static void cleanUp() throws Exception {
+        LOGGER.removeHandler(RECORDS);
+        LOGGER.setUseParentHandlers(true);
+        if (compiler != null) {
+            compiler.close();
+        }
+    }
+
+    @AfterEach
+    public void clearHandler() {
+        RECORDS.close();
+    }
+
+    @Test
+    public void generatedSource() throws Exception {
+        final String source = compiler.generatedSource(DeferredLogger.class, "DeferredLogger_$logger");
+        Assertions.assertTrue(source.contains("class DeferredMessage"), source);
+        Assertions.assertTrue(
+                source.contains("new DeferredMessage(this, DeferredLogger_$logger::printf$str, true, value, count)"),
+                source);
+        Assertions.assertTrue(source.contains("String.valueOf(snapshot), reference)"), source);
+        // Messages without parameters have nothing to defer
+        Assertions.assertTrue(source.contains("log.logf(FQCN, INFO, null, noParameters$str());"), source);
+    }
+
+    @Test
+    public void formattedMessages() throws Throwable {
+        final Object logger = compiler.logger(DeferredLogger.class, CATEGORY);
+        ProcessorCompiler.invoke(logger, "printf", new StringBuilder("value"), 10);
+        Assertions.assertEquals("DEFER000001: Printf value 10", RECORDS.poll().getFormattedMessage());
+
+        ProcessorCompiler.invoke(logger, "messageFormat", new StringBuilder("value"), "other");
+        Assertions.assertEquals("DEFER000002: Message format value other", RECORDS.poll().getFormattedMessage());
+
+        final RuntimeException cause = new RuntimeException("test");
+        ProcessorCompiler.invoke(logger, "failed", cause, "a", "b", "c", "d", "e");
+        final ExtLogRecord record = RECORDS.poll();
+        Assertions.assertEquals("DEFER000004: Failed a b c d e", record.getFormattedMessage());
+        Assertions.assertSame(cause, record.getThrown());
+
+        ProcessorCompiler.invoke(logger, "noParameters");
+        Assertions.assertEquals("DEFER000005: No parameters", RECORDS.poll().getFormattedMessage());
+    }
+
+    @Test
+    public void snapshotPolicy() throws Throwable {
+        final Object logger = compiler.logger(DeferredLogger.class, CATEGORY);
+        final StringBuilder snapshot = new StringBuilder("before");
+        final StringBuilder reference = new StringBuilder("before");
+        ProcessorCompiler.invoke(logger, "snapshot", snapshot, reference);
+        final ExtLogRecord record = RECORDS.poll();
+
+        // The message is only formatted when requested, the reference should reflect the change
+        snapshot.setLength(0);
+        snapshot.append("after");
+        reference.setLength(0);
+        reference.append("after");
+        Assertions.assertEquals("DEFER000003: Snapshot before reference after", record.getFormattedMessage());
+    }
+
+    private static class RecordHandler extends ExtHandler {
+        private final List<ExtLogRecord> records = new ArrayList<>();
+
+        @Override
+        protected synchronized void doPublish(final ExtLogRecord record) {
+            records.add(record);
+        }
+
+        synchronized ExtLogRecord poll() {
+            return records.isEmpty() ? null : records.remove(0);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public synchronized void close() {
+            records.clear();
+        }
+    }
+}
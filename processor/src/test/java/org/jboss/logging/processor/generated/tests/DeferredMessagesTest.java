@@ -0,0 +1,166 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.jboss.logging.processor.generated.DeferredMessages;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests exception messages are formatted when the message is first requested when formatting is deferred.
+ */
+public class DeferredMessagesTest {
+
+    private static ProcessorCompiler compiler;
+
+    @BeforeAll
+    public static void compile() throws Exception {
+        compiler = ProcessorCompiler.create()
+                .option("org.jboss.logging.tools.deferFormatting", "true")
+                .compile(DeferredMessages.class);
+    }
+
+    @AfterAll
+    public static void cleanUp() throws Exception {
+        if (compiler != null) {
+            compiler.close();
+        }
+    }
+
+    @Test
+    public void formattedOnce() throws Throwable {
+        final Object messages = compiler.bundle(DeferredMessages.class);
+        final CountingValue value = new CountingValue();
+        final IllegalArgumentException e = (IllegalArgumentException) ProcessorCompiler.invoke(messages, "invalidValue",
+                value);
+        Assertions.assertEquals(0, value.count.get(), "The message should not have been formatted");
+        Assertions.assertEquals("DEFERX000001: Invalid value counted", e.getMessage());
+        Assertions.assertEquals("DEFERX000001: Invalid value counted", e.getLocalizedMessage());
+        Assertions.assertEquals("java.lang.IllegalArgumentException: DEFERX000001: Invalid value counted", e.toString());
+        Assertions.assertEquals(1, value.count.get(), "The message should have been formatted once");
+        Assertions.assertFalse(e.getClass().isAnonymousClass(), e.getClass().getName());
+        Assertions.assertEquals(IllegalArgumentException.class, e.getClass().getSuperclass());
+    }
+
+    @Test
+    public void serializable() throws Throwable {
+        final Object messages = compiler.bundle(DeferredMessages.class);
+        final CountingValue value = new CountingValue();
+        final IllegalArgumentException e = (IllegalArgumentException) ProcessorCompiler.invoke(messages, "invalidValue",
+                value);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(e);
+        }
+        // The formatted message is serialized rather than the arguments
+        Assertions.assertEquals(1, value.count.get(), "The message should have been formatted once");
+        final Throwable deserialized;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())) {
+            @Override
+            protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+                return Class.forName(desc.getName(), false, e.getClass().getClassLoader());
+            }
+        }) {
+            deserialized = (Throwable) in.readObject();
+        }
+        Assertions.assertEquals(e.getClass(), deserialized.getClass());
+        Assertions.assertEquals("java.lang.IllegalArgumentException: DEFERX000001: Invalid value counted",
+                deserialized.toString());
+        Assertions.assertEquals(1, value.count.get(), "The message should have been formatted once");
+    }
+
+    @Test
+    public void customException() throws Throwable {
+        // Exceptions which are not part of the JDK may require the message when constructed
+        final Object messages = compiler.bundle(DeferredMessages.class);
+        final CountingValue value = new CountingValue();
+        final RuntimeException e = (RuntimeException) ProcessorCompiler.invoke(messages, "custom", value);
+        Assertions.assertEquals(1, value.count.get(), "The message should have been formatted");
+        Assertions.assertEquals(DeferredMessages.CustomException.class.getName(), e.getClass().getName());
+        Assertions.assertEquals("DEFERX000006: Custom counted", e.getMessage());
+    }
+
+    @Test
+    public void cause() throws Throwable {
+        final Object messages = compiler.bundle(DeferredMessages.class);
+        final RuntimeException cause = new RuntimeException("cause");
+        final CountingValue value = new CountingValue();
+        final IllegalStateException e = (IllegalStateException) ProcessorCompiler.invoke(messages, "failed", cause,
+                value);
+        Assertions.assertSame(cause, e.getCause());
+        Assertions.assertEquals(0, value.count.get(), "The message should not have been formatted");
+        Assertions.assertEquals("DEFERX000002: Failed counted", e.getMessage());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void supplierWithoutStackTrace() throws Throwable {
+        final Object messages = compiler.bundle(DeferredMessages.class);
+        final CountingValue value = new CountingValue();
+        final RuntimeException e = ((Supplier<RuntimeException>) ProcessorCompiler.invoke(messages, "notFound", value))
+                .get();
+        Assertions.assertEquals(0, e.getStackTrace().length);
+        Assertions.assertEquals(0, value.count.get(), "The message should not have been formatted");
+        Assertions.assertEquals("java.lang.RuntimeException: DEFERX000003: Not found counted", e.toString());
+    }
+
+    @Test
+    public void snapshot() throws Throwable {
+        final Object messages = compiler.bundle(DeferredMessages.class);
+        final StringBuilder snapshot = new StringBuilder("before");
+        final StringBuilder reference = new StringBuilder("before");
+        final IllegalArgumentException e = (IllegalArgumentException) ProcessorCompiler.invoke(messages, "snapshot",
+                snapshot, reference);
+        snapshot.append(" changed");
+        reference.append(" changed");
+        Assertions.assertEquals("DEFERX000004: Snapshot before reference before changed", e.getMessage());
+    }
+
+    @Test
+    public void generatedSource() throws Exception {
+        final String source = compiler.generatedSource(DeferredMessages.class, "DeferredMessages_$bundle");
+        Assertions.assertTrue(source.contains("new IllegalArgumentException_$DeferredMessage(() -> "), source);
+        Assertions.assertTrue(source.contains("super((String)null);"), source);
+        // Messages without parameters have nothing to defer
+        Assertions.assertTrue(
+                source.contains("new IllegalArgumentException(String.format(getLoggingLocale(), noParameters$str()))"), source);
+    }
+
+    private static class CountingValue {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public String toString() {
+            count.incrementAndGet();
+            return "counted";
+        }
+    }
+}
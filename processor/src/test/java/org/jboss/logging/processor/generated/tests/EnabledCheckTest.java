@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated.tests;
+
+import org.jboss.logging.Logger;
+import org.jboss.logging.processor.generated.EnabledCheckLogger;
+import org.jboss.logging.processor.generated.TestConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests methods annotated with {@link org.jboss.logging.annotations.EnabledCheck @EnabledCheck}.
+ */
+public class EnabledCheckTest extends AbstractLoggerTest {
+
+    private static final EnabledCheckLogger LOGGER = Logger.getMessageLogger(EnabledCheckLogger.class,
+            TestConstants.CATEGORY);
+
+    @AfterEach
+    public void clearHandler() {
+        HANDLER.close();
+    }
+
+    @Test
+    public void levelChecked() throws Exception {
+        final org.jboss.logmanager.Logger lmLogger = org.jboss.logmanager.Logger.getLogger(TestConstants.CATEGORY);
+        lmLogger.setLevel(java.util.logging.Level.INFO);
+        try {
+            Assertions.assertFalse(LOGGER.isStateEnabled());
+        } finally {
+            lmLogger.setLevel(null);
+        }
+        Assertions.assertTrue(LOGGER.isStateEnabled());
+        Assertions.assertEquals(0, HANDLER.size());
+    }
+
+    @Test
+    public void onceChecked() throws Exception {
+        Assertions.assertTrue(LOGGER.isStartedEnabled());
+        // Checking does not consume the message
+        Assertions.assertTrue(LOGGER.isStartedEnabled());
+        LOGGER.started("first");
+        Assertions.assertEquals("ENCHK000002: Started first", HANDLER.getMessage());
+        Assertions.assertFalse(LOGGER.isStartedEnabled());
+    }
+
+    @Test
+    public void rateLimitChecked() throws Exception {
+        Assertions.assertTrue(LOGGER.canLogLimited());
+        Assertions.assertTrue(LOGGER.canLogLimited());
+        LOGGER.limited("first");
+        Assertions.assertEquals("ENCHK000003: Limited first", HANDLER.getMessage());
+        Assertions.assertFalse(LOGGER.canLogLimited());
+        LOGGER.limited("second");
+        Assertions.assertEquals(0, HANDLER.size());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated.tests;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import org.jboss.logging.Logger;
+import org.jboss.logging.Messages;
+import org.jboss.logging.processor.generated.DefaultLogger;
+import org.jboss.logging.processor.generated.TableMessages;
+import org.jboss.logging.processor.generated.TestConstants;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the generated factories resolve the same implementations as the implementations looked up by name.
+ */
+public class GeneratedFactoriesTest {
+
+    private static final Locale[] LOCALES = {
+            Locale.ROOT,
+            Locale.GERMAN,
+            Locale.GERMANY,
+            new Locale("de", "AT"),
+            new Locale("de", "CH"),
+            new Locale("es", "MX"),
+            new Locale("en", "US", "POSIX"),
+            Locale.TRADITIONAL_CHINESE,
+    };
+
+    private static ProcessorCompiler compiler;
+
+    @BeforeAll
+    public static void compile() throws Exception {
+        compiler = ProcessorCompiler.create()
+                .option("org.jboss.logging.tools.generateFactories", "true")
+                .option("translationFilesPath", System.getProperty("test.skeleton.file.path") + File.separator)
+                .compile(TableMessages.class, DefaultLogger.class);
+    }
+
+    @AfterAll
+    public static void cleanUp() throws Exception {
+        if (compiler != null) {
+            compiler.close();
+        }
+    }
+
+    @Test
+    public void bundleFactory() throws Throwable {
+        final Class<?> type = compiler.loadClass(TableMessages.class);
+        final Class<?> factory = type.getClassLoader().loadClass(TableMessages.class.getName() + "_$factory");
+        for (Locale locale : LOCALES) {
+            final Object bundle = factory.getMethod("getBundle", Locale.class).invoke(null, locale);
+            Assertions.assertSame(Messages.getBundle(type, locale), bundle, locale.toString());
+        }
+        Assertions.assertSame(Messages.getBundle(type), factory.getMethod("getBundle").invoke(null));
+    }
+
+    @Test
+    public void loggerFactory() throws Throwable {
+        final Class<?> type = compiler.loadClass(DefaultLogger.class);
+        final Class<?> factory = type.getClassLoader().loadClass(DefaultLogger.class.getName() + "_$factory");
+        for (Locale locale : LOCALES) {
+            final Object logger = factory.getMethod("getMessageLogger", String.class, Locale.class)
+                    .invoke(null, TestConstants.CATEGORY, locale);
+            Assertions.assertEquals(Logger.getMessageLogger(type, TestConstants.CATEGORY, locale).getClass(),
+                    logger.getClass(), locale.toString());
+        }
+        Assertions.assertEquals(Logger.getMessageLogger(type, TestConstants.CATEGORY).getClass(),
+                factory.getMethod("getMessageLogger", String.class).invoke(null, TestConstants.CATEGORY).getClass());
+    }
+
+    @Test
+    public void reflectConfig() throws Exception {
+        final ClassLoader classLoader = compiler.loadClass(TableMessages.class).getClassLoader();
+        final String config = readConfig(classLoader, TableMessages.class);
+        Assertions.assertTrue(config.contains("\"name\": \"" + TableMessages.class.getName() + "_$bundle_de_AT\""), config);
+        Assertions.assertTrue(config.contains("\"fields\": [{ \"name\": \"INSTANCE\" }]"), config);
+        final String loggerConfig = readConfig(classLoader, DefaultLogger.class);
+        Assertions.assertTrue(loggerConfig.contains("\"name\": \"" + DefaultLogger.class.getName() + "_$logger_zh_TW\""),
+                loggerConfig);
+        Assertions.assertTrue(loggerConfig.contains("\"parameterTypes\": [\"org.jboss.logging.Logger\"]"), loggerConfig);
+    }
+
+    private static String readConfig(final ClassLoader classLoader, final Class<?> type) throws Exception {
+        try (InputStream in = classLoader.getResourceAsStream(
+                "META-INF/native-image/" + type.getName() + "/reflect-config.json")) {
+            Assertions.assertNotNull(in, "Missing reflect-config.json for " + type.getName());
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated.tests;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.jboss.logging.Logger;
+import org.jboss.logging.processor.generated.GuardedLogger;
+import org.jboss.logging.processor.generated.TestConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests parameters which are converted before being passed to the logger are only converted if the level is enabled.
+ */
+public class GuardedLoggerTest extends AbstractLoggerTest {
+
+    private static final String GUARD = "if (log.isEnabled(TRACE)) {";
+
+    @AfterEach
+    public void clearHandler() {
+        HANDLER.close();
+    }
+
+    @Test
+    public void disabledLevel() {
+        final String category = TestConstants.CATEGORY + ".guarded";
+        final org.jboss.logmanager.Logger lmLogger = org.jboss.logmanager.Logger.getLogger(category);
+        lmLogger.setLevel(java.util.logging.Level.INFO);
+        try {
+            final GuardedLogger logger = Logger.getMessageLogger(GuardedLogger.class, category);
+            GuardedLogger.CountingFormatter.CREATED.set(0);
+            logger.formatted("value");
+            Assertions.assertEquals(0, GuardedLogger.CountingFormatter.CREATED.get(),
+                    "The formatter should not be created for a disabled level");
+            Assertions.assertEquals(0, HANDLER.size());
+        } finally {
+            lmLogger.setLevel(null);
+        }
+    }
+
+    @Test
+    public void enabledLevel() throws Exception {
+        final GuardedLogger logger = Logger.getMessageLogger(GuardedLogger.class, TestConstants.CATEGORY);
+        logger.arrayValues(new int[] { 1, 2 });
+        Assertions.assertEquals("GUARD000001: Values [1, 2]", HANDLER.getMessage());
+        logger.varargsValues("a", "b");
+        Assertions.assertEquals("GUARD000002: Names [a, b]", HANDLER.getMessage());
+        logger.formatted("value");
+        Assertions.assertEquals("GUARD000003: Formatted formatted value", HANDLER.getMessage());
+        logger.plain("value");
+        Assertions.assertEquals("GUARD000004: Plain value", HANDLER.getMessage());
+        logger.count(2L, "values");
+        Assertions.assertEquals("GUARD000005: Count 2 of values", HANDLER.getMessage());
+    }
+
+    @Test
+    public void generatedGuards() throws Exception {
+        final String source = Files.readString(Paths.get(System.getProperty("test.generated.src.path"),
+                GuardedLogger.class.getPackageName().replace('.', '/'), "GuardedLogger_$logger.java"));
+        Assertions.assertTrue(source.contains("arrayValues(final int[] values) {\n        " + GUARD), source);
+        Assertions.assertTrue(source.contains("varargsValues(final String... names) {\n        " + GUARD), source);
+        Assertions.assertTrue(source.contains("formatted(final Object value) {\n        " + GUARD), source);
+        Assertions.assertTrue(source.contains("count(final long count, final String name) {\n        " + GUARD), source);
+        Assertions.assertFalse(source.contains("plain(final String value) {\n        " + GUARD), source);
+    }
+
+    @Test
+    public void alwaysCheckEnabled() throws Exception {
+        try (ProcessorCompiler compiler = ProcessorCompiler.create()) {
+            compiler.option("org.jboss.logging.tools.alwaysCheckEnabled", "true")
+                    .compile(GuardedLogger.class);
+            final String source = compiler.generatedSource(GuardedLogger.class, "GuardedLogger_$logger");
+            Assertions.assertTrue(source.contains("plain(final String value) {\n        " + GUARD), source);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated.tests;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.jboss.logging.processor.generated.EventLogger;
+import org.jboss.logging.processor.generated.TestConstants;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Tests the JFR events generated for log methods with the {@code org.jboss.logging.tools.jfrEvents} option.
+ */
+public class JfrEventsTest extends AbstractLoggerTest {
+
+    private static final String EVENT_PREFIX = EventLogger.class.getName() + ".";
+
+    private static ProcessorCompiler compiler;
+    private static Object logger;
+
+    @BeforeAll
+    public static void compile() throws Exception {
+        compiler = ProcessorCompiler.create()
+                .option("org.jboss.logging.tools.jfrEvents", "true")
+                .compile(EventLogger.class);
+        logger = compiler.logger(EventLogger.class);
+    }
+
+    @AfterAll
+    public static void cleanUp() throws Exception {
+        if (compiler != null) {
+            compiler.close();
+        }
+    }
+
+    @AfterEach
+    public void clearHandler() {
+        HANDLER.close();
+    }
+
+    @Test
+    public void eventsCommitted() throws Throwable {
+        final List<RecordedEvent> events;
+        final Path file = Files.createTempFile("events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_PREFIX + "ConnectedEvent");
+            recording.enable(EVENT_PREFIX + "FailedEvent");
+            recording.enable(EVENT_PREFIX + "FailedEvent1");
+            recording.start();
+            ProcessorCompiler.invoke(logger, "connected", "localhost", 8080);
+            // The failed methods are overloaded, invoke them by their parameter types
+            logger.getClass().getMethod("failed", Throwable.class, Object.class)
+                    .invoke(logger, new IllegalStateException("closed"), "target");
+            logger.getClass().getMethod("failed", Throwable.class, Object[].class)
+                    .invoke(logger, null, new Object[] { "a", "b" });
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            Files.delete(file);
+        }
+        // The messages are still logged
+        Assertions.assertEquals("JFREVT000001: Connected to localhost:8080", HANDLER.getMessage());
+        Assertions.assertEquals("JFREVT000002: Failed to process target", HANDLER.getMessage());
+        Assertions.assertEquals("JFREVT000002: Failed to process [a, b]", HANDLER.getMessage());
+
+        Assertions.assertEquals(3, events.size(), () -> String.valueOf(events));
+        final RecordedEvent connected = events.get(0);
+        Assertions.assertEquals(EVENT_PREFIX + "ConnectedEvent", connected.getEventType().getName());
+        Assertions.assertEquals("JFREVT000001", connected.getEventType().getLabel());
+        Assertions.assertEquals("localhost", connected.getString("host"));
+        Assertions.assertEquals(8080, connected.getInt("port"));
+        final RecordedEvent failed = events.get(1);
+        Assertions.assertEquals("java.lang.IllegalStateException: closed", failed.getString("cause"));
+        Assertions.assertEquals("target", failed.getString("target"));
+        final RecordedEvent failedVarargs = events.get(2);
+        Assertions.assertEquals(EVENT_PREFIX + "FailedEvent1", failedVarargs.getEventType().getName());
+        Assertions.assertEquals("[a, b]", failedVarargs.getString("targets"));
+    }
+
+    @Test
+    public void supplierInvokedOnce() throws Throwable {
+        final AtomicInteger count = new AtomicInteger();
+        final Supplier<String> name = () -> "config-" + count.incrementAndGet();
+        final List<RecordedEvent> events;
+        final Path file = Files.createTempFile("events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_PREFIX + "LoadedEvent");
+            recording.start();
+            ProcessorCompiler.invoke(logger, "loaded", name);
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            Files.delete(file);
+        }
+        // The event and the message use the same value
+        Assertions.assertEquals(1, count.get());
+        Assertions.assertEquals("JFREVT000003: Loaded config-1", HANDLER.getMessage());
+        Assertions.assertEquals(1, events.size(), () -> String.valueOf(events));
+        Assertions.assertEquals("config-1", events.get(0).getString("name"));
+
+        // Without a recording the supplier is only invoked for the message
+        ProcessorCompiler.invoke(logger, "loaded", name);
+        Assertions.assertEquals(2, count.get());
+        Assertions.assertEquals("JFREVT000003: Loaded config-2", HANDLER.getMessage());
+    }
+
+    @Test
+    public void levelIndependent() throws Throwable {
+        final org.jboss.logmanager.Logger lmLogger = org.jboss.logmanager.Logger.getLogger(TestConstants.CATEGORY);
+        lmLogger.setLevel(java.util.logging.Level.SEVERE);
+        final List<RecordedEvent> events;
+        final Path file = Files.createTempFile("events", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_PREFIX + "ConnectedEvent");
+            recording.start();
+            ProcessorCompiler.invoke(logger, "connected", "localhost", 8443);
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            lmLogger.setLevel(null);
+            Files.delete(file);
+        }
+        Assertions.assertEquals(0, HANDLER.size());
+        Assertions.assertEquals(1, events.size(), () -> String.valueOf(events));
+        Assertions.assertEquals(8443, events.get(0).getInt("port"));
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated.tests;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.jboss.logging.processor.generated.LevelOverrideLogger;
+import org.jboss.logging.processor.generated.TestConstants;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the level of messages can be overridden at runtime with the {@code org.jboss.logging.tools.levelOverrides}
+ * option.
+ */
+public class LevelOverrideTest extends AbstractLoggerTest {
+
+    private static ProcessorCompiler compiler;
+    private static Object logger;
+
+    @BeforeAll
+    public static void compile() throws Exception {
+        compiler = ProcessorCompiler.create()
+                .option("org.jboss.logging.tools.levelOverrides", "true")
+                .compile(LevelOverrideLogger.class);
+        logger = compiler.logger(LevelOverrideLogger.class);
+    }
+
+    @AfterAll
+    public static void cleanUp() throws Exception {
+        if (compiler != null) {
+            compiler.close();
+        }
+    }
+
+    @AfterEach
+    public void clearOverrides() throws Throwable {
+        for (String key : (String[]) ProcessorCompiler.invoke(logger, "getLevelOverrideKeys")) {
+            ProcessorCompiler.invoke(logger, "setLevelOverride", key, null);
+        }
+        HANDLER.close();
+    }
+
+    @Test
+    public void overrideKeys() throws Throwable {
+        Assertions.assertArrayEquals(new String[] { "LVLOVR000001", "LVLOVR000002", "unnumbered" },
+                (String[]) ProcessorCompiler.invoke(logger, "getLevelOverrideKeys"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ProcessorCompiler.invoke(logger, "setLevelOverride", "LVLOVR000003", "ERROR"));
+    }
+
+    @Test
+    public void disableMessage() throws Throwable {
+        ProcessorCompiler.invoke(logger, "setLevelOverride", "LVLOVR000001", "OFF");
+        Assertions.assertEquals("OFF", ProcessorCompiler.invoke(logger, "getLevelOverride", "LVLOVR000001"));
+        Assertions.assertEquals(false, ProcessorCompiler.invoke(logger, "isNoisyEnabled"));
+        ProcessorCompiler.invoke(logger, "noisy", "text");
+        ProcessorCompiler.invoke(logger, "noisy", 1);
+        Assertions.assertEquals(0, HANDLER.size());
+        ProcessorCompiler.invoke(logger, "unnumbered");
+        Assertions.assertEquals("Unnumbered", HANDLER.getMessage());
+
+        ProcessorCompiler.invoke(logger, "setLevelOverride", "LVLOVR000001", null);
+        Assertions.assertNull(ProcessorCompiler.invoke(logger, "getLevelOverride", "LVLOVR000001"));
+        ProcessorCompiler.invoke(logger, "noisy", "text");
+        Assertions.assertEquals("LVLOVR000001: Noisy text", HANDLER.getMessage());
+    }
+
+    @Test
+    public void promoteMessage() throws Throwable {
+        final org.jboss.logmanager.Logger lmLogger = org.jboss.logmanager.Logger.getLogger(TestConstants.CATEGORY);
+        lmLogger.setLevel(java.util.logging.Level.INFO);
+        try {
+            ProcessorCompiler.invoke(logger, "hidden", "value");
+            Assertions.assertEquals(0, HANDLER.size());
+            ProcessorCompiler.invoke(logger, "setLevelOverride", "LVLOVR000002", "ERROR");
+            ProcessorCompiler.invoke(logger, "hidden", "value");
+            Assertions.assertEquals("LVLOVR000002: Hidden value", HANDLER.getMessage());
+        } finally {
+            lmLogger.setLevel(null);
+        }
+    }
+
+    @Test
+    public void mxBean() throws Throwable {
+        final ObjectName name = (ObjectName) ProcessorCompiler.invoke(logger, "registerLevelOverrides");
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.invoke(name, "setLevelOverride", new Object[] { "unnumbered", "OFF" },
+                    new String[] { String.class.getName(), String.class.getName() });
+            Assertions.assertEquals("OFF", ProcessorCompiler.invoke(logger, "getLevelOverride", "unnumbered"));
+            ProcessorCompiler.invoke(logger, "unnumbered");
+            Assertions.assertEquals(0, HANDLER.size());
+            Assertions.assertArrayEquals((String[]) ProcessorCompiler.invoke(logger, "getLevelOverrideKeys"),
+                    (String[]) server.getAttribute(name, "LevelOverrideKeys"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
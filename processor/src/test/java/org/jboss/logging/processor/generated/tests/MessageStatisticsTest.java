@@ -0,0 +1,124 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated.tests;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.jboss.logging.processor.generated.StatisticsLogger;
+import org.jboss.logging.processor.generated.TestConstants;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the statistics kept for each message with the {@code org.jboss.logging.tools.messageStatistics} option.
+ */
+public class MessageStatisticsTest extends AbstractLoggerTest {
+
+    private static ProcessorCompiler compiler;
+    private static Object logger;
+
+    @BeforeAll
+    public static void compile() throws Exception {
+        compiler = ProcessorCompiler.create()
+                .option("org.jboss.logging.tools.messageStatistics", "true")
+                .compile(StatisticsLogger.class);
+        logger = compiler.logger(StatisticsLogger.class);
+    }
+
+    @AfterAll
+    public static void cleanUp() throws Exception {
+        if (compiler != null) {
+            compiler.close();
+        }
+    }
+
+    @AfterEach
+    public void resetStatistics() throws Throwable {
+        ProcessorCompiler.invoke(logger, "resetStatistics");
+        HANDLER.close();
+    }
+
+    @Test
+    public void statisticsKeys() throws Throwable {
+        Assertions.assertArrayEquals(new String[] { "STATS000001", "STATS000002", "STATS000003", "STATS000004",
+                "STATS000005" }, (String[]) ProcessorCompiler.invoke(logger, "getStatisticsKeys"));
+    }
+
+    @Test
+    public void enabledCalls() throws Throwable {
+        final org.jboss.logmanager.Logger lmLogger = org.jboss.logmanager.Logger.getLogger(TestConstants.CATEGORY);
+        lmLogger.setLevel(java.util.logging.Level.INFO);
+        try {
+            ProcessorCompiler.invoke(logger, "value", "disabled");
+        } finally {
+            lmLogger.setLevel(null);
+        }
+        ProcessorCompiler.invoke(logger, "value", "enabled");
+        assertStatistics("STATS000001", 2, 1, 0, 0);
+    }
+
+    @Test
+    public void suppressedCalls() throws Throwable {
+        ProcessorCompiler.invoke(logger, "started");
+        ProcessorCompiler.invoke(logger, "started");
+        assertStatistics("STATS000002", 2, 2, 1, 0);
+        ProcessorCompiler.invoke(logger, "limited");
+        ProcessorCompiler.invoke(logger, "limited");
+        ProcessorCompiler.invoke(logger, "limited");
+        assertStatistics("STATS000003", 3, 3, 2, 0);
+    }
+
+    @Test
+    public void exceptionsCreated() throws Throwable {
+        ProcessorCompiler.invoke(logger, "invalid", "value");
+        assertStatistics("STATS000004", 1, 0, 0, 1);
+        // The exception is only created when the supplier is invoked
+        final Supplier<?> supplier = (Supplier<?>) ProcessorCompiler.invoke(logger, "deferred");
+        assertStatistics("STATS000005", 1, 0, 0, 0);
+        supplier.get();
+        assertStatistics("STATS000005", 1, 0, 0, 1);
+    }
+
+    @Test
+    public void mxBean() throws Throwable {
+        final ObjectName name = (ObjectName) ProcessorCompiler.invoke(logger, "registerStatistics");
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ProcessorCompiler.invoke(logger, "invalid", "value");
+            Assertions.assertArrayEquals(new long[] { 1, 0, 0, 1 }, (long[]) server.invoke(name, "getStatistics",
+                    new Object[] { "STATS000004" }, new String[] { String.class.getName() }));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+    private static void assertStatistics(final String key, final long calls, final long enabled, final long suppressed,
+            final long exceptions) throws Throwable {
+        Assertions.assertArrayEquals(new long[] { calls, enabled, suppressed, exceptions },
+                (long[]) ProcessorCompiler.invoke(logger, "getStatistics", key));
+    }
+}
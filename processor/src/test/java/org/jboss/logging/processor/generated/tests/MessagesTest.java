@@ -26,7 +26,17 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.net.SocketException;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import org.jboss.logging.processor.generated.MethodMessageConstants;
@@ -73,6 +83,31 @@ public class MessagesTest {
                 ValidMessages.MESSAGES.testMessageFormatException(arg1, arg2).getMessage());
     }
 
+    @Test
+    public void testMessageFormatConcurrent() throws Exception {
+        final Date date = new GregorianCalendar(2011, Calendar.JUNE, 13).getTime();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int offset = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        final double value = (offset * 1000) + i + 0.5d;
+                        final String expected = new MessageFormat(ValidMessages.TEST_MESSAGE_SUB_FORMAT, Locale.ROOT)
+                                .format(new Object[] { value, date });
+                        Assertions.assertEquals(expected, ValidMessages.MESSAGES.testMessageSubFormat(value, date));
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void testCauseInitialized() {
         final IOException exception = new IOException("Write failure");
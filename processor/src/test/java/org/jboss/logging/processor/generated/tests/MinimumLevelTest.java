@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated.tests;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.logging.processor.generated.MinimumLevelLogger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests log methods below the {@code org.jboss.logging.tools.minimumLevel} are generated without a body.
+ */
+public class MinimumLevelTest extends AbstractLoggerTest {
+
+    private static ProcessorCompiler compiler;
+
+    @BeforeAll
+    public static void compile() throws Exception {
+        compiler = ProcessorCompiler.create()
+                .option("org.jboss.logging.tools.minimumLevel", "INFO")
+                .compile(MinimumLevelLogger.class);
+    }
+
+    @AfterAll
+    public static void cleanUp() throws Exception {
+        if (compiler != null) {
+            compiler.close();
+        }
+    }
+
+    @AfterEach
+    public void clearHandler() {
+        HANDLER.close();
+    }
+
+    @Test
+    public void generatedSource() throws Exception {
+        final String source = compiler.generatedSource(MinimumLevelLogger.class, "MinimumLevelLogger_$logger");
+        Assertions.assertTrue(source.contains("public final void traceValue(final Object value) {}"), source);
+        Assertions.assertTrue(source.contains("public final void debugValue(final Object value) {}"), source);
+        Assertions.assertFalse(source.contains("isEnabled(DEBUG)"), source);
+        // The message methods are kept for translations
+        Assertions.assertTrue(source.contains("debugValue$str()"), source);
+    }
+
+    @Test
+    public void elidedMethods() throws Throwable {
+        final Object logger = compiler.logger(MinimumLevelLogger.class);
+        final AtomicInteger formatted = new AtomicInteger();
+        final Object value = new Object() {
+            @Override
+            public String toString() {
+                formatted.incrementAndGet();
+                return "value";
+            }
+        };
+        ProcessorCompiler.invoke(logger, "traceValue", value);
+        ProcessorCompiler.invoke(logger, "debugValue", value);
+        Assertions.assertEquals(0, HANDLER.size());
+        Assertions.assertEquals(0, formatted.get());
+
+        ProcessorCompiler.invoke(logger, "infoValue", value);
+        Assertions.assertEquals("MINLVL000003: Info value", HANDLER.getMessage());
+        ProcessorCompiler.invoke(logger, "errorValue", value);
+        Assertions.assertEquals("MINLVL000004: Error value", HANDLER.getMessage());
+    }
+}
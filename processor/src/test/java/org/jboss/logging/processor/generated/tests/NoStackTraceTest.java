@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated.tests;
+
+import org.jboss.logging.Messages;
+import org.jboss.logging.processor.generated.NoStackTraceMessages;
+import org.jboss.logging.processor.generated.NoStackTraceMessages.ValidationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests exceptions created by methods annotated with {@link org.jboss.logging.annotations.NoStackTrace @NoStackTrace}.
+ */
+public class NoStackTraceTest {
+
+    private static final NoStackTraceMessages MESSAGES = Messages.getBundle(NoStackTraceMessages.class);
+
+    @Test
+    public void subclassWithoutStackTrace() {
+        final IllegalArgumentException e = MESSAGES.invalidValue("test");
+        Assertions.assertEquals("NST000001: Invalid value test", e.getMessage());
+        Assertions.assertEquals("java.lang.IllegalArgumentException: NST000001: Invalid value test", e.toString());
+        assertGeneratedSubclass(IllegalArgumentException.class, e);
+        Assertions.assertEquals(0, e.getStackTrace().length);
+    }
+
+    @Test
+    public void protectedConstructorWithoutStackTrace() {
+        final IllegalStateException cause = new IllegalStateException("cause");
+        final RuntimeException e = MESSAGES.unavailable(cause, "test");
+        Assertions.assertEquals("java.lang.RuntimeException: NST000006: Unavailable test", e.toString());
+        assertGeneratedSubclass(RuntimeException.class, e);
+        Assertions.assertSame(cause, e.getCause());
+        Assertions.assertEquals(0, e.getStackTrace().length);
+        // Only the stack trace is disabled
+        e.addSuppressed(new IllegalStateException("suppressed"));
+        Assertions.assertEquals(1, e.getSuppressed().length);
+    }
+
+    @Test
+    public void constructorWithoutStackTrace() {
+        final IllegalStateException cause = new IllegalStateException("cause");
+        final IllegalStateException suppressed = new IllegalStateException("suppressed");
+        final ValidationException e = MESSAGES.validationFailed(cause, suppressed);
+        Assertions.assertEquals(ValidationException.class, e.getClass());
+        Assertions.assertEquals("NST000002: Validation failed", e.getMessage());
+        Assertions.assertSame(cause, e.getCause());
+        Assertions.assertArrayEquals(new Throwable[] { suppressed }, e.getSuppressed());
+        Assertions.assertEquals(0, e.getStackTrace().length);
+    }
+
+    @Test
+    public void stackTraceRequired() {
+        // Final types and producers cannot disable the stack trace
+        Assertions.assertNotEquals(0, MESSAGES.finalFailure().getStackTrace().length);
+        Assertions.assertNotEquals(0, MESSAGES.produced(RuntimeException::new).getStackTrace().length);
+        Assertions.assertNotEquals(0, MESSAGES.withStackTrace().getStackTrace().length);
+    }
+
+    private static void assertGeneratedSubclass(final Class<?> expectedType, final Throwable e) {
+        Assertions.assertFalse(e.getClass().isAnonymousClass(), e.getClass().getName());
+        Assertions.assertEquals(expectedType, e.getClass().getSuperclass());
+        Assertions.assertEquals(expectedType.getSimpleName() + "_$NoStackTrace", e.getClass().getSimpleName());
+    }
+}
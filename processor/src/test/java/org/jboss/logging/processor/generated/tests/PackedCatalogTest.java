@@ -0,0 +1,174 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Locale;
+
+import org.jboss.logging.Messages;
+import org.jboss.logging.processor.generated.DefaultLogger;
+import org.jboss.logging.processor.generated.TableMessages;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the messages packed into a catalog resource are the same as the messages generated as string constants.
+ */
+public class PackedCatalogTest {
+
+    private static ProcessorCompiler compiler;
+
+    @BeforeAll
+    public static void compile() throws Exception {
+        compiler = ProcessorCompiler.create()
+                .option("org.jboss.logging.tools.packedCatalog", "true")
+                .option("translationFilesPath", System.getProperty("test.skeleton.file.path") + File.separator)
+                .compile(TableMessages.class, DefaultLogger.class);
+    }
+
+    @AfterAll
+    public static void cleanUp() throws Exception {
+        if (compiler != null) {
+            compiler.close();
+        }
+    }
+
+    @Test
+    public void generatedCatalog() throws Exception {
+        final String source = compiler.generatedSource(TableMessages.class, "TableMessages_$bundle");
+        Assertions.assertFalse(source.contains("Hello %s"), source);
+        Assertions.assertTrue(source.contains("return _message(0);"), source);
+        final String translationSource = compiler.generatedSource(TableMessages.class, "TableMessages_$bundle_de_AT");
+        Assertions.assertTrue(translationSource.contains("extends TableMessages_$bundle "), translationSource);
+        Assertions.assertFalse(translationSource.contains("Servus"), translationSource);
+        final Class<?> type = compiler.loadClass(TableMessages.class);
+        try (InputStream in = type.getResourceAsStream("TableMessages_$bundle_de_AT.catalog")) {
+            Assertions.assertNotNull(in, "Missing the catalog resource");
+        }
+    }
+
+    @Test
+    public void translatedMessages() throws Throwable {
+        for (Locale locale : new Locale[] { Locale.ROOT, Locale.GERMAN, new Locale("de", "AT"), new Locale("es", "MX") }) {
+            final TableMessages expected = Messages.getBundle(TableMessages.class, locale);
+            final Object messages = compiler.bundle(TableMessages.class, locale);
+            Assertions.assertEquals(expected.hello("Welt"), ProcessorCompiler.invoke(messages, "hello", "Welt"));
+            Assertions.assertEquals(expected.goodbye("Welt"), ProcessorCompiler.invoke(messages, "goodbye", "Welt"));
+            Assertions.assertEquals(expected.invalidValue("x").getMessage(),
+                    ((Throwable) ProcessorCompiler.invoke(messages, "invalidValue", "x")).getMessage());
+            Assertions.assertEquals(expected.notTranslated(), ProcessorCompiler.invoke(messages, "notTranslated"));
+            // The second request is served from the decoded messages
+            Assertions.assertEquals(expected.hello("Welt"), ProcessorCompiler.invoke(messages, "hello", "Welt"));
+        }
+    }
+
+    @Test
+    public void loggerMessages() throws Exception {
+        final String source = compiler.generatedSource(DefaultLogger.class, "DefaultLogger_$logger");
+        Assertions.assertFalse(source.contains("How are you %s?"), source);
+        Assertions.assertNotNull(compiler.logger(DefaultLogger.class));
+        Assertions.assertNotNull(compiler.loadClass(DefaultLogger.class).getResource("DefaultLogger_$logger_zh_TW.catalog"));
+    }
+
+    @Test
+    public void failedRead() throws Exception {
+        final InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Read failed");
+            }
+        };
+        final Throwable error = readCatalog(failing);
+        Assertions.assertInstanceOf(UncheckedIOException.class, error);
+        Assertions.assertEquals("Could not read the message catalog test.catalog", error.getMessage());
+        Assertions.assertEquals("Read failed", error.getCause().getMessage());
+    }
+
+    @Test
+    public void shortRead() throws Exception {
+        final Throwable error = readCatalog(new ByteArrayInputStream(new byte[8]));
+        Assertions.assertInstanceOf(IllegalStateException.class, error);
+        Assertions.assertEquals("Unexpected end of the message catalog test.catalog", error.getMessage());
+    }
+
+    /**
+     * Reads a message from a catalog whose resource is the stream passed.
+     *
+     * @param in the stream of the catalog resource
+     *
+     * @return the error thrown reading the message
+     */
+    private static Throwable readCatalog(final InputStream in) throws Exception {
+        Class<?> catalogType = null;
+        for (Class<?> type : compiler.bundle(TableMessages.class).getClass().getDeclaredClasses()) {
+            if (type.getSimpleName().equals("MessageCatalog")) {
+                catalogType = type;
+            }
+        }
+        Assertions.assertNotNull(catalogType, "Missing the message catalog type");
+        final Constructor<?> constructor = catalogType.getDeclaredConstructor(Class.class, String.class, int.class,
+                int.class);
+        constructor.setAccessible(true);
+        final Object catalog = constructor.newInstance(new ResourceClassLoader(in).resourceType(), "test.catalog", 1, 16);
+        final Method get = catalogType.getDeclaredMethod("get", int.class);
+        get.setAccessible(true);
+        final InvocationTargetException e = Assertions.assertThrows(InvocationTargetException.class,
+                () -> get.invoke(catalog, 0));
+        return e.getCause();
+    }
+
+    /**
+     * Defines a type whose resources are all read from the stream passed.
+     */
+    private static class ResourceClassLoader extends ClassLoader {
+        private final InputStream in;
+
+        ResourceClassLoader(final InputStream in) {
+            super(PackedCatalogTest.class.getClassLoader());
+            this.in = in;
+        }
+
+        Class<?> resourceType() throws IOException {
+            final String name = ResourceType.class.getName();
+            try (InputStream type = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                Assertions.assertNotNull(type, "Missing the class file of " + name);
+                final byte[] bytes = type.readAllBytes();
+                return defineClass(name, bytes, 0, bytes.length);
+            }
+        }
+
+        @Override
+        public InputStream getResourceAsStream(final String name) {
+            return in;
+        }
+    }
+
+    private static class ResourceType {
+    }
+}
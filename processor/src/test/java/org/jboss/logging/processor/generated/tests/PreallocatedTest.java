@@ -0,0 +1,70 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated.tests;
+
+import org.jboss.logging.Messages;
+import org.jboss.logging.processor.generated.PreallocatedMessages;
+import org.jboss.logging.processor.generated.PreallocatedMessages.QueueFullException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests exceptions returned by methods annotated with {@link org.jboss.logging.annotations.Preallocated @Preallocated}.
+ */
+public class PreallocatedTest {
+
+    private static final PreallocatedMessages MESSAGES = Messages.getBundle(PreallocatedMessages.class);
+
+    @Test
+    public void protectedConstructor() {
+        final RuntimeException e = MESSAGES.cancelled();
+        Assertions.assertSame(e, MESSAGES.cancelled());
+        Assertions.assertEquals("PRE000001: Operation cancelled", e.getMessage());
+        Assertions.assertEquals("java.lang.RuntimeException: PRE000001: Operation cancelled", e.toString());
+        Assertions.assertFalse(e.getClass().isAnonymousClass(), e.getClass().getName());
+        Assertions.assertEquals(RuntimeException.class, e.getClass().getSuperclass());
+        Assertions.assertEquals("RuntimeException_$NoStackTrace", e.getClass().getSimpleName());
+        assertImmutable(e);
+    }
+
+    @Test
+    public void publicConstructor() {
+        final QueueFullException e = MESSAGES.queueFull();
+        Assertions.assertEquals(QueueFullException.class, e.getClass());
+        Assertions.assertSame(e, MESSAGES.queueFull());
+        Assertions.assertEquals("PRE000002: Queue is full", e.getMessage());
+        Assertions.assertNull(e.getCause());
+    }
+
+    @Test
+    public void supplier() {
+        final RuntimeException e = MESSAGES.notAvailable().get();
+        Assertions.assertSame(e, MESSAGES.notAvailable().get());
+        Assertions.assertEquals("PRE000003: Not available", e.getMessage());
+        assertImmutable(e);
+    }
+
+    private static void assertImmutable(final Throwable e) {
+        Assertions.assertEquals(0, e.getStackTrace().length);
+        e.addSuppressed(new IllegalStateException("suppressed"));
+        Assertions.assertEquals(0, e.getSuppressed().length);
+        Assertions.assertThrows(IllegalStateException.class, () -> e.initCause(new IllegalStateException("cause")));
+    }
+}
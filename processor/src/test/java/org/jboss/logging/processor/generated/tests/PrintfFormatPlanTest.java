@@ -0,0 +1,171 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated.tests;
+
+import java.io.File;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Formattable;
+import java.util.Formatter;
+import java.util.GregorianCalendar;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import org.jboss.logging.Messages;
+import org.jboss.logging.processor.generated.PrintfFormatLogger;
+import org.jboss.logging.processor.generated.PrintfFormatMessages;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the precompiled printf formats render the same messages as {@link String#format(String, Object...)}.
+ */
+public class PrintfFormatPlanTest extends AbstractLoggerTest {
+
+    private static ProcessorCompiler compiler;
+
+    @BeforeAll
+    public static void compile() throws Exception {
+        compiler = ProcessorCompiler.create()
+                .option("org.jboss.logging.tools.precompileFormats", "true")
+                .option("translationFilesPath", System.getProperty("test.skeleton.file.path") + File.separator)
+                .compile(PrintfFormatMessages.class, PrintfFormatLogger.class);
+    }
+
+    @AfterAll
+    public static void cleanUp() throws Exception {
+        if (compiler != null) {
+            compiler.close();
+        }
+    }
+
+    @AfterEach
+    public void clearHandler() {
+        HANDLER.close();
+    }
+
+    @Test
+    public void generatedFormatMethods() throws Exception {
+        final String bundleSource = compiler.generatedSource(PrintfFormatMessages.class, "PrintfFormatMessages_$bundle");
+        Assertions.assertTrue(bundleSource.contains("simple$fmt("), "Expected the format method to be generated");
+        final String loggerSource = compiler.generatedSource(PrintfFormatLogger.class, "PrintfFormatLogger_$logger");
+        Assertions.assertTrue(loggerSource.contains("stringInt$fmt("), "Expected the format method to be generated");
+        Assertions.assertFalse(loggerSource.contains("logf(FQCN, INFO, null, stringInt$str()"),
+                "Expected the messages to be rendered before logging");
+        Assertions.assertTrue(loggerSource.contains("logf(FQCN, INFO, null, diskFull$str())"),
+                "Expected messages without format parameters to be passed to the logger as is");
+        Assertions.assertFalse(loggerSource.contains("diskFull$fmt("), loggerSource);
+    }
+
+    @Test
+    public void primitivesNotBoxed() throws Throwable {
+        final String bundleSource = compiler.generatedSource(PrintfFormatMessages.class, "PrintfFormatMessages_$bundle");
+        Assertions.assertTrue(bundleSource.contains("primitives$fmt(final Locale locale, final boolean arg1, final char arg2, "
+                + "final byte arg3, final short arg4, final float arg5, final double arg6, final long arg7, final int arg8, "
+                + "final int arg9)"), bundleSource);
+        Assertions.assertTrue(bundleSource.contains("sb.append(arg1);"), bundleSource);
+        Assertions.assertTrue(bundleSource.contains("sb.append(Long.toHexString(arg7));"), bundleSource);
+        Assertions.assertTrue(bundleSource.contains("_appendDecimal(sb, locale, arg9);"), bundleSource);
+
+        final Object messages = compiler.bundle(PrintfFormatMessages.class);
+        Assertions.assertEquals(
+                PrintfFormatMessages.MESSAGES.primitives(true, 'p', (byte) -1, (short) 2, 1.5f, Math.E, -1L, -8, -10),
+                ProcessorCompiler.invoke(messages, "primitives", true, 'p', (byte) -1, (short) 2, 1.5f, Math.E, -1L, -8, -10));
+        final Object germanMessages = compiler.bundle(PrintfFormatMessages.class, Locale.GERMAN);
+        Assertions.assertEquals(
+                Messages.getBundle(PrintfFormatMessages.class, Locale.GERMAN).primitives(false, 'p', (byte) 1, (short) 2,
+                        1.5f, Math.E, 255L, 8, 12345),
+                ProcessorCompiler.invoke(germanMessages, "primitives", false, 'p', (byte) 1, (short) 2, 1.5f, Math.E, 255L,
+                        8, 12345));
+    }
+
+    @Test
+    public void bundleMessages() throws Throwable {
+        final Object messages = compiler.bundle(PrintfFormatMessages.class);
+        Assertions.assertEquals(PrintfFormatMessages.MESSAGES.simple("value", 12345, 255, 8L),
+                ProcessorCompiler.invoke(messages, "simple", "value", 12345, 255, 8L));
+        final Object hash = new Object();
+        Assertions.assertEquals(PrintfFormatMessages.MESSAGES.misc(Boolean.FALSE, "x", null, 'c', hash, null, null),
+                ProcessorCompiler.invoke(messages, "misc", Boolean.FALSE, "x", null, 'c', hash, null, null));
+        Assertions.assertEquals(PrintfFormatMessages.MESSAGES.flags("left", 42, Math.PI, "upper", 255),
+                ProcessorCompiler.invoke(messages, "flags", "left", 42, Math.PI, "upper", 255));
+        Assertions.assertEquals(PrintfFormatMessages.MESSAGES.indexed("first", "second"),
+                ProcessorCompiler.invoke(messages, "indexed", "first", "second"));
+        final Date date = new GregorianCalendar(1995, Calendar.MAY, 23).getTime();
+        Assertions.assertEquals(PrintfFormatMessages.MESSAGES.dateTime(date),
+                ProcessorCompiler.invoke(messages, "dateTime", date));
+        final Formattable formattable = new TestFormattable();
+        Assertions.assertEquals(PrintfFormatMessages.MESSAGES.formattable(formattable, 1.5d),
+                ProcessorCompiler.invoke(messages, "formattable", formattable, 1.5d));
+        Assertions.assertEquals(PrintfFormatMessages.MESSAGES.negative(Long.MIN_VALUE, -1, -8),
+                ProcessorCompiler.invoke(messages, "negative", Long.MIN_VALUE, -1, -8));
+        Assertions.assertEquals(PrintfFormatMessages.MESSAGES.noArguments(),
+                ProcessorCompiler.invoke(messages, "noArguments"));
+    }
+
+    @Test
+    public void translatedMessages() throws Throwable {
+        final PrintfFormatMessages expected = Messages.getBundle(PrintfFormatMessages.class, Locale.GERMAN);
+        final Object messages = compiler.bundle(PrintfFormatMessages.class, Locale.GERMAN);
+        Assertions.assertEquals(expected.simple("Wert", 12345, 255, 8L),
+                ProcessorCompiler.invoke(messages, "simple", "Wert", 12345, 255, 8L));
+        Assertions.assertEquals(expected.indexed("erste", "zweite"),
+                ProcessorCompiler.invoke(messages, "indexed", "erste", "zweite"));
+        // Messages without a translation should use the default message
+        Assertions.assertEquals(expected.noArguments(), ProcessorCompiler.invoke(messages, "noArguments"));
+    }
+
+    @Test
+    public void loggerMessages() throws Throwable {
+        final Object logger = compiler.logger(PrintfFormatLogger.class);
+        ProcessorCompiler.invoke(logger, "stringInt", "value", 1024);
+        Assertions.assertEquals(String.format("PLAN000100: String %s integer %d", "value", 1024), HANDLER.getMessage());
+
+        ProcessorCompiler.invoke(logger, "failed", new RuntimeException("test"), "value");
+        Assertions.assertEquals("PLAN000101: Failed to process value", HANDLER.getMessage());
+
+        final Supplier<String> supplier = () -> "supplied";
+        ProcessorCompiler.invoke(logger, "supplied", supplier);
+        Assertions.assertEquals("PLAN000102: Supplied supplied", HANDLER.getMessage());
+
+        ProcessorCompiler.invoke(logger, "once", "value");
+        ProcessorCompiler.invoke(logger, "once", "value");
+        Assertions.assertEquals("PLAN000103: Logged once value", HANDLER.getMessage());
+        Assertions.assertEquals(0, HANDLER.size(), "The message should have only been logged once");
+    }
+
+    @Test
+    public void noFormatParameters() throws Throwable {
+        final Object logger = compiler.logger(PrintfFormatLogger.class);
+        // The logger does not format messages without format parameters
+        ProcessorCompiler.invoke(logger, "diskFull");
+        Assertions.assertEquals("PLAN000104: Disk 100%% full", HANDLER.getMessage());
+    }
+
+    private static class TestFormattable implements Formattable {
+        @Override
+        public void formatTo(final Formatter formatter, final int flags, final int width, final int precision) {
+            formatter.format("formatted with %s", formatter.locale());
+        }
+    }
+}
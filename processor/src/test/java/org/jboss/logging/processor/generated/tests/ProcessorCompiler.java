@@ -0,0 +1,359 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated.tests;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.jboss.logging.Logger;
+import org.jboss.logging.Messages;
+import org.jboss.logging.annotations.MessageLogger;
+import org.jboss.logging.processor.apt.LoggingToolsProcessor;
+import org.jboss.logging.processor.generated.TestConstants;
+import org.junit.jupiter.api.Assertions;
+
+/**
+ * Compiles message interfaces from the test sources with processor options which are not used for the default test
+ * compilation. The classes compiled are loaded in an isolated class loader so they do not conflict with the classes
+ * generated by the default test compilation.
+ */
+class ProcessorCompiler implements AutoCloseable {
+
+    private final Map<String, String> options = new LinkedHashMap<>();
+    private final List<Diagnostic<? extends JavaFileObject>> diagnostics = new ArrayList<>();
+    private final Path outputDir;
+    private URLClassLoader classLoader;
+
+    private ProcessorCompiler() throws IOException {
+        outputDir = Files.createTempDirectory("processor-compiler");
+    }
+
+    /**
+     * Creates a new compiler.
+     *
+     * @return the compiler
+     *
+     * @throws IOException if the output directory could not be created
+     */
+    static ProcessorCompiler create() throws IOException {
+        return new ProcessorCompiler();
+    }
+
+    /**
+     * Adds a processor option passed to the compiler.
+     *
+     * @param key   the option key
+     * @param value the option value
+     *
+     * @return this compiler
+     */
+    ProcessorCompiler option(final String key, final String value) {
+        options.put(key, value);
+        return this;
+    }
+
+    /**
+     * Compiles the sources of the types passed.
+     *
+     * @param types the types to compile from the test sources
+     *
+     * @return this compiler
+     *
+     * @throws IOException if an error occurs compiling
+     */
+    ProcessorCompiler compile(final Class<?>... types) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        final Path srcDir = Paths.get(System.getProperty("test.src.path"));
+        final List<Path> sources = new ArrayList<>();
+        for (Class<?> type : types) {
+            sources.add(srcDir.resolve(type.getName().replace('.', '/') + ".java"));
+        }
+        final List<String> args = new ArrayList<>();
+        args.add("-d");
+        args.add(outputDir.toString());
+        args.add("-s");
+        args.add(outputDir.toString());
+        args.add("-implicit:none");
+        args.add("-encoding");
+        args.add("UTF-8");
+        args.add("-classpath");
+        args.add(classpath());
+        for (Map.Entry<String, String> entry : options.entrySet()) {
+            args.add("-A" + entry.getKey() + "=" + entry.getValue());
+        }
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, args, null,
+                    fileManager.getJavaFileObjectsFromPaths(sources));
+            task.setProcessors(List.of(new LoggingToolsProcessor()));
+            final boolean success = task.call();
+            this.diagnostics.addAll(diagnostics.getDiagnostics());
+            if (!success) {
+                Assertions.fail(diagnostics.getDiagnostics()
+                        .stream()
+                        .filter(d -> d.getKind() == Diagnostic.Kind.ERROR)
+                        .map(String::valueOf)
+                        .collect(Collectors.joining(System.lineSeparator(), "Failed to compile " + sources + ":"
+                                + System.lineSeparator(), "")));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Returns the messages of the diagnostics reported while compiling.
+     *
+     * @param kind the kind of the diagnostics to return
+     *
+     * @return the messages of the diagnostics
+     */
+    List<String> diagnostics(final Diagnostic.Kind kind) {
+        return diagnostics.stream()
+                .filter(d -> d.getKind() == kind)
+                .map(d -> d.getMessage(Locale.ROOT))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Reads the generated source for the implementation of the type.
+     *
+     * @param type               the message interface
+     * @param implementationName the simple name of the generated implementation
+     *
+     * @return the generated source
+     *
+     * @throws IOException if the source could not be read
+     */
+    String generatedSource(final Class<?> type, final String implementationName) throws IOException {
+        final Path path = outputDir.resolve(type.getPackageName().replace('.', '/')).resolve(implementationName + ".java");
+        return Files.readString(path);
+    }
+
+    /**
+     * Loads the type compiled by this compiler.
+     *
+     * @param type the type to load
+     *
+     * @return the type loaded from the compiled classes
+     *
+     * @throws ClassNotFoundException if the type was not compiled
+     */
+    Class<?> loadClass(final Class<?> type) throws ClassNotFoundException {
+        if (classLoader == null) {
+            try {
+                classLoader = new ChildFirstClassLoader(outputDir.toUri().toURL(), getClass().getClassLoader());
+            } catch (MalformedURLException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return classLoader.loadClass(type.getName());
+    }
+
+    /**
+     * Gets the message bundle for the compiled type.
+     *
+     * @param type the message bundle interface
+     *
+     * @return the message bundle
+     *
+     * @throws ClassNotFoundException if the type was not compiled
+     */
+    Object bundle(final Class<?> type) throws ClassNotFoundException {
+        return Messages.getBundle(loadClass(type));
+    }
+
+    /**
+     * Gets the message bundle for the compiled type and locale.
+     *
+     * @param type   the message bundle interface
+     * @param locale the locale of the bundle
+     *
+     * @return the message bundle
+     *
+     * @throws ClassNotFoundException if the type was not compiled
+     */
+    Object bundle(final Class<?> type, final Locale locale) throws ClassNotFoundException {
+        return Messages.getBundle(loadClass(type), locale);
+    }
+
+    /**
+     * Gets the message logger for the compiled type using the {@link TestConstants#CATEGORY test category}.
+     *
+     * @param type the message logger interface
+     *
+     * @return the message logger
+     *
+     * @throws ClassNotFoundException if the type was not compiled
+     */
+    Object logger(final Class<?> type) throws ClassNotFoundException {
+        return logger(type, TestConstants.CATEGORY);
+    }
+
+    /**
+     * Gets the message logger for the compiled type.
+     *
+     * @param type     the message logger interface
+     * @param category the logger category
+     *
+     * @return the message logger
+     *
+     * @throws ClassNotFoundException if the type was not compiled
+     */
+    Object logger(final Class<?> type, final String category) throws ClassNotFoundException {
+        return Logger.getMessageLogger(loadClass(type), category);
+    }
+
+    /**
+     * Invokes the method with the name on the target. If the method is overloaded, the most specific method
+     * applicable to the arguments is invoked.
+     *
+     * @param target the target object
+     * @param name   the name of the method
+     * @param args   the arguments
+     *
+     * @return the result of the invocation
+     *
+     * @throws Throwable the exception thrown by the method
+     */
+    static Object invoke(final Object target, final String name, final Object... args) throws Throwable {
+        Method found = null;
+        for (Method method : target.getClass().getMethods()) {
+            if (method.getName().equals(name) && isApplicable(method.getParameterTypes(), args)
+                    && (found == null || isMoreSpecific(method.getParameterTypes(), found.getParameterTypes()))) {
+                found = method;
+            }
+        }
+        if (found == null) {
+            throw new NoSuchMethodException(String.format("Method %s applicable to %s not found on %s", name,
+                    Arrays.toString(args), target.getClass()));
+        }
+        try {
+            return found.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static boolean isApplicable(final Class<?>[] types, final Object[] args) {
+        if (types.length != args.length) {
+            return false;
+        }
+        for (int i = 0; i < types.length; i++) {
+            if (args[i] == null ? types[i].isPrimitive() : !wrap(types[i]).isInstance(args[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isMoreSpecific(final Class<?>[] types, final Class<?>[] otherTypes) {
+        for (int i = 0; i < types.length; i++) {
+            if (!wrap(otherTypes[i]).isAssignableFrom(wrap(types[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Class<?> wrap(final Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (classLoader != null) {
+            classLoader.close();
+        }
+        try (Stream<Path> paths = Files.walk(outputDir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static String classpath() {
+        final Set<String> paths = new LinkedHashSet<>();
+        // Surefire may use a manifest only JAR, resolve the locations from the classes themselves
+        for (Class<?> type : new Class<?>[] { Logger.class, MessageLogger.class, TestConstants.class }) {
+            try {
+                paths.add(Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString());
+            } catch (URISyntaxException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return String.join(System.getProperty("path.separator"), paths);
+    }
+
+    private static class ChildFirstClassLoader extends URLClassLoader {
+
+        static {
+            ClassLoader.registerAsParallelCapable();
+        }
+
+        ChildFirstClassLoader(final URL url, final ClassLoader parent) {
+            super(new URL[] { url }, parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> result = findLoadedClass(name);
+                if (result == null && findResource(name.replace('.', '/') + ".class") != null) {
+                    result = findClass(name);
+                }
+                if (result == null) {
+                    return super.loadClass(name, resolve);
+                }
+                if (resolve) {
+                    resolveClass(result);
+                }
+                return result;
+            }
+        }
+    }
+}
@@ -32,10 +32,12 @@ import org.jboss.logmanager.ExtLogRecord;
  */
 class QueuedMessageHandler extends ExtHandler {
     private final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+    private final BlockingQueue<ExtLogRecord> records = new LinkedBlockingQueue<>();
 
     @Override
     protected void doPublish(final ExtLogRecord record) {
         messages.add(record.getFormattedMessage());
+        records.add(record);
     }
 
     /**
@@ -49,6 +51,18 @@ class QueuedMessageHandler extends ExtHandler {
         return messages.poll(1, TimeUnit.SECONDS);
     }
 
+    /**
+     * Polls the record from queue waiting for up to 1 second for the record to appear. The records are queued
+     * independently of the messages.
+     *
+     * @return the record
+     *
+     * @throws InterruptedException if the poll was interrupted
+     */
+    ExtLogRecord getRecord() throws InterruptedException {
+        return records.poll(1, TimeUnit.SECONDS);
+    }
+
     int size() {
         return messages.size();
     }
@@ -61,6 +75,7 @@ class QueuedMessageHandler extends ExtHandler {
     @Override
     public void close() throws SecurityException {
         messages.clear();
+        records.clear();
     }
 
     @Override
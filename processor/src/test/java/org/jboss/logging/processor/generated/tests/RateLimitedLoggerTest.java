@@ -0,0 +1,95 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated.tests;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logging.Logger;
+import org.jboss.logging.processor.generated.RateLimitedLogger;
+import org.jboss.logging.processor.generated.TestConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests messages annotated with {@link org.jboss.logging.annotations.RateLimited @RateLimited}.
+ */
+public class RateLimitedLoggerTest extends AbstractLoggerTest {
+
+    private static final RateLimitedLogger LOGGER = Logger.getMessageLogger(RateLimitedLogger.class,
+            TestConstants.CATEGORY);
+
+    @AfterEach
+    public void clearHandler() {
+        HANDLER.close();
+    }
+
+    @Test
+    public void limitSharedWithOverloads() throws Exception {
+        LOGGER.limited("a");
+        LOGGER.limited(1);
+        LOGGER.limited("b");
+        LOGGER.limited(2);
+        LOGGER.limited("c");
+        Assertions.assertEquals("RATE000001: Limited a", HANDLER.getMessage());
+        Assertions.assertEquals("RATE000001: Limited 1", HANDLER.getMessage());
+        Assertions.assertEquals("RATE000001: Limited b", HANDLER.getMessage());
+        Assertions.assertEquals(0, HANDLER.size(), "Only three messages should have been logged");
+    }
+
+    @Test
+    public void suppressedCountReported() throws Exception {
+        LOGGER.refilled("first");
+        Assertions.assertEquals("RATE000002: Refilled first", HANDLER.getMessage());
+        LOGGER.refilled("suppressed");
+        LOGGER.refilled("suppressed");
+        Assertions.assertEquals(0, HANDLER.size(), "The messages should have been suppressed");
+
+        // Wait for the period to pass
+        TimeUnit.MILLISECONDS.sleep(60L);
+        LOGGER.refilled("second");
+        Assertions.assertEquals("RATE000002: Refilled second [2 similar messages were suppressed]", HANDLER.getMessage());
+    }
+
+    @Test
+    public void disabledLevel() throws Exception {
+        final org.jboss.logmanager.Logger lmLogger = org.jboss.logmanager.Logger.getLogger(TestConstants.CATEGORY);
+        lmLogger.setLevel(java.util.logging.Level.INFO);
+        try {
+            LOGGER.disabled();
+        } finally {
+            lmLogger.setLevel(null);
+        }
+        Assertions.assertEquals(0, HANDLER.size());
+        // The disabled message should not have used the only permit
+        LOGGER.disabled();
+        Assertions.assertEquals("RATE000003: Disabled", HANDLER.getMessage());
+    }
+
+    @Test
+    public void generatedSource() throws Exception {
+        final String source = Files.readString(Paths.get(System.getProperty("test.generated.src.path"),
+                RateLimitedLogger.class.getPackageName().replace('.', '/'), "RateLimitedLogger_$logger.java"));
+        Assertions.assertTrue(source.contains("public final void disabled() {\n        if (log.isEnabled(TRACE)) {\n"
+                + "            final long suppressed = _acquirePermit("), source);
+    }
+}
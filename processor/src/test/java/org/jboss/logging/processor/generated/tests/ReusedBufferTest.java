@@ -0,0 +1,134 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.jboss.logging.processor.generated.PrintfFormatLogger;
+import org.jboss.logging.processor.generated.PrintfFormatMessages;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the precompiled formats render correctly when the buffers are reused.
+ */
+public class ReusedBufferTest extends AbstractLoggerTest {
+
+    private static ProcessorCompiler compiler;
+
+    @BeforeAll
+    public static void compile() throws Exception {
+        compiler = ProcessorCompiler.create()
+                .option("org.jboss.logging.tools.reuseBuffers", "true")
+                .compile(PrintfFormatMessages.class, PrintfFormatLogger.class);
+    }
+
+    @AfterAll
+    public static void cleanUp() throws Exception {
+        if (compiler != null) {
+            compiler.close();
+        }
+    }
+
+    @AfterEach
+    public void clearHandler() {
+        HANDLER.close();
+    }
+
+    @Test
+    public void generatedSource() throws Exception {
+        final String source = compiler.generatedSource(PrintfFormatMessages.class, "PrintfFormatMessages_$bundle");
+        Assertions.assertTrue(source.contains("final StringBuilder sb = _acquireBuffer("), source);
+        Assertions.assertTrue(source.contains("return _releaseBuffer(sb);"), source);
+        Assertions.assertFalse(source.contains("new StringBuilder(1"), source);
+    }
+
+    @Test
+    public void concurrentMessages() throws Exception {
+        final Object messages = compiler.bundle(PrintfFormatMessages.class);
+        final ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            final List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 64; t++) {
+                final int thread = t;
+                results.add(executor.submit((Callable<Void>) () -> {
+                    for (int i = 0; i < 500; i++) {
+                        final String value = "thread-" + thread + "-" + i;
+                        Assertions.assertEquals(PrintfFormatMessages.MESSAGES.simple(value, i, thread, 8L),
+                                simple(messages, value, i, thread));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Object simple(final Object messages, final String value, final int i, final int hex) throws Exception {
+        try {
+            return ProcessorCompiler.invoke(messages, "simple", value, i, hex, 8L);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    @Test
+    public void nestedMessages() throws Throwable {
+        final Object messages = compiler.bundle(PrintfFormatMessages.class);
+        // Rendering the argument renders another message on the same thread while the buffer is in use
+        final Object nested = new Object() {
+            @Override
+            public String toString() {
+                try {
+                    return (String) ProcessorCompiler.invoke(messages, "simple", "nested", 1, 2, 3L);
+                } catch (Throwable e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+        Assertions.assertEquals(PrintfFormatMessages.MESSAGES.formattable(nested, "outer"),
+                ProcessorCompiler.invoke(messages, "formattable", nested, "outer"));
+        Assertions.assertEquals(PrintfFormatMessages.MESSAGES.simple("after", 1, 2, 3L),
+                ProcessorCompiler.invoke(messages, "simple", "after", 1, 2, 3L));
+    }
+
+    @Test
+    public void loggerMessages() throws Throwable {
+        final Object logger = compiler.logger(PrintfFormatLogger.class);
+        for (int i = 0; i < 3; i++) {
+            ProcessorCompiler.invoke(logger, "stringInt", "value", i);
+            Assertions.assertEquals(String.format("PLAN000100: String %s integer %d", "value", i), HANDLER.getMessage());
+        }
+    }
+}
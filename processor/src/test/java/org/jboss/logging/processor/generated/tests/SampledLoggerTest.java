@@ -0,0 +1,98 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated.tests;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.logging.Logger;
+import org.jboss.logging.processor.generated.SampledLogger;
+import org.jboss.logging.processor.generated.TestConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests messages annotated with {@link org.jboss.logging.annotations.Sampled @Sampled}.
+ */
+public class SampledLoggerTest extends AbstractLoggerTest {
+
+    private static final SampledLogger LOGGER = Logger.getMessageLogger(SampledLogger.class, TestConstants.CATEGORY);
+    private static final int INVOCATIONS = 10_000;
+
+    @AfterEach
+    public void clearHandler() {
+        HANDLER.close();
+    }
+
+    @Test
+    public void every() {
+        final AtomicInteger rendered = new AtomicInteger();
+        for (int i = 0; i < INVOCATIONS; i++) {
+            LOGGER.every(() -> "value " + rendered.incrementAndGet());
+        }
+        // The supplier should only be invoked for the messages which were sampled
+        Assertions.assertEquals(rendered.get(), HANDLER.size());
+        assertSampled(1_000, HANDLER.size());
+    }
+
+    @Test
+    public void fraction() {
+        for (int i = 0; i < INVOCATIONS; i++) {
+            LOGGER.fraction("value");
+        }
+        assertSampled(2_500, HANDLER.size());
+    }
+
+    @Test
+    public void always() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            LOGGER.always();
+        }
+        Assertions.assertEquals(10, HANDLER.size());
+        Assertions.assertEquals("SAMPLE000003: Always", HANDLER.getMessage());
+    }
+
+    @Test
+    public void sampledBeforeOnce() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            LOGGER.once(i);
+        }
+        Assertions.assertEquals(1, HANDLER.size());
+        Assertions.assertTrue(HANDLER.getMessage().startsWith("SAMPLE000004: Once "));
+    }
+
+    @Test
+    public void generatedSource() throws Exception {
+        final String source = Files.readString(Paths.get(System.getProperty("test.generated.src.path"),
+                SampledLogger.class.getPackageName().replace('.', '/'), "SampledLogger_$logger.java"));
+        Assertions.assertTrue(source.contains("if (log.isEnabled(INFO) && ThreadLocalRandom.current().nextInt(10) == 0) {"),
+                source);
+        Assertions.assertTrue(source.contains("if (log.isEnabled(INFO) && ThreadLocalRandom.current().nextDouble() < 0.25"),
+                source);
+    }
+
+    private static void assertSampled(final int expected, final int actual) {
+        // Allow for the randomness of the sample, the bounds are far outside the expected deviation
+        Assertions.assertTrue(Math.abs(expected - actual) < expected / 5,
+                String.format("Expected approximately %d messages but %d were logged", expected, actual));
+    }
+}
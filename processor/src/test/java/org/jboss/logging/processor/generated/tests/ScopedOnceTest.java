@@ -0,0 +1,151 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated.tests;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logging.Logger;
+import org.jboss.logging.processor.generated.ScopedOnceLogger;
+import org.jboss.logging.processor.generated.TestConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@linkplain org.jboss.logging.annotations.Once#scope() scopes} of messages logged once.
+ */
+public class ScopedOnceTest extends AbstractLoggerTest {
+
+    @AfterEach
+    public void reset() throws Exception {
+        resetOnce();
+        HANDLER.close();
+    }
+
+    @Test
+    public void classLoaderScope() throws Exception {
+        final ScopedOnceLogger logger = Logger.getMessageLogger(ScopedOnceLogger.class, TestConstants.CATEGORY);
+        logger.classLoader("a");
+        logger.classLoader("b");
+        Logger.getMessageLogger(ScopedOnceLogger.class, TestConstants.CATEGORY + ".other").classLoader("c");
+        Assertions.assertEquals("ONCE000001: Class loader a", HANDLER.getMessage());
+        Assertions.assertEquals(0, HANDLER.size());
+
+        resetOnce();
+        logger.classLoader("d");
+        Assertions.assertEquals("ONCE000001: Class loader d", HANDLER.getMessage());
+    }
+
+    @Test
+    public void instanceScope() throws Exception {
+        final ScopedOnceLogger logger = Logger.getMessageLogger(ScopedOnceLogger.class, TestConstants.CATEGORY);
+        logger.instance("a");
+        logger.instance("b");
+        Assertions.assertEquals("ONCE000002: Instance a", HANDLER.getMessage());
+        Assertions.assertEquals(0, HANDLER.size());
+
+        // Each logger instance logs the message once
+        final ScopedOnceLogger other = Logger.getMessageLogger(ScopedOnceLogger.class, TestConstants.CATEGORY + ".other");
+        other.instance("c");
+        other.instance("d");
+        Assertions.assertEquals("ONCE000002: Instance c", HANDLER.getMessage());
+        Assertions.assertEquals(0, HANDLER.size());
+    }
+
+    @Test
+    public void keyScope() throws Exception {
+        final ScopedOnceLogger logger = Logger.getMessageLogger(ScopedOnceLogger.class, TestConstants.CATEGORY);
+        logger.deprecated("a", "owner", "first");
+        logger.deprecated("a", "owner", "second");
+        logger.deprecated("a", null, "third");
+        logger.deprecated("a", null, "fourth");
+        logger.deprecated("b", "owner", "fifth");
+        Assertions.assertEquals("ONCE000003: Property a of owner is deprecated: first", HANDLER.getMessage());
+        Assertions.assertEquals("ONCE000003: Property a of null is deprecated: third", HANDLER.getMessage());
+        Assertions.assertEquals("ONCE000003: Property b of owner is deprecated: fifth", HANDLER.getMessage());
+        Assertions.assertEquals(0, HANDLER.size());
+
+        logger.missing(1);
+        logger.missing(1);
+        logger.missing(2);
+        Assertions.assertEquals("ONCE000004: Missing 1", HANDLER.getMessage());
+        Assertions.assertEquals("ONCE000004: Missing 2", HANDLER.getMessage());
+        Assertions.assertEquals(0, HANDLER.size());
+
+        resetOnce();
+        logger.deprecated("a", "owner", "sixth");
+        Assertions.assertEquals("ONCE000003: Property a of owner is deprecated: sixth", HANDLER.getMessage());
+    }
+
+    @Test
+    public void leastRecentlyUsedKeysEvicted() throws Exception {
+        final ScopedOnceLogger logger = Logger.getMessageLogger(ScopedOnceLogger.class, TestConstants.CATEGORY);
+        logger.bounded("a");
+        logger.bounded("b");
+        // Accessing a makes b the least recently used key
+        logger.bounded("a");
+        logger.bounded("c");
+        logger.bounded("a");
+        logger.bounded("b");
+        Assertions.assertEquals("ONCE000005: Bounded a", HANDLER.getMessage());
+        Assertions.assertEquals("ONCE000005: Bounded b", HANDLER.getMessage());
+        Assertions.assertEquals("ONCE000005: Bounded c", HANDLER.getMessage());
+        Assertions.assertEquals("ONCE000005: Bounded b", HANDLER.getMessage());
+        Assertions.assertEquals(0, HANDLER.size());
+
+        // The number of keys remembered should stay bounded
+        for (int i = 0; i < 10_000; i++) {
+            logger.bounded("key" + i);
+        }
+        Assertions.assertEquals(10_000, HANDLER.size());
+        HANDLER.close();
+        logger.bounded("key9999");
+        Assertions.assertEquals(0, HANDLER.size());
+    }
+
+    @Test
+    public void keysExpire() throws Exception {
+        final ScopedOnceLogger logger = Logger.getMessageLogger(ScopedOnceLogger.class, TestConstants.CATEGORY);
+        logger.expiring("a");
+        logger.expiring("a");
+        Assertions.assertEquals("ONCE000006: Expiring a", HANDLER.getMessage());
+        Assertions.assertEquals(0, HANDLER.size());
+
+        TimeUnit.MILLISECONDS.sleep(60L);
+        logger.expiring("a");
+        Assertions.assertEquals("ONCE000006: Expiring a", HANDLER.getMessage());
+    }
+
+    @Test
+    public void generatedSource() throws Exception {
+        final String source = Files.readString(Paths.get(System.getProperty("test.generated.src.path"),
+                ScopedOnceLogger.class.getPackageName().replace('.', '/'), "ScopedOnceLogger_$logger.java"));
+        // The state should be read before attempting to change it
+        Assertions.assertTrue(source.contains("if (log.isEnabled(WARN) && !classLoader_$Once.get() "
+                + "&& classLoader_$Once.compareAndSet(false, true)) {"), source);
+    }
+
+    private static void resetOnce() throws Exception {
+        Logger.getMessageLogger(ScopedOnceLogger.class, TestConstants.CATEGORY).getClass().getMethod("resetOnce")
+                .invoke(null);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated.tests;
+
+import java.util.Map;
+
+import org.jboss.logging.processor.generated.StructuredLogger;
+import org.jboss.logmanager.ExtLogRecord;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the message ids passed to the logger with the {@code org.jboss.logging.tools.structuredMessageIds} option.
+ */
+public class StructuredMessageIdsTest extends AbstractLoggerTest {
+
+    private static ProcessorCompiler compiler;
+    private static Object logger;
+
+    @BeforeAll
+    public static void compile() throws Exception {
+        compiler = ProcessorCompiler.create()
+                .option("org.jboss.logging.tools.structuredMessageIds", "unprefixed")
+                .option("org.jboss.logging.tools.precompileFormats", "true")
+                .compile(StructuredLogger.class);
+        logger = compiler.logger(StructuredLogger.class);
+    }
+
+    @AfterAll
+    public static void cleanUp() throws Exception {
+        if (compiler != null) {
+            compiler.close();
+        }
+    }
+
+    @AfterEach
+    public void clearHandler() {
+        HANDLER.close();
+    }
+
+    @Test
+    public void unprefixed() throws Throwable {
+        ProcessorCompiler.invoke(logger, "connected", "localhost", 8080);
+        final ExtLogRecord record = HANDLER.getRecord();
+        Assertions.assertEquals("Connected to localhost:8080", record.getFormattedMessage());
+        final Map<String, Object> structured = structuredMessage(record);
+        Assertions.assertEquals("STRUCT", structured.get("message.projectCode"));
+        Assertions.assertEquals(1, structured.get("message.id"));
+        // Only the id is passed
+        Assertions.assertEquals(2, structured.size());
+
+        final RuntimeException cause = new RuntimeException("timeout");
+        ProcessorCompiler.invoke(logger, "deployFailed", cause, "app.war", "node1", 3, 250L);
+        final ExtLogRecord deployRecord = HANDLER.getRecord();
+        Assertions.assertEquals("Failed to deploy app.war to node1 after 3 attempts in 250ms",
+                deployRecord.getFormattedMessage());
+        Assertions.assertSame(cause, deployRecord.getThrown());
+        Assertions.assertEquals(2, structuredMessage(deployRecord).get("message.id"));
+    }
+
+    @Test
+    public void noFormat() throws Throwable {
+        ProcessorCompiler.invoke(logger, "reconnectFailed");
+        final ExtLogRecord record = HANDLER.getRecord();
+        // The message is not parsed as a message format
+        Assertions.assertEquals("Can't reconnect to {host}", record.getFormattedMessage());
+        Assertions.assertEquals(4, structuredMessage(record).get("message.id"));
+    }
+
+    @Test
+    public void noFormatParameters() throws Throwable {
+        ProcessorCompiler.invoke(logger, "diskFull");
+        final ExtLogRecord record = HANDLER.getRecord();
+        // Messages without format parameters are not formatted
+        Assertions.assertEquals("Disk 100%% full", record.getFormattedMessage());
+        Assertions.assertEquals(5, structuredMessage(record).get("message.id"));
+    }
+
+    @Test
+    public void prefixed() throws Throwable {
+        try (ProcessorCompiler prefixedCompiler = ProcessorCompiler.create()
+                .option("org.jboss.logging.tools.structuredMessageIds", "true")
+                .compile(StructuredLogger.class)) {
+            final Object prefixedLogger = prefixedCompiler.logger(StructuredLogger.class);
+            ProcessorCompiler.invoke(prefixedLogger, "connected", "localhost", 8080);
+            final ExtLogRecord record = HANDLER.getRecord();
+            Assertions.assertEquals("STRUCT000001: Connected to localhost:8080", record.getFormattedMessage());
+            Assertions.assertEquals(1, structuredMessage(record).get("message.id"));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> structuredMessage(final ExtLogRecord record) {
+        Assertions.assertNotNull(record, "No record was logged");
+        final Object[] parameters = record.getParameters();
+        Assertions.assertNotNull(parameters, "No parameters were passed");
+        return (Map<String, Object>) parameters[parameters.length - 1];
+    }
+}
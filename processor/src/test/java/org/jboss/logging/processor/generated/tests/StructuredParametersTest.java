@@ -0,0 +1,141 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated.tests;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.jboss.logging.processor.generated.StructuredLogger;
+import org.jboss.logmanager.ExtLogRecord;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the structured parameters passed to the logger with the
+ * {@code org.jboss.logging.tools.structuredParameters} option.
+ */
+public class StructuredParametersTest extends AbstractLoggerTest {
+
+    private static ProcessorCompiler compiler;
+    private static Object logger;
+
+    @BeforeAll
+    public static void compile() throws Exception {
+        compiler = ProcessorCompiler.create()
+                .option("org.jboss.logging.tools.structuredParameters", "true")
+                // Structured parameters take precedence over precompiled formats
+                .option("org.jboss.logging.tools.precompileFormats", "true")
+                .compile(StructuredLogger.class);
+        logger = compiler.logger(StructuredLogger.class);
+    }
+
+    @AfterAll
+    public static void cleanUp() throws Exception {
+        if (compiler != null) {
+            compiler.close();
+        }
+    }
+
+    @AfterEach
+    public void clearHandler() {
+        HANDLER.close();
+    }
+
+    @Test
+    public void printf() throws Throwable {
+        ProcessorCompiler.invoke(logger, "connected", "localhost", 8080);
+        final ExtLogRecord record = HANDLER.getRecord();
+        Assertions.assertEquals("STRUCT000001: Connected to localhost:8080", record.getFormattedMessage());
+        final Map<String, Object> structured = structuredParameters(record);
+        Assertions.assertEquals("STRUCT", structured.get("message.projectCode"));
+        Assertions.assertEquals(1, structured.get("message.id"));
+        Assertions.assertEquals("STRUCT000001: Connected to %s:%d", structured.get("message.template"));
+        Assertions.assertEquals("localhost", structured.get("host"));
+        Assertions.assertEquals(8080, structured.get("port"));
+        Assertions.assertEquals(5, structured.size());
+    }
+
+    @Test
+    public void messageFormat() throws Throwable {
+        final RuntimeException cause = new RuntimeException("timeout");
+        ProcessorCompiler.invoke(logger, "deployFailed", cause, "app.war", "node1", 3, 250L);
+        final ExtLogRecord record = HANDLER.getRecord();
+        Assertions.assertEquals("STRUCT000002: Failed to deploy app.war to node1 after 3 attempts in 250ms",
+                record.getFormattedMessage());
+        Assertions.assertSame(cause, record.getThrown());
+        final Map<String, Object> structured = structuredParameters(record);
+        Assertions.assertArrayEquals(new Object[] { "message.projectCode", "message.id", "message.template",
+                "deployment", "server", "attempts", "duration" }, structured.keySet().toArray());
+        Assertions.assertEquals(3, structured.get("attempts"));
+        Assertions.assertEquals(250L, structured.get("duration"));
+    }
+
+    @Test
+    public void rawValues() throws Throwable {
+        final String[] items = { "a", "b" };
+        ProcessorCompiler.invoke(logger, "received", (Object) items);
+        // The array is passed as is, not as its string representation
+        Assertions.assertSame(items, structuredParameters(HANDLER.getRecord()).get("items"));
+
+        ProcessorCompiler.invoke(logger, "classOf", "value");
+        final ExtLogRecord record = HANDLER.getRecord();
+        Assertions.assertEquals("Class of class java.lang.String", record.getFormattedMessage());
+        final Map<String, Object> structured = structuredParameters(record);
+        // Transformed parameters are passed before they are transformed, messages without an id have no id
+        Assertions.assertEquals("value", structured.get("value"));
+        Assertions.assertFalse(structured.containsKey("message.id"));
+        Assertions.assertEquals("STRUCT", structured.get("message.projectCode"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> structured.put("value", "changed"));
+    }
+
+    @Test
+    public void noFormat() throws Throwable {
+        ProcessorCompiler.invoke(logger, "reconnectFailed");
+        final ExtLogRecord record = HANDLER.getRecord();
+        Assertions.assertEquals("STRUCT000004: Can't reconnect to {host}", record.getFormattedMessage());
+        final Map<String, Object> structured = structuredParameters(record);
+        Assertions.assertEquals("STRUCT000004: Can't reconnect to {host}", structured.get("message.template"));
+        Assertions.assertEquals(4, structured.get("message.id"));
+    }
+
+    @Test
+    public void noFormatParameters() throws Throwable {
+        ProcessorCompiler.invoke(logger, "diskFull");
+        final ExtLogRecord record = HANDLER.getRecord();
+        // Messages without format parameters are not formatted
+        Assertions.assertEquals("STRUCT000005: Disk 100%% full", record.getFormattedMessage());
+        final Map<String, Object> structured = structuredParameters(record);
+        Assertions.assertEquals("STRUCT000005: Disk 100%% full", structured.get("message.template"));
+        Assertions.assertEquals(3, structured.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> structuredParameters(final ExtLogRecord record) {
+        Assertions.assertNotNull(record, "No record was logged");
+        final Object[] parameters = record.getParameters();
+        Assertions.assertNotNull(parameters, "No parameters were passed");
+        final Object last = parameters[parameters.length - 1];
+        Assertions.assertTrue(last instanceof Map, () -> "Unexpected parameters " + Arrays.toString(parameters));
+        return (Map<String, Object>) last;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2023 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.logging.processor.generated.tests;
+
+import java.io.File;
+import java.nio.file.NoSuchFileException;
+import java.util.Locale;
+
+import org.jboss.logging.Messages;
+import org.jboss.logging.processor.generated.TableMessages;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the translations generated as message tables return the same messages as the translation implementations
+ * which override each message.
+ */
+public class TranslationTablesTest {
+
+    private static final Locale AUSTRIA = new Locale("de", "AT");
+    private static final Locale SWITZERLAND = new Locale("de", "CH");
+    private static final Locale MEXICO = new Locale("es", "MX");
+
+    private static ProcessorCompiler compiler;
+
+    @BeforeAll
+    public static void compile() throws Exception {
+        compiler = ProcessorCompiler.create()
+                .option("org.jboss.logging.tools.translationTables", "true")
+                .option("translationFilesPath", System.getProperty("test.skeleton.file.path") + File.separator)
+                .compile(TableMessages.class);
+    }
+
+    @AfterAll
+    public static void cleanUp() throws Exception {
+        if (compiler != null) {
+            compiler.close();
+        }
+    }
+
+    @Test
+    public void generatedTables() throws Exception {
+        final String source = compiler.generatedSource(TableMessages.class, "TableMessages_$bundle_de_AT");
+        Assertions.assertTrue(source.contains("extends TableMessages_$bundle "), source);
+        Assertions.assertTrue(source.contains("\"TBL000001: Servus %s\",\"TBL000002: Auf Wiedersehen %s\""), source);
+        Assertions.assertFalse(source.contains("$str()"), source);
+        // A class is not required for an enclosing locale without a translation file
+        Assertions.assertThrows(NoSuchFileException.class,
+                () -> compiler.generatedSource(TableMessages.class, "TableMessages_$bundle_es"));
+    }
+
+    @Test
+    public void translatedMessages() throws Throwable {
+        for (Locale locale : new Locale[] { Locale.ROOT, Locale.GERMAN, AUSTRIA, SWITZERLAND, MEXICO }) {
+            final TableMessages expected = Messages.getBundle(TableMessages.class, locale);
+            final Object messages = compiler.bundle(TableMessages.class, locale);
+            Assertions.assertEquals(expected.hello("Welt"), ProcessorCompiler.invoke(messages, "hello", "Welt"));
+            Assertions.assertEquals(expected.goodbye("Welt"), ProcessorCompiler.invoke(messages, "goodbye", "Welt"));
+            Assertions.assertEquals(expected.invalidValue("x").getMessage(),
+                    ((Throwable) ProcessorCompiler.invoke(messages, "invalidValue", "x")).getMessage());
+            Assertions.assertEquals(expected.notTranslated(), ProcessorCompiler.invoke(messages, "notTranslated"));
+        }
+        final Object messages = compiler.bundle(TableMessages.class, AUSTRIA);
+        Assertions.assertEquals("TBL000001: Servus Welt", ProcessorCompiler.invoke(messages, "hello", "Welt"));
+        Assertions.assertEquals("TBL000002: Auf Wiedersehen Welt", ProcessorCompiler.invoke(messages, "goodbye", "Welt"));
+        Assertions.assertEquals("TBL000002: Adiós Welt",
+                ProcessorCompiler.invoke(compiler.bundle(TableMessages.class, MEXICO), "goodbye", "Welt"));
+    }
+}